@@ -0,0 +1,96 @@
+package com.bank.analytics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.bank.model.Transaction;
+import com.bank.service.TransactionListener;
+
+/**
+ * Keeps an {@link ActivityWindow} per day, fed with every recorded transaction: distinct active accounts
+ * and amount quantiles per type, answered from sketches rather than by scanning the store.
+ * <p>
+ * Recording a transaction costs a map lookup for its day, a hash and a few atomic updates. Register it
+ * with {@link com.bank.service.BankAccountService#addTransactionListener}. Windows can be saved to a file
+ * each and loaded back, merging with anything already counted for that day.
+ */
+public class ActivitySketches implements TransactionListener {
+
+    private static final String DAY_NULL_ERROR = "Day cannot be null";
+    private static final String FILE_NULL_ERROR = "Window file cannot be null";
+
+    private final Map<LocalDate, ActivityWindow> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTransaction(Transaction transaction) {
+        LocalDate day = transaction.timestamp().toLocalDate();
+        ActivityWindow window = windows.get(day);
+        if (Objects.isNull(window)) {
+            window = windows.computeIfAbsent(day, ActivityWindow::new);
+        }
+        window.add(transaction);
+    }
+
+    /**
+     * The day's sketches, or empty if nothing was recorded that day.
+     *
+     * @throws IllegalArgumentException if day is null
+     */
+    public Optional<ActivityWindow> findWindow(LocalDate day) {
+        if (Objects.isNull(day)) {
+            throw new IllegalArgumentException(DAY_NULL_ERROR);
+        }
+        return Optional.ofNullable(windows.get(day));
+    }
+
+    /** Drops every window before {@code day}, e.g. once they have been saved. */
+    public void evictBefore(LocalDate day) {
+        if (Objects.isNull(day)) {
+            throw new IllegalArgumentException(DAY_NULL_ERROR);
+        }
+        windows.keySet().removeIf(windowDay -> windowDay.isBefore(day));
+    }
+
+    /**
+     * Writes the day's window to {@code file}, replacing it; an empty window if nothing was recorded.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void save(LocalDate day, Path file) throws IOException {
+        if (Objects.isNull(file)) {
+            throw new IllegalArgumentException(FILE_NULL_ERROR);
+        }
+        ActivityWindow window = findWindow(day).orElseGet(() -> new ActivityWindow(day));
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            window.writeTo(output);
+        }
+    }
+
+    /**
+     * Reads a window saved by {@link #save} and merges it into the one kept for its day.
+     *
+     * @return the day the window covers
+     * @throws IOException if the file cannot be read or is not a saved window
+     */
+    public LocalDate load(Path file) throws IOException {
+        if (Objects.isNull(file)) {
+            throw new IllegalArgumentException(FILE_NULL_ERROR);
+        }
+        ActivityWindow loaded;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            loaded = ActivityWindow.readFrom(input);
+        }
+        windows.computeIfAbsent(loaded.getDay(), ActivityWindow::new).merge(loaded);
+        return loaded.getDay();
+    }
+}
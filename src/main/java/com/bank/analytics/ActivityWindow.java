@@ -0,0 +1,128 @@
+package com.bank.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+
+/**
+ * One day of approximate activity: a {@link HyperLogLog} of the accounts that transacted and an
+ * {@link AmountSketch} of amounts for each {@link TransactionType}. Windows for the same day merge, so
+ * sketches kept on several nodes, or saved and reloaded, combine into one.
+ */
+public final class ActivityWindow {
+
+    private static final String TYPE_NULL_ERROR = "Transaction type cannot be null";
+    private static final String DAY_MISMATCH_ERROR = "Cannot merge windows for different days";
+    private static final String FORMAT_ERROR = "Not an activity window";
+
+    private static final int MAGIC = 0x41435457; // "ACTW"
+    private static final int VERSION = 1;
+
+    private final LocalDate day;
+    private final HyperLogLog activeAccounts;
+    private final Map<TransactionType, AmountSketch> amounts = new EnumMap<>(TransactionType.class);
+
+    public ActivityWindow(LocalDate day) {
+        this(day, new HyperLogLog());
+    }
+
+    private ActivityWindow(LocalDate day, HyperLogLog activeAccounts) {
+        this.day = day;
+        this.activeAccounts = activeAccounts;
+        for (TransactionType type : TransactionType.values()) {
+            amounts.put(type, new AmountSketch());
+        }
+    }
+
+    public void add(Transaction transaction) {
+        activeAccounts.add(transaction.accountNumber());
+        amounts.get(transaction.type()).add(transaction.amount());
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    /** Estimated number of distinct accounts with at least one transaction on the day. */
+    public long estimateActiveAccounts() {
+        return activeAccounts.estimate();
+    }
+
+    /**
+     * @throws IllegalArgumentException if type is null
+     */
+    public long count(TransactionType type) {
+        return sketchFor(type).count();
+    }
+
+    /**
+     * Approximate amount at the given quantile of the day's transactions of this type.
+     *
+     * @throws IllegalArgumentException if type is null or quantile is outside 0 to 1
+     */
+    public Money amountQuantile(TransactionType type, double quantile) {
+        return sketchFor(type).quantile(quantile);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the windows are for different days
+     */
+    public void merge(ActivityWindow other) {
+        if (!day.equals(other.day)) {
+            throw new IllegalArgumentException(DAY_MISMATCH_ERROR);
+        }
+        activeAccounts.merge(other.activeAccounts);
+        for (TransactionType type : TransactionType.values()) {
+            amounts.get(type).merge(other.amounts.get(type));
+        }
+    }
+
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeLong(day.toEpochDay());
+        activeAccounts.writeTo(output);
+        output.writeByte(amounts.size());
+        for (Map.Entry<TransactionType, AmountSketch> entry : amounts.entrySet()) {
+            output.writeUTF(entry.getKey().name());
+            entry.getValue().writeTo(output);
+        }
+    }
+
+    /**
+     * Reads a window written by {@link #writeTo}.
+     *
+     * @throws IOException if the input is not a window in a known format
+     */
+    public static ActivityWindow readFrom(DataInput input) throws IOException {
+        if (input.readInt() != MAGIC || input.readUnsignedByte() != VERSION) {
+            throw new IOException(FORMAT_ERROR);
+        }
+        ActivityWindow window = new ActivityWindow(LocalDate.ofEpochDay(input.readLong()), HyperLogLog.readFrom(input));
+        int types = input.readUnsignedByte();
+        for (int i = 0; i < types; i++) {
+            String type = input.readUTF();
+            try {
+                window.amounts.get(TransactionType.valueOf(type)).merge(AmountSketch.readFrom(input));
+            } catch (IllegalArgumentException e) {
+                throw new IOException(FORMAT_ERROR, e);
+            }
+        }
+        return window;
+    }
+
+    private AmountSketch sketchFor(TransactionType type) {
+        if (Objects.isNull(type)) {
+            throw new IllegalArgumentException(TYPE_NULL_ERROR);
+        }
+        return amounts.get(type);
+    }
+}
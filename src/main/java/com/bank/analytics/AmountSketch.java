@@ -0,0 +1,149 @@
+package com.bank.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.bank.model.Money;
+
+/**
+ * Approximates quantiles of amounts, such as the median or 99th percentile withdrawal, in fixed memory.
+ * <p>
+ * Amounts are counted in log-linear buckets: exact below {@value #SUB_BUCKETS} cents, and above that
+ * {@value #SUB_BUCKETS} equal buckets to each power of two. A quantile is reported as the middle of
+ * its bucket, kept within the exact smallest and largest amounts seen, so it is within about 1.6% of the
+ * true value whatever the distribution. Adding is one bucket computation and a few uncontended atomic
+ * updates, and two sketches merge exactly by adding counts.
+ */
+public final class AmountSketch {
+
+    private static final String QUANTILE_ERROR = "Quantile must be between 0 and 1";
+    private static final String BUCKET_ERROR = "Invalid bucket in sketch: ";
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    public void add(Money amount) {
+        long cents = amount.toCents();
+        counts.incrementAndGet(bucketOf(cents));
+        min.accumulate(cents);
+        max.accumulate(cents);
+        count.increment();
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * The amount that a fraction {@code quantile} of the added amounts are at or below, e.g. 0.5 for the
+     * median, or zero if nothing has been added.
+     *
+     * @throws IllegalArgumentException if quantile is outside 0 to 1
+     */
+    public Money quantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException(QUANTILE_ERROR);
+        }
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            snapshot[bucket] = counts.get(bucket);
+            total += snapshot[bucket];
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += snapshot[bucket];
+            if (seen >= rank) {
+                return Money.ofCents(Math.max(min.get(), Math.min(max.get(), midpoint(bucket))));
+            }
+        }
+        return Money.ZERO;
+    }
+
+    /** Adds every amount counted by {@code other}, as if they had been added here. */
+    public void merge(AmountSketch other) {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long added = other.counts.get(bucket);
+            if (added != 0) {
+                counts.addAndGet(bucket, added);
+                count.add(added);
+            }
+        }
+        min.accumulate(other.min.get());
+        max.accumulate(other.max.get());
+    }
+
+    /** Writes the smallest and largest amounts, the number of occupied buckets, then each one's index and count. */
+    public void writeTo(DataOutput output) throws IOException {
+        long[] snapshot = new long[BUCKETS];
+        int occupied = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            snapshot[bucket] = counts.get(bucket);
+            if (snapshot[bucket] != 0) {
+                occupied++;
+            }
+        }
+        output.writeLong(min.get());
+        output.writeLong(max.get());
+        output.writeInt(occupied);
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (snapshot[bucket] != 0) {
+                output.writeShort(bucket);
+                output.writeLong(snapshot[bucket]);
+            }
+        }
+    }
+
+    /**
+     * Reads a sketch written by {@link #writeTo}.
+     *
+     * @throws IOException if the input ends early or names a bucket that does not exist
+     */
+    public static AmountSketch readFrom(DataInput input) throws IOException {
+        AmountSketch sketch = new AmountSketch();
+        sketch.min.accumulate(input.readLong());
+        sketch.max.accumulate(input.readLong());
+        int occupied = input.readInt();
+        for (int i = 0; i < occupied; i++) {
+            int bucket = input.readUnsignedShort();
+            if (bucket >= BUCKETS) {
+                throw new IOException(BUCKET_ERROR + bucket);
+            }
+            long added = input.readLong();
+            sketch.counts.addAndGet(bucket, added);
+            sketch.count.add(added);
+        }
+        return sketch;
+    }
+
+    static int bucketOf(long cents) {
+        if (cents < SUB_BUCKETS) {
+            return (int) Math.max(0, cents);
+        }
+        int octave = Long.SIZE - 1 - Long.numberOfLeadingZeros(cents);
+        int subBucket = (int) (cents >>> (octave - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (octave - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /** The middle of the bucket's range of cents; exact for the single-value buckets. */
+    static long midpoint(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int octave = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int shift = octave - SUB_BUCKET_BITS;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) >>> 1);
+    }
+}
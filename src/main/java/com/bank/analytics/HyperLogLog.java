@@ -0,0 +1,145 @@
+package com.bank.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Estimates how many distinct values have been added, in a fixed {@code 2^precision} registers, with a
+ * standard error of about {@code 1.04 / sqrt(2^precision)}: 1.6% at the default precision of
+ * {@value #DEFAULT_PRECISION}.
+ * <p>
+ * Adding a value hashes it and raises one register if the hash has a longer run of leading zeros than
+ * seen before. Once a register has settled that is a single read, so {@link #add} costs nanoseconds and
+ * is safe from any number of threads. Sketches of the same precision merge without loss, so per-window
+ * sketches can be combined into longer windows.
+ */
+public final class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 12;
+
+    private static final String PRECISION_ERROR = "Precision must be between 4 and 16";
+    private static final String MERGE_PRECISION_ERROR = "Cannot merge sketches of different precision";
+    private static final String VALUE_NULL_ERROR = "Value cannot be null";
+
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 16;
+
+    private final int precision;
+    private final AtomicIntegerArray registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision log2 of the register count, from 4 to 16; each step halves the memory or doubles it
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException(PRECISION_ERROR);
+        }
+        this.precision = precision;
+        this.registers = new AtomicIntegerArray(1 << precision);
+    }
+
+    /**
+     * @throws IllegalArgumentException if value is null
+     */
+    public void add(String value) {
+        if (Objects.isNull(value)) {
+            throw new IllegalArgumentException(VALUE_NULL_ERROR);
+        }
+        addHash(hash(value));
+    }
+
+    /** The estimated number of distinct values added. */
+    public long estimate() {
+        int registerCount = registers.length();
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < registerCount; i++) {
+            int rank = registers.get(i);
+            sum += Math.scalb(1.0, -rank);
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / registerCount);
+        double raw = alpha * registerCount * registerCount / sum;
+        if (raw <= 2.5 * registerCount && zeros > 0) {
+            return Math.round(registerCount * Math.log((double) registerCount / zeros)); // Linear counting
+        }
+        return Math.round(raw);
+    }
+
+    /**
+     * Adds every value counted by {@code other}, as if they had been added here.
+     *
+     * @throws IllegalArgumentException if the sketches differ in precision
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException(MERGE_PRECISION_ERROR);
+        }
+        for (int i = 0; i < registers.length(); i++) {
+            raise(i, other.registers.get(i));
+        }
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /** Writes the precision and then one byte per register. */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeByte(precision);
+        for (int i = 0; i < registers.length(); i++) {
+            output.writeByte(registers.get(i));
+        }
+    }
+
+    /**
+     * Reads a sketch written by {@link #writeTo}.
+     *
+     * @throws IOException if the input ends early or holds an invalid precision
+     */
+    public static HyperLogLog readFrom(DataInput input) throws IOException {
+        int precision = input.readUnsignedByte();
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IOException(PRECISION_ERROR);
+        }
+        HyperLogLog sketch = new HyperLogLog(precision);
+        for (int i = 0; i < sketch.registers.length(); i++) {
+            sketch.registers.set(i, input.readUnsignedByte());
+        }
+        return sketch;
+    }
+
+    /** The top bits pick the register; the rank is one more than the leading zeros of the rest. */
+    private void addHash(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        raise(index, rank);
+    }
+
+    private void raise(int index, int rank) {
+        int current = registers.get(index);
+        while (rank > current && !registers.compareAndSet(index, current, rank)) {
+            current = registers.get(index);
+        }
+    }
+
+    /** 64-bit FNV-1a over the characters, finished with MurmurHash3's mixer so every bit is well spread. */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
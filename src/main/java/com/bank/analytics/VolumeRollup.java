@@ -0,0 +1,227 @@
+package com.bank.analytics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.TransactionListener;
+
+/**
+ * A cube of transaction counts and amounts by hour and {@link TransactionType}, kept up as transactions
+ * are recorded, so dashboards never rescan the transaction store.
+ * <p>
+ * Cells of counts and sums per type live in a fixed set of shards, each a map from hour to cell, and a
+ * posting thread writes to the shard its thread id hashes to. Recording a transaction takes no lock and
+ * rarely shares a cell with another poster; when threads do share a shard the cell's atomic adds keep
+ * both counts. The number of shards follows the processor count, not the number of threads that ever
+ * posted, so short-lived posting threads leave nothing behind. A query merges the shards' cells for the
+ * hours it covers: one hour costs a lookup per shard, and a day 24.
+ * <p>
+ * Register it with {@link com.bank.service.BankAccountService#addTransactionListener} and then call
+ * {@link #rebuild} once to fold in the history, even for an empty store. Postings that arrive before the
+ * rebuild finishes are held back and applied once it knows which sequence numbers its scan covered, so
+ * each transaction counts exactly once.
+ */
+public class VolumeRollup implements TransactionListener {
+
+    private static final String REPOSITORY_NULL_ERROR = "Transaction repository cannot be null";
+    private static final String HOUR_NULL_ERROR = "Hour cannot be null";
+    private static final String DAY_NULL_ERROR = "Day cannot be null";
+    private static final String REBUILT_ERROR = "Rollup has already been rebuilt";
+
+    private static final int HOURS_PER_DAY = 24;
+    private static final int TYPES = TransactionType.values().length;
+    private static final int SHARDS = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+
+    private final Shard[] shards = newShards();
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final Queue<Transaction> heldBack = new ConcurrentLinkedQueue<>();
+    private volatile boolean rebuilding = true;
+    private volatile long rebuiltThrough = Transaction.UNSEQUENCED;
+
+    /** Adds the transaction to its hour, or holds it back until {@link #rebuild} has run. */
+    @Override
+    public void onTransaction(Transaction transaction) {
+        if (rebuilding) {
+            rebuildLock.readLock().lock();
+            try {
+                if (rebuilding) {
+                    heldBack.add(transaction);
+                    return;
+                }
+            } finally {
+                rebuildLock.readLock().unlock();
+            }
+        }
+        if (transaction.sequence() > rebuiltThrough) {
+            add(transaction);
+        }
+    }
+
+    /**
+     * Folds in every transaction in the store, scanning it in parallel; each worker thread fills the
+     * shard it hashes to. Then releases the postings held back so far and starts counting new ones as they arrive.
+     *
+     * @return how many transactions were added from the store
+     * @throws IllegalStateException if the cube has already been rebuilt
+     */
+    public synchronized long rebuild(TransactionRepository repository) {
+        if (Objects.isNull(repository)) {
+            throw new IllegalArgumentException(REPOSITORY_NULL_ERROR);
+        }
+        if (!rebuilding) {
+            throw new IllegalStateException(REBUILT_ERROR);
+        }
+        LongAccumulator lastScanned = new LongAccumulator(Math::max, rebuiltThrough);
+        long added = scan(repository, rebuiltThrough, lastScanned, true);
+
+        rebuildLock.writeLock().lock();
+        try {
+            // Catch up with saves that completed during the scan, then release what was held back
+            added += scan(repository, lastScanned.get(), lastScanned, false);
+            rebuiltThrough = lastScanned.get();
+            for (Transaction transaction = heldBack.poll(); Objects.nonNull(transaction); transaction = heldBack.poll()) {
+                if (transaction.sequence() > rebuiltThrough) {
+                    add(transaction);
+                }
+            }
+            rebuilding = false;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        return added;
+    }
+
+    /**
+     * Transactions of the given type recorded in the hour that contains {@code hour}.
+     *
+     * @param type the type to count, or null for every type
+     * @throws IllegalArgumentException if hour is null
+     */
+    public VolumeSummary forHour(LocalDateTime hour, TransactionType type) {
+        if (Objects.isNull(hour)) {
+            throw new IllegalArgumentException(HOUR_NULL_ERROR);
+        }
+        return summarise(hourKey(hour), 1, type);
+    }
+
+    /**
+     * Transactions of the given type recorded on {@code day}.
+     *
+     * @param type the type to count, or null for every type
+     * @throws IllegalArgumentException if day is null
+     */
+    public VolumeSummary forDay(LocalDate day, TransactionType type) {
+        if (Objects.isNull(day)) {
+            throw new IllegalArgumentException(DAY_NULL_ERROR);
+        }
+        return summarise(hourKey(day.atStartOfDay()), HOURS_PER_DAY, type);
+    }
+
+    /**
+     * One summary for each hour of {@code day}, midnight first.
+     *
+     * @param type the type to count, or null for every type
+     * @throws IllegalArgumentException if day is null
+     */
+    public List<VolumeSummary> hourly(LocalDate day, TransactionType type) {
+        if (Objects.isNull(day)) {
+            throw new IllegalArgumentException(DAY_NULL_ERROR);
+        }
+        long firstHour = hourKey(day.atStartOfDay());
+        List<VolumeSummary> hours = new ArrayList<>(HOURS_PER_DAY);
+        for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+            hours.add(summarise(firstHour + hour, 1, type));
+        }
+        return hours;
+    }
+
+    private long scan(TransactionRepository repository, long afterSequence, LongAccumulator lastScanned,
+                      boolean parallel) {
+        LongAdder added = new LongAdder();
+        try (Stream<Transaction> history = repository.streamSince(afterSequence)) {
+            (parallel ? history.parallel() : history).forEach(transaction -> {
+                lastScanned.accumulate(transaction.sequence());
+                add(transaction);
+                added.increment();
+            });
+        }
+        return added.sum();
+    }
+
+    private VolumeSummary summarise(long firstHour, int hours, TransactionType type) {
+        long count = 0;
+        long cents = 0;
+        for (Shard shard : shards) {
+            for (long hour = firstHour; hour < firstHour + hours; hour++) {
+                AtomicLongArray cell = shard.cells.get(hour);
+                if (Objects.isNull(cell)) {
+                    continue;
+                }
+                for (TransactionType cellType : TransactionType.values()) {
+                    if (Objects.isNull(type) || type == cellType) {
+                        count += cell.get(countSlot(cellType));
+                        cents += cell.get(centsSlot(cellType));
+                    }
+                }
+            }
+        }
+        return count == 0 ? VolumeSummary.EMPTY : new VolumeSummary(count, Money.ofCents(cents));
+    }
+
+    /** Threads that hash to the same shard may add to the same cell at once, so each add is atomic. */
+    private void add(Transaction transaction) {
+        AtomicLongArray cell = shardForCurrentThread().cells
+                .computeIfAbsent(hourKey(transaction.timestamp()), hour -> new AtomicLongArray(TYPES * 2));
+        cell.addAndGet(countSlot(transaction.type()), 1);
+        cell.addAndGet(centsSlot(transaction.type()), transaction.amount().toCents());
+    }
+
+    /** Spreads thread ids, which are handed out in sequence, over the shards by a multiplicative hash. */
+    private Shard shardForCurrentThread() {
+        long probe = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return shards[(int) (probe >>> 32) & (SHARDS - 1)];
+    }
+
+    private static Shard[] newShards() {
+        Shard[] shards = new Shard[SHARDS];
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard();
+        }
+        return shards;
+    }
+
+    /** Hours since the epoch; the key of one layer of the cube. */
+    private static long hourKey(LocalDateTime timestamp) {
+        return timestamp.toLocalDate().toEpochDay() * HOURS_PER_DAY + timestamp.getHour();
+    }
+
+    private static int countSlot(TransactionType type) {
+        return type.ordinal();
+    }
+
+    private static int centsSlot(TransactionType type) {
+        return TYPES + type.ordinal();
+    }
+
+    /** The part of the cube written by the threads that hash to it. */
+    private static final class Shard {
+        private final Map<Long, AtomicLongArray> cells = new ConcurrentHashMap<>();
+    }
+}
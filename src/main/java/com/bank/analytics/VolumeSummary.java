@@ -0,0 +1,11 @@
+package com.bank.analytics;
+
+import com.bank.model.Money;
+
+/**
+ * How many transactions fell in a slice of the {@link VolumeRollup} cube, and their total amount.
+ */
+public record VolumeSummary(long count, Money total) {
+
+    public static final VolumeSummary EMPTY = new VolumeSummary(0, Money.ZERO);
+}
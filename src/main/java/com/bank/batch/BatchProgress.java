@@ -0,0 +1,26 @@
+package com.bank.batch;
+
+import java.time.Duration;
+
+/**
+ * Point-in-time progress of a batch run, handed to progress listeners and returned as the final report.
+ */
+public record BatchProgress(long processed, long total, Duration elapsed) {
+
+    /**
+     * Returns the average number of items processed per second so far.
+     * @return throughput, or 0 if no measurable time has elapsed
+     */
+    public double throughputPerSecond() {
+        long millis = elapsed.toMillis();
+        return millis == 0 ? 0 : processed * 1000.0 / millis;
+    }
+
+    /**
+     * Returns the completed fraction of the run as a percentage.
+     * @return percentage complete, or 100 when the total is unknown or zero
+     */
+    public double percentComplete() {
+        return total <= 0 ? 100 : Math.min(100, processed * 100.0 / total);
+    }
+}
@@ -0,0 +1,87 @@
+package com.bank.batch;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.bank.service.BankAccountService;
+import com.bank.service.HoldingsDrift;
+
+/**
+ * Periodically checks the per-customer holdings the service maintains on every posting against the sum of
+ * the customers' account balances, on a background daemon thread. Drifts are reported, never repaired:
+ * a drift means a balance changed without going through the service's posting path.
+ */
+public class HoldingsVerificationJob implements AutoCloseable {
+
+    private static final String SERVICE_NULL_ERROR = "Service cannot be null";
+    private static final String INTERVAL_ERROR = "Verification interval must be positive";
+    private static final String SINK_NULL_ERROR = "Drift sink cannot be null";
+    private static final String VERIFIER_THREAD_NAME = "holdings-verifier";
+
+    private final BankAccountService service;
+    private final Consumer<HoldingsDrift> driftSink;
+    private final ScheduledExecutorService verifier;
+    private final LongAdder failedRuns = new LongAdder();
+
+    /**
+     * @param interval the delay between the end of one verification pass and the start of the next
+     * @param driftSink receives each drift found; called on the verifier thread
+     */
+    public HoldingsVerificationJob(BankAccountService service, Duration interval, Consumer<HoldingsDrift> driftSink) {
+        if (Objects.isNull(service)) {
+            throw new IllegalArgumentException(SERVICE_NULL_ERROR);
+        }
+        if (Objects.isNull(interval) || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException(INTERVAL_ERROR);
+        }
+        if (Objects.isNull(driftSink)) {
+            throw new IllegalArgumentException(SINK_NULL_ERROR);
+        }
+        this.service = service;
+        this.driftSink = driftSink;
+        this.verifier = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, VERIFIER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, interval.toMillis());
+        verifier.scheduleWithFixedDelay(() -> {
+            try {
+                verify();
+            } catch (RuntimeException e) {
+                // An exception escaping here would cancel every later pass
+                failedRuns.increment();
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs one verification pass and sends each drift to the sink.
+     *
+     * @return how many customers have drifted
+     */
+    public int verify() {
+        int drifts = 0;
+        for (HoldingsDrift drift : service.verifyCustomerHoldings()) {
+            driftSink.accept(drift);
+            drifts++;
+        }
+        return drifts;
+    }
+
+    /** Number of background passes stopped by an exception, from the service or the drift sink. */
+    public long getFailedRuns() {
+        return failedRuns.sum();
+    }
+
+    /** Stops the background verifier; a pass already running is left to finish. */
+    @Override
+    public void close() {
+        verifier.shutdown();
+    }
+}
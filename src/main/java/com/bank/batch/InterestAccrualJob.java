@@ -0,0 +1,103 @@
+package com.bank.batch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.bank.model.InterestRate;
+import com.bank.model.Money;
+import com.bank.repository.AccountRepository;
+import com.bank.service.BankAccountService;
+
+/**
+ * Accrues one period of interest on every account for a business date.
+ * <p>
+ * The run is restartable: completed partitions are checkpointed in a file named after the accrual date,
+ * and a rerun skips them. It is also idempotent per account, because {@link BankAccountService#accrueInterest}
+ * credits a given date at most once, inside the account's own atomic update. A crash between posting and
+ * checkpointing therefore never double-posts.
+ */
+public class InterestAccrualJob {
+
+    private static final String SERVICE_NULL_ERROR = "Bank account service cannot be null";
+    private static final String REPOSITORY_NULL_ERROR = "Account repository cannot be null";
+    private static final String CHECKPOINT_DIRECTORY_NULL_ERROR = "Checkpoint directory cannot be null";
+    private static final String PARTITION_COUNT_ERROR = "Partition count must be positive";
+    private static final String PARALLELISM_ERROR = "Parallelism must be positive";
+    private static final String RATE_NULL_ERROR = "Rate cannot be null";
+    private static final String ACCRUAL_DATE_NULL_ERROR = "Accrual date cannot be null";
+
+    private static final String CHECKPOINT_FILE_FORMAT = "interest-%s.checkpoint";
+
+    private final BankAccountService bankService;
+    private final AccountRepository accountRepository;
+    private final Path checkpointDirectory;
+    private final int partitionCount;
+    private final int parallelism;
+
+    public InterestAccrualJob(BankAccountService bankService, AccountRepository accountRepository,
+                              Path checkpointDirectory, int partitionCount, int parallelism) {
+        if (Objects.isNull(bankService)) {
+            throw new IllegalArgumentException(SERVICE_NULL_ERROR);
+        }
+        if (Objects.isNull(accountRepository)) {
+            throw new IllegalArgumentException(REPOSITORY_NULL_ERROR);
+        }
+        if (Objects.isNull(checkpointDirectory)) {
+            throw new IllegalArgumentException(CHECKPOINT_DIRECTORY_NULL_ERROR);
+        }
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException(PARTITION_COUNT_ERROR);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(PARALLELISM_ERROR);
+        }
+        this.bankService = bankService;
+        this.accountRepository = accountRepository;
+        this.checkpointDirectory = checkpointDirectory;
+        this.partitionCount = partitionCount;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Posts interest for {@code accrualDate} to every account not yet accrued for that date.
+     *
+     * @param periodRate the exact rate for one accrual period, e.g. {@code annual.perPeriod(365)}
+     * @param accrualDate the business date being accrued
+     * @return counts and total interest for the partitions processed by this run
+     * @throws IOException if the checkpoint cannot be read or written
+     */
+    public InterestAccrualReport run(InterestRate periodRate, LocalDate accrualDate) throws IOException {
+        if (Objects.isNull(periodRate)) {
+            throw new IllegalArgumentException(RATE_NULL_ERROR);
+        }
+        if (Objects.isNull(accrualDate)) {
+            throw new IllegalArgumentException(ACCRUAL_DATE_NULL_ERROR);
+        }
+        long started = System.nanoTime();
+        LongAdder visited = new LongAdder();
+        LongAdder posted = new LongAdder();
+        LongAdder interestCents = new LongAdder();
+
+        Files.createDirectories(checkpointDirectory);
+        PartitionCheckpoint checkpoint = new PartitionCheckpoint(
+                checkpointDirectory.resolve(String.format(CHECKPOINT_FILE_FORMAT, accrualDate)), partitionCount);
+        int skipped = new PartitionedAccountRunner(accountRepository, partitionCount, parallelism)
+                .run(checkpoint, accountNumber -> {
+                    visited.increment();
+                    Money interest = bankService.accrueInterest(accountNumber, periodRate, accrualDate);
+                    if (interest.isPositive()) {
+                        posted.increment();
+                        interestCents.add(interest.toCents());
+                    }
+                });
+        checkpoint.clear();
+
+        return new InterestAccrualReport(accrualDate, visited.sum(), posted.sum(), Money.ofCents(interestCents.sum()),
+                skipped, Duration.ofNanos(System.nanoTime() - started));
+    }
+}
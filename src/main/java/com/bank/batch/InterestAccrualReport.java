@@ -0,0 +1,13 @@
+package com.bank.batch;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import com.bank.model.Money;
+
+/**
+ * Outcome of an interest accrual run. Counts cover only the partitions processed by this run.
+ */
+public record InterestAccrualReport(LocalDate accrualDate, long accountsVisited, long accrualsPosted,
+                                    Money totalInterest, int partitionsSkipped, Duration elapsed) {
+}
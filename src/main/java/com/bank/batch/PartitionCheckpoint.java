@@ -0,0 +1,104 @@
+package com.bank.batch;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Durable record of which partitions of a batch run have completed, so an interrupted run can resume.
+ * Every update rewrites the file through a temporary sibling and an atomic rename, so a crash leaves
+ * either the previous or the new checkpoint on disk, never a torn one.
+ * <p>
+ * A checkpoint written for a different partition count is ignored and the run starts over.
+ */
+public final class PartitionCheckpoint {
+
+    private static final String FILE_NULL_ERROR = "Checkpoint file cannot be null";
+    private static final String PARTITION_COUNT_ERROR = "Partition count must be positive";
+    private static final String PARTITIONS_PREFIX = "partitions=";
+    private static final String COMPLETED_PREFIX = "completed=";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String SEPARATOR = ",";
+
+    private final Path file;
+    private final int partitionCount;
+    private final BitSet completed;
+
+    public PartitionCheckpoint(Path file, int partitionCount) throws IOException {
+        if (Objects.isNull(file)) {
+            throw new IllegalArgumentException(FILE_NULL_ERROR);
+        }
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException(PARTITION_COUNT_ERROR);
+        }
+        this.file = file;
+        this.partitionCount = partitionCount;
+        this.completed = load(file, partitionCount);
+    }
+
+    public synchronized boolean isCompleted(int partition) {
+        return completed.get(partition);
+    }
+
+    public synchronized int completedCount() {
+        return completed.cardinality();
+    }
+
+    /**
+     * Marks a partition as done and persists the checkpoint before returning.
+     * @param partition the partition that finished
+     * @throws IOException if the checkpoint cannot be written
+     */
+    public synchronized void markCompleted(int partition) throws IOException {
+        completed.set(partition);
+        String contents = PARTITIONS_PREFIX + partitionCount + System.lineSeparator()
+                + COMPLETED_PREFIX + completed.stream().mapToObj(String::valueOf).collect(Collectors.joining(SEPARATOR))
+                + System.lineSeparator();
+
+        Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        Files.writeString(temp, contents, StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Removes the checkpoint once a run has finished, so the next run starts from scratch.
+     * @throws IOException if the file cannot be deleted
+     */
+    public synchronized void clear() throws IOException {
+        Files.deleteIfExists(file);
+        completed.clear();
+    }
+
+    private static BitSet load(Path file, int partitionCount) throws IOException {
+        BitSet loaded = new BitSet(partitionCount);
+        if (!Files.exists(file)) {
+            return loaded;
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.size() < 2 || !lines.get(0).equals(PARTITIONS_PREFIX + partitionCount)
+                || !lines.get(1).startsWith(COMPLETED_PREFIX)) {
+            return loaded;
+        }
+        String ids = lines.get(1).substring(COMPLETED_PREFIX.length());
+        if (ids.isEmpty()) {
+            return loaded;
+        }
+        try {
+            for (String id : ids.split(SEPARATOR)) {
+                int partition = Integer.parseInt(id.trim());
+                if (partition >= 0 && partition < partitionCount) {
+                    loaded.set(partition);
+                }
+            }
+        } catch (NumberFormatException e) {
+            loaded.clear();
+        }
+        return loaded;
+    }
+}
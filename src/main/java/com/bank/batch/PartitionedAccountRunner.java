@@ -0,0 +1,105 @@
+package com.bank.batch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.bank.model.Account;
+import com.bank.repository.AccountRepository;
+
+/**
+ * Runs a per-account action over hash partitions of the account space on a dedicated fork-join pool,
+ * checkpointing each partition as it completes. Partitions already recorded in the checkpoint are skipped,
+ * which is what makes the batch jobs resumable.
+ * <p>
+ * The store is scanned once, in parallel, to route every pending account number to its partition; the
+ * partitions then run from those lists rather than each rescanning the whole store.
+ */
+final class PartitionedAccountRunner {
+
+    private static final String INTERRUPTED_ERROR = "Batch run interrupted";
+    private static final String FAILED_ERROR = "Batch run failed";
+
+    private final AccountRepository accountRepository;
+    private final int partitionCount;
+    private final int parallelism;
+
+    PartitionedAccountRunner(AccountRepository accountRepository, int partitionCount, int parallelism) {
+        this.accountRepository = accountRepository;
+        this.partitionCount = partitionCount;
+        this.parallelism = parallelism;
+    }
+
+    static int partitionOf(String accountNumber, int partitionCount) {
+        return Math.floorMod(accountNumber.hashCode(), partitionCount);
+    }
+
+    /**
+     * Applies {@code action} to every account in the partitions not yet completed.
+     *
+     * @param checkpoint completed partitions; updated as partitions finish
+     * @param action per-account work, given the account number and invoked concurrently from pool threads
+     * @return the number of partitions skipped because they were already complete
+     * @throws IOException if the checkpoint cannot be written
+     */
+    int run(PartitionCheckpoint checkpoint, Consumer<String> action) throws IOException {
+        boolean[] pending = new boolean[partitionCount];
+        int skipped = 0;
+        for (int partition = 0; partition < partitionCount; partition++) {
+            pending[partition] = !checkpoint.isCompleted(partition);
+            if (!pending[partition]) {
+                skipped++;
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Map<Integer, List<String>> routed = pool.submit(() -> accountRepository.streamAll()
+                    .parallel()
+                    .map(Account::getAccountNumber)
+                    .filter(accountNumber -> pending[partitionOf(accountNumber, partitionCount)])
+                    .collect(Collectors.groupingByConcurrent(
+                            accountNumber -> partitionOf(accountNumber, partitionCount))))
+                    .get();
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int partition = 0; partition < partitionCount; partition++) {
+                if (!pending[partition]) {
+                    continue;
+                }
+                int current = partition;
+                List<String> accountNumbers = routed.getOrDefault(current, List.of());
+                tasks.add(() -> {
+                    accountNumbers.forEach(action);
+                    checkpoint.markCompleted(current);
+                    return null;
+                });
+            }
+            for (Future<Void> task : pool.invokeAll(tasks)) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(INTERRUPTED_ERROR, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IllegalStateException(FAILED_ERROR, e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return skipped;
+    }
+}
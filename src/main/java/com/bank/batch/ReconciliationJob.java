@@ -0,0 +1,135 @@
+package com.bank.batch;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.bank.model.Account;
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.ConsistencyCheck;
+
+/**
+ * Checks every account's balance against its transaction ledger: the balance must equal both the net of
+ * all deposits, interest and withdrawals and the {@code afterAmount} of the most recent transaction.
+ * <p>
+ * The job never takes account locks, so it can run against a live system without stalling updates.
+ * Instead it reads the balance before and after summing the ledger and retries, through a
+ * {@link ConsistencyCheck}, when they differ or when the ledger has not yet caught up with a balance change
+ * in flight. Only a disagreement that survives every attempt is reported.
+ */
+public class ReconciliationJob {
+
+    private static final String REPOSITORY_NULL_ERROR = "Repositories cannot be null";
+    private static final String CHECKPOINT_FILE_NULL_ERROR = "Checkpoint file cannot be null";
+    private static final String PARTITION_COUNT_ERROR = "Partition count must be positive";
+    private static final String PARALLELISM_ERROR = "Parallelism must be positive";
+    private static final String SINK_NULL_ERROR = "Mismatch sink cannot be null";
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final Path checkpointFile;
+    private final int partitionCount;
+    private final int parallelism;
+
+    public ReconciliationJob(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                             Path checkpointFile, int partitionCount, int parallelism) {
+        if (Objects.isNull(accountRepository) || Objects.isNull(transactionRepository)) {
+            throw new IllegalArgumentException(REPOSITORY_NULL_ERROR);
+        }
+        if (Objects.isNull(checkpointFile)) {
+            throw new IllegalArgumentException(CHECKPOINT_FILE_NULL_ERROR);
+        }
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException(PARTITION_COUNT_ERROR);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(PARALLELISM_ERROR);
+        }
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.checkpointFile = checkpointFile;
+        this.partitionCount = partitionCount;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Reconciles every account, resuming from the checkpoint left by an interrupted run if there is one.
+     * The checkpoint is removed once all partitions have completed.
+     *
+     * @param mismatchSink receives each mismatch as soon as it is found; called concurrently, so it must be thread-safe
+     * @return counts for the partitions processed by this run
+     * @throws IOException if the checkpoint cannot be read or written
+     */
+    public ReconciliationReport run(Consumer<ReconciliationMismatch> mismatchSink) throws IOException {
+        if (Objects.isNull(mismatchSink)) {
+            throw new IllegalArgumentException(SINK_NULL_ERROR);
+        }
+        long started = System.nanoTime();
+        LongAdder checked = new LongAdder();
+        LongAdder mismatches = new LongAdder();
+
+        PartitionCheckpoint checkpoint = new PartitionCheckpoint(checkpointFile, partitionCount);
+        int skipped = new PartitionedAccountRunner(accountRepository, partitionCount, parallelism)
+                .run(checkpoint, accountNumber -> {
+                    checked.increment();
+                    reconcile(accountNumber).ifPresent(mismatch -> {
+                        mismatches.increment();
+                        mismatchSink.accept(mismatch);
+                    });
+                });
+        checkpoint.clear();
+
+        return new ReconciliationReport(checked.sum(), mismatches.sum(), skipped, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private Optional<ReconciliationMismatch> reconcile(String accountNumber) {
+        return ConsistencyCheck.run(MAX_ATTEMPTS, RETRY_PAUSE_NANOS, () -> {
+            Optional<Money> before = accountRepository.findByNumber(accountNumber).map(Account::getBalance);
+            if (before.isEmpty()) {
+                return ConsistencyCheck.Attempt.consistent();
+            }
+            LedgerSummary ledger = summariseLedger(accountNumber);
+            Optional<Money> after = accountRepository.findByNumber(accountNumber).map(Account::getBalance);
+
+            if (!before.equals(after)) {
+                return ConsistencyCheck.Attempt.moved();
+            }
+            Money balance = before.get();
+            if (balance.equals(ledger.net()) && balance.equals(ledger.lastAfterAmount())) {
+                return ConsistencyCheck.Attempt.consistent();
+            }
+            return ConsistencyCheck.Attempt.disagreed(
+                    new ReconciliationMismatch(accountNumber, balance, ledger.net(), ledger.lastAfterAmount()));
+        });
+    }
+
+    private LedgerSummary summariseLedger(String accountNumber) {
+        Money net = Money.ZERO;
+        Money last = Money.ZERO;
+        try (Stream<Transaction> history = transactionRepository.streamByAccountNumber(accountNumber)) {
+            for (Transaction transaction : (Iterable<Transaction>) history::iterator) {
+                net = switch (transaction.type()) {
+                    case DEPOSIT, INTEREST -> net.add(transaction.amount());
+                    case WITHDRAW -> net.subtract(transaction.amount());
+                };
+                last = transaction.afterAmount();
+            }
+        }
+        return new LedgerSummary(net, last);
+    }
+
+    private record LedgerSummary(Money net, Money lastAfterAmount) {
+    }
+}
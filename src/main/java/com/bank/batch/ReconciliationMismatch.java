@@ -0,0 +1,14 @@
+package com.bank.batch;
+
+import com.bank.model.Money;
+
+/**
+ * An account whose balance disagrees with its transaction ledger.
+ *
+ * @param accountNumber the account that failed reconciliation
+ * @param balance the account's current balance
+ * @param ledgerNet deposits and interest minus withdrawals over the account's whole history
+ * @param lastAfterAmount balance recorded by the most recent transaction, or zero without history
+ */
+public record ReconciliationMismatch(String accountNumber, Money balance, Money ledgerNet, Money lastAfterAmount) {
+}
@@ -0,0 +1,9 @@
+package com.bank.batch;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a reconciliation run. Counts cover only the partitions processed by this run.
+ */
+public record ReconciliationReport(long accountsChecked, long mismatches, int partitionsSkipped, Duration elapsed) {
+}
@@ -0,0 +1,200 @@
+package com.bank.batch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.bank.model.Account;
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+
+/**
+ * Produces one statement per account for a business day.
+ * <p>
+ * Accounts are fanned out over a dedicated fork-join pool by running a parallel scan inside it.
+ * Each worker streams a single account's history, renders the statement in memory and appends it
+ * to one of {@code shardCount} output files chosen by account number, so no worker ever holds
+ * more than one account's movements.
+ */
+public class StatementJob {
+
+    private static final String REPOSITORY_NULL_ERROR = "Repositories cannot be null";
+    private static final String OUTPUT_DIRECTORY_NULL_ERROR = "Output directory cannot be null";
+    private static final String SHARD_COUNT_ERROR = "Shard count must be positive";
+    private static final String PARALLELISM_ERROR = "Parallelism must be positive";
+    private static final String STATEMENT_DATE_NULL_ERROR = "Statement date cannot be null";
+    private static final String INTERRUPTED_ERROR = "Statement run interrupted";
+    private static final String FAILED_ERROR = "Statement run failed";
+
+    private static final String SHARD_FILE_FORMAT = "statements-%s-%03d.txt";
+    private static final String HEADER_FORMAT = "Statement for account %s (%s) on %s%n";
+    private static final String OPENING_FORMAT = "Opening balance: %s%n";
+    private static final String MOVEMENT_FORMAT = "%s | %s | %s | %s%n";
+    private static final String CLOSING_FORMAT = "Closing balance: %s%n%n";
+
+    private static final int SHARD_BUFFER_SIZE = 256 * 1024;
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final Path outputDirectory;
+    private final int shardCount;
+    private final int parallelism;
+
+    public StatementJob(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                        Path outputDirectory, int shardCount, int parallelism) {
+        if (Objects.isNull(accountRepository) || Objects.isNull(transactionRepository)) {
+            throw new IllegalArgumentException(REPOSITORY_NULL_ERROR);
+        }
+        if (Objects.isNull(outputDirectory)) {
+            throw new IllegalArgumentException(OUTPUT_DIRECTORY_NULL_ERROR);
+        }
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException(SHARD_COUNT_ERROR);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(PARALLELISM_ERROR);
+        }
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.outputDirectory = outputDirectory;
+        this.shardCount = shardCount;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Writes statements covering {@code [statementDate 00:00, statementDate + 1 00:00)} for every account.
+     *
+     * @param statementDate the business day to report on
+     * @param progressListener receives progress roughly every {@value #PROGRESS_INTERVAL} accounts; may be null
+     * @return counts, output files and elapsed time of the run
+     * @throws IOException if a shard file cannot be created or written
+     */
+    public StatementRunReport run(LocalDate statementDate, Consumer<BatchProgress> progressListener) throws IOException {
+        if (Objects.isNull(statementDate)) {
+            throw new IllegalArgumentException(STATEMENT_DATE_NULL_ERROR);
+        }
+        long started = System.nanoTime();
+        long total = accountRepository.count();
+        AtomicLong accounts = new AtomicLong();
+        LongAdder movements = new LongAdder();
+
+        Files.createDirectories(outputDirectory);
+        List<StatementShardWriter> shards = openShards(statementDate);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> accountRepository.streamAll().parallel().forEach(account -> {
+                StatementShardWriter shard = shards.get(Math.floorMod(account.getAccountNumber().hashCode(), shardCount));
+                movements.add(writeStatement(account, statementDate, shard));
+
+                long done = accounts.incrementAndGet();
+                if (Objects.nonNull(progressListener) && done % PROGRESS_INTERVAL == 0) {
+                    progressListener.accept(new BatchProgress(done, total, Duration.ofNanos(System.nanoTime() - started)));
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(INTERRUPTED_ERROR, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IllegalStateException(FAILED_ERROR, e.getCause());
+        } finally {
+            pool.shutdown();
+            closeAll(shards);
+        }
+
+        List<Path> files = shards.stream().map(StatementShardWriter::getPath).collect(Collectors.toList());
+        return new StatementRunReport(accounts.get(), movements.sum(), files, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private int writeStatement(Account account, LocalDate statementDate, StatementShardWriter shard) {
+        LocalDateTime periodStart = statementDate.atStartOfDay();
+        LocalDateTime periodEnd = periodStart.plusDays(1);
+        StringBuilder out = new StringBuilder(256);
+        Money opening = Money.ZERO;
+        Money closing = null;
+        int movementCount = 0;
+
+        out.append(String.format(HEADER_FORMAT, account.getAccountNumber(), account.getCustomer().getFullName(), statementDate));
+        try (Stream<Transaction> history = transactionRepository.streamByAccountNumber(account.getAccountNumber())) {
+            Iterator<Transaction> transactions = history.iterator();
+            while (transactions.hasNext()) {
+                Transaction transaction = transactions.next();
+                if (transaction.timestamp().isBefore(periodStart)) {
+                    opening = transaction.afterAmount();
+                    continue;
+                }
+                if (!transaction.timestamp().isBefore(periodEnd)) {
+                    break;
+                }
+                if (movementCount == 0) {
+                    out.append(String.format(OPENING_FORMAT, opening.toFormattedString()));
+                }
+                out.append(String.format(MOVEMENT_FORMAT, transaction.timestamp(), transaction.type().getDisplayName(),
+                        transaction.amount().toFormattedString(), transaction.afterAmount().toFormattedString()));
+                closing = transaction.afterAmount();
+                movementCount++;
+            }
+        }
+        if (movementCount == 0) {
+            out.append(String.format(OPENING_FORMAT, opening.toFormattedString()));
+            closing = opening;
+        }
+        out.append(String.format(CLOSING_FORMAT, closing.toFormattedString()));
+
+        shard.write(out.toString().getBytes(StandardCharsets.UTF_8));
+        return movementCount;
+    }
+
+    private List<StatementShardWriter> openShards(LocalDate statementDate) throws IOException {
+        List<StatementShardWriter> shards = new ArrayList<>(shardCount);
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                Path path = outputDirectory.resolve(String.format(SHARD_FILE_FORMAT, statementDate, i));
+                shards.add(new StatementShardWriter(path, SHARD_BUFFER_SIZE));
+            }
+        } catch (IOException e) {
+            closeAll(shards);
+            throw e;
+        }
+        return shards;
+    }
+
+    private static void closeAll(List<StatementShardWriter> shards) throws IOException {
+        IOException failure = null;
+        for (StatementShardWriter shard : shards) {
+            try {
+                shard.close();
+            } catch (IOException e) {
+                if (Objects.isNull(failure)) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (Objects.nonNull(failure)) {
+            throw failure;
+        }
+    }
+}
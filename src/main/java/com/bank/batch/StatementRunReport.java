@@ -0,0 +1,19 @@
+package com.bank.batch;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of an end-of-day statement run.
+ */
+public record StatementRunReport(long accounts, long movements, List<Path> shardFiles, Duration elapsed) {
+
+    /**
+     * Returns the average number of statements written per second.
+     * @return throughput, or 0 if no measurable time has elapsed
+     */
+    public double accountsPerSecond() {
+        return new BatchProgress(accounts, accounts, elapsed).throughputPerSecond();
+    }
+}
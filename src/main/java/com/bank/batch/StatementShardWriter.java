@@ -0,0 +1,66 @@
+package com.bank.batch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One output shard: a file channel behind a direct buffer. Workers append whole statements,
+ * so a statement is never interleaved with another one in the same shard.
+ */
+final class StatementShardWriter implements AutoCloseable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    StatementShardWriter(Path path, int bufferSize) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    synchronized void write(byte[] statement) {
+        try {
+            if (statement.length > buffer.remaining()) {
+                flush();
+            }
+            if (statement.length > buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(statement));
+                return;
+            }
+            buffer.put(statement);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
@@ -1,17 +1,26 @@
 package com.bank.cli;
 
+import com.bank.analytics.ActivitySketches;
+import com.bank.analytics.ActivityWindow;
 import com.bank.exception.AccountNotFoundException;
 import com.bank.model.Customer;
 import com.bank.model.Money;
 import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
 import com.bank.service.BankAccountService;
+import com.bank.service.CustomerAccounts;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class BankCLI {
 
@@ -21,6 +30,11 @@ public class BankCLI {
     private static final String DEPOSIT_HELP = "  Deposit [Amount] [Account Number] - Deposit money";
     private static final String WITHDRAW_HELP = "  Withdraw [Amount] [Account Number] - Withdraw money";
     private static final String BALANCE_HELP = "  Balance [Account Number] - Check balance";
+    private static final String HISTORY_HELP = "  History [Account Number] [From yyyy-MM-dd] [To yyyy-MM-dd] - Show transactions";
+    private static final String CUSTOMER_HELP = "  Customer [Last Name] [First Name] - List a customer's accounts; names may be prefixes";
+    private static final String QUERY_HELP = "  Query [Conditions] - Find transactions, e.g. Query type=withdraw amount>10000";
+    private static final String EXPLAIN_HELP = "  Explain [Conditions] - Show how a Query would be run";
+    private static final String STATS_HELP = "  Stats [yyyy-MM-dd] - Show approximate activity for a day, today by default";
     private static final String QUIT_HELP = "  Quit - Exit the program";
     private static final String GOODBYE_MESSAGE = "Thank you for using Bank Account System!";
 
@@ -34,25 +48,45 @@ public class BankCLI {
     private static final String DEPOSIT_USAGE = "Usage: Deposit [Amount] [Account Number]";
     private static final String WITHDRAW_USAGE = "Usage: Withdraw [Amount] [Account Number]";
     private static final String BALANCE_USAGE = "Usage: Balance [Account Number]";
-    private static final String HISTORY_USAGE = "Usage: History [Account Number]";
+    private static final String CUSTOMER_USAGE = "Usage: Customer [Last Name] [First Name]";
+    private static final String QUERY_USAGE = "Usage: Query [Conditions], e.g. Query account=1000001 time>=2024-01-01 limit=20";
+    private static final String EXPLAIN_USAGE = "Usage: Explain [Conditions]";
+    private static final String STATS_USAGE = "Usage: Stats [yyyy-MM-dd]";
+    private static final String HISTORY_USAGE = "Usage: History [Account Number] [From yyyy-MM-dd] [To yyyy-MM-dd]";
 
     private static final String ACCOUNT_CREATED = "Account created successfully. Account number: ";
     private static final String DEPOSITED_FORMAT = "Deposited %s to account %s. New balance: %s%n";
     private static final String WITHDREW_FORMAT = "Withdrew %s from account %s. New balance: %s%n";
     private static final String BALANCE_FORMAT = "Account %s balance: %s%n";
+    private static final String HISTORY_HEADER = "Transaction History for account: ";
+    private static final String HISTORY_ROW_FORMAT = "%s | %s | %s | %s%n";
+    private static final String NO_TRANSACTIONS = "No transactions found";
+    private static final String NO_CUSTOMERS = "No customers found";
+    private static final String CUSTOMER_FORMAT = "%s, %s (total %s): %s%n";
+    private static final String CUSTOMER_ACCOUNT_FORMAT = "%s (%s)";
+    private static final String ACCOUNT_SEPARATOR = ", ";
+    private static final String QUERY_ROW_FORMAT = "%d | %s | %s | %s | %s | %s%n";
+    private static final String QUERY_COUNT_FORMAT = "%d transaction(s) found%n";
+    private static final String STATS_HEADER_FORMAT = "Activity on %s (approximate)%n";
+    private static final String STATS_ACCOUNTS_FORMAT = "  Active accounts: %d%n";
+    private static final String STATS_TYPE_FORMAT = "  %s: %d transaction(s), median %s, p90 %s, p99 %s%n";
+    private static final String ARGUMENT_SEPARATOR = " ";
 
     private static final String INVALID_AMOUNT_ERROR = "Error: Invalid amount. Please enter a positive number.";
 
-    private static final int TRANSACTION_HISTORY_LIMIT = 10;
+    private static final int CUSTOMER_SEARCH_LIMIT = 20;
 
     private final BankAccountService bankService;
     private final CommandParser commandParser;
+    private final ActivitySketches activitySketches;
     private final BufferedReader reader;
     private boolean running;
 
     public BankCLI(BankAccountService bankService) {
         this.bankService = bankService;
         this.commandParser = new CommandParser();
+        this.activitySketches = new ActivitySketches();
+        bankService.addTransactionListener(activitySketches);
         this.reader = new BufferedReader(new InputStreamReader(System.in));
         this.running = false;
     }
@@ -65,6 +99,11 @@ public class BankCLI {
         System.out.println(DEPOSIT_HELP);
         System.out.println(WITHDRAW_HELP);
         System.out.println(BALANCE_HELP);
+        System.out.println(HISTORY_HELP);
+        System.out.println(CUSTOMER_HELP);
+        System.out.println(QUERY_HELP);
+        System.out.println(EXPLAIN_HELP);
+        System.out.println(STATS_HELP);
         System.out.println(QUIT_HELP);
         System.out.println();
 
@@ -107,6 +146,10 @@ public class BankCLI {
                 case WITHDRAW -> handleWithdraw(arguments);
                 case BALANCE -> handleBalance(arguments);
                 case HISTORY -> handleAccountHistory(arguments);
+                case CUSTOMER -> handleCustomer(arguments);
+                case QUERY -> handleQuery(arguments);
+                case EXPLAIN -> handleExplain(arguments);
+                case STATS -> handleStats(arguments);
                 case QUIT -> handleQuit();
             }
         } catch (AccountNotFoundException | IllegalArgumentException e) {
@@ -180,6 +223,10 @@ public class BankCLI {
         System.out.printf(BALANCE_FORMAT, accountNumber, balance.toFormattedString());
     }
 
+    /**
+     * Prints the whole history newest first, or the transactions from the start of the from date up to the
+     * start of the to date oldest first. Rows are written as they are read, so output needs constant memory.
+     */
     private void handleAccountHistory(List<String> arguments) {
         if (!commandParser.isValidAccountHistoryCommand(arguments)) {
             System.out.println(HISTORY_USAGE);
@@ -187,14 +234,103 @@ public class BankCLI {
         }
 
         String accountNumber = arguments.get(0);
-        List<Transaction> transactions = bankService.getTransactionHistory(accountNumber, TRANSACTION_HISTORY_LIMIT);
+        Stream<Transaction> transactions = arguments.size() == 1
+                ? bankService.streamTransactionHistory(accountNumber)
+                : bankService.streamTransactionHistory(accountNumber,
+                        commandParser.parseDate(arguments.get(1)).atStartOfDay(),
+                        commandParser.parseDate(arguments.get(2)).atStartOfDay());
+
+        System.out.println(HISTORY_HEADER + accountNumber);
+        try (transactions) {
+            Iterator<Transaction> rows = transactions.iterator();
+            if (!rows.hasNext()) {
+                System.out.println(NO_TRANSACTIONS);
+            }
+            while (rows.hasNext()) {
+                Transaction transaction = rows.next();
+                System.out.printf(HISTORY_ROW_FORMAT, transaction.timestamp(), transaction.type(),
+                        transaction.amount(), transaction.afterAmount());
+            }
+        }
+    }
 
-        for (Transaction transaction : transactions) {
-            System.out.println("Transaction History for account: " + accountNumber);
-            System.out.println(transaction.timestamp() + " | " + transaction.type() + " | " + transaction.amount() + " | "
-                    + transaction.afterAmount());
+    /** Lists each matching customer with the balance of every account, at most a screenful of customers. */
+    private void handleCustomer(List<String> arguments) {
+        if (!commandParser.isValidCustomerCommand(arguments)) {
+            System.out.println(CUSTOMER_USAGE);
+            return;
         }
 
+        List<CustomerAccounts> customers = bankService.searchCustomers(String.join(ARGUMENT_SEPARATOR, arguments),
+                CUSTOMER_SEARCH_LIMIT);
+        if (customers.isEmpty()) {
+            System.out.println(NO_CUSTOMERS);
+        }
+        for (CustomerAccounts match : customers) {
+            String accounts = match.accountNumbers().stream()
+                    .map(number -> String.format(CUSTOMER_ACCOUNT_FORMAT, number,
+                            bankService.getBalance(number).toFormattedString()))
+                    .collect(Collectors.joining(ACCOUNT_SEPARATOR));
+            System.out.printf(CUSTOMER_FORMAT, match.customer().lastName(), match.customer().firstName(),
+                    bankService.getCustomerHoldings(match.customer()).toFormattedString(), accounts);
+        }
+    }
+
+    /** Prints matching transactions as they are read, followed by how many there were. */
+    private void handleQuery(List<String> arguments) {
+        if (!commandParser.isValidQueryCommand(arguments)) {
+            System.out.println(QUERY_USAGE);
+            return;
+        }
+
+        long count = 0;
+        try (Stream<Transaction> transactions = bankService.queryTransactions(String.join(ARGUMENT_SEPARATOR, arguments))) {
+            Iterator<Transaction> rows = transactions.iterator();
+            while (rows.hasNext()) {
+                Transaction transaction = rows.next();
+                System.out.printf(QUERY_ROW_FORMAT, transaction.sequence(), transaction.timestamp(),
+                        transaction.accountNumber(), transaction.type(), transaction.amount(), transaction.afterAmount());
+                count++;
+            }
+        }
+        System.out.printf(QUERY_COUNT_FORMAT, count);
+    }
+
+    private void handleExplain(List<String> arguments) {
+        if (!commandParser.isValidQueryCommand(arguments)) {
+            System.out.println(EXPLAIN_USAGE);
+            return;
+        }
+
+        System.out.print(bankService.explainTransactionQuery(String.join(ARGUMENT_SEPARATOR, arguments)));
+    }
+
+    /** Prints the day's sketched activity: distinct accounts, then amount quantiles for each type seen. */
+    private void handleStats(List<String> arguments) {
+        if (!commandParser.isValidStatsCommand(arguments)) {
+            System.out.println(STATS_USAGE);
+            return;
+        }
+
+        LocalDate day = arguments.isEmpty() ? LocalDate.now() : commandParser.parseDate(arguments.get(0));
+        Optional<ActivityWindow> window = activitySketches.findWindow(day);
+        if (window.isEmpty()) {
+            System.out.println(NO_TRANSACTIONS);
+            return;
+        }
+
+        ActivityWindow activity = window.get();
+        System.out.printf(STATS_HEADER_FORMAT, day);
+        System.out.printf(STATS_ACCOUNTS_FORMAT, activity.estimateActiveAccounts());
+        for (TransactionType type : TransactionType.values()) {
+            long count = activity.count(type);
+            if (count > 0) {
+                System.out.printf(STATS_TYPE_FORMAT, type.getDisplayName(), count,
+                        activity.amountQuantile(type, 0.5).toFormattedString(),
+                        activity.amountQuantile(type, 0.9).toFormattedString(),
+                        activity.amountQuantile(type, 0.99).toFormattedString());
+            }
+        }
     }
 
     private void handleQuit() {
@@ -8,6 +8,10 @@ public enum Command {
     WITHDRAW("Withdraw"),
     BALANCE("Balance"),
     HISTORY("History"),
+    CUSTOMER("Customer"),
+    QUERY("Query"),
+    EXPLAIN("Explain"),
+    STATS("Stats"),
     QUIT("Quit");
 
     private final String commandName;
@@ -2,6 +2,8 @@ package com.bank.cli;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -10,8 +12,10 @@ public class CommandParser {
 
 	private static final int REQUIRED_ARGS_TWO = 2;
 	private static final int REQUIRED_ARGS_ONE = 1;
+	private static final int REQUIRED_ARGS_THREE = 3;
 	private static final int FIRST_ARGUMENT_INDEX = 0;
 	private static final int SECOND_ARGUMENT_INDEX = 1;
+	private static final int THIRD_ARGUMENT_INDEX = 2;
 
 	public record ParsedCommand(Command command, List<String> arguments) {
 	}
@@ -73,11 +77,49 @@ public class CommandParser {
 				!arguments.get(FIRST_ARGUMENT_INDEX).trim().isEmpty();
 	}
 
+	/**
+	 * Parses an ISO date such as {@code 2024-01-31}.
+	 * @return the date, or null if the input is not a valid date
+	 */
+	public LocalDate parseDate(String dateStr) {
+		if (Objects.isNull(dateStr) || dateStr.trim().isEmpty()) {
+			return null;
+		}
+		try {
+			return LocalDate.parse(dateStr.trim());
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	/** Accepts an account number alone, or followed by a from date and a later to date. */
 	boolean isValidAccountHistoryCommand(List<String> arguments) {
-		return arguments.size() == REQUIRED_ARGS_ONE &&
+		if (arguments.size() == REQUIRED_ARGS_ONE) {
+			return !arguments.get(FIRST_ARGUMENT_INDEX).trim().isEmpty();
+		}
+		if (arguments.size() != REQUIRED_ARGS_THREE || arguments.get(FIRST_ARGUMENT_INDEX).trim().isEmpty()) {
+			return false;
+		}
+		LocalDate from = parseDate(arguments.get(SECOND_ARGUMENT_INDEX));
+		LocalDate to = parseDate(arguments.get(THIRD_ARGUMENT_INDEX));
+		return Objects.nonNull(from) && Objects.nonNull(to) && from.isBefore(to);
+	}
+
+	boolean isValidCustomerCommand(List<String> arguments) {
+		return (arguments.size() == REQUIRED_ARGS_ONE || arguments.size() == REQUIRED_ARGS_TWO) &&
 				!arguments.get(FIRST_ARGUMENT_INDEX).trim().isEmpty();
 	}
 
+	/** Accepts no arguments, for today, or a single date. */
+	boolean isValidStatsCommand(List<String> arguments) {
+		return arguments.isEmpty()
+				|| (arguments.size() == REQUIRED_ARGS_ONE && Objects.nonNull(parseDate(arguments.get(FIRST_ARGUMENT_INDEX))));
+	}
+
+	boolean isValidQueryCommand(List<String> arguments) {
+		return !arguments.isEmpty();
+	}
+
 	private boolean isValidAmount(String amountStr) {
 		return Objects.nonNull(parseAmount(amountStr));
 	}
@@ -0,0 +1,79 @@
+package com.bank.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer (Vyukov-style sequenced slots). Any number of threads may offer;
+ * polling must be done by one thread at a time. Offering to a full buffer fails immediately
+ * instead of blocking, leaving the overflow decision to the caller.
+ */
+final class BoundedRingBuffer<E> {
+
+    private static final String CAPACITY_ERROR = "Capacity must be positive";
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    BoundedRingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0) {
+            throw new IllegalArgumentException(CAPACITY_ERROR);
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity);
+        if (capacity < requestedCapacity) {
+            capacity <<= 1;
+        }
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    boolean offer(E element) {
+        long position = tail.get();
+        for (;;) {
+            int index = (int) (position & mask);
+            long lag = sequences.get(index) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (lag < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    E poll() {
+        long position = head.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.lazySet(index, null);
+        head.lazySet(position + 1);
+        sequences.set(index, position + mask + 1);
+        return element;
+    }
+
+    boolean isEmpty() {
+        long position = head.get();
+        return sequences.get((int) (position & mask)) != position + 1;
+    }
+}
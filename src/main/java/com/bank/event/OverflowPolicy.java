@@ -0,0 +1,17 @@
+package com.bank.event;
+
+/**
+ * What a subscription does with a new transaction when its buffer is full because the subscriber is not
+ * keeping up with its requests.
+ */
+public enum OverflowPolicy {
+    /** Discard the new transaction and count it as dropped. Never slows the publishing thread. */
+    DROP,
+    /**
+     * Park the publishing thread until the subscriber frees space. Lossless, but a stalled subscriber stalls the
+     * posting threads; the service publishes after an account's update returns, so they never stall holding one.
+     */
+    BLOCK,
+    /** Append the overflow to a spill file and replay it in order once the buffer drains. Lossless without stalling writers. */
+    SPILL
+}
@@ -0,0 +1,303 @@
+package com.bank.event;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.bank.model.Transaction;
+import com.bank.service.TransactionListener;
+
+/**
+ * Publishes every recorded transaction to any number of {@link Flow.Subscriber}s.
+ * <p>
+ * Each subscription owns a bounded lock-free ring buffer. Publishing is one CAS per subscriber plus, at
+ * most, handing a drain task to the executor, so it adds no locking to deposits and withdrawals.
+ * Subscribers are fed on the executor strictly within their requested demand; when a subscriber falls
+ * behind and its buffer fills, the subscription's {@link OverflowPolicy} decides what happens.
+ * <p>
+ * Register it with {@link com.bank.service.BankAccountService#addTransactionListener}.
+ */
+public class TransactionEventPublisher implements Flow.Publisher<Transaction>, TransactionListener, AutoCloseable {
+
+    private static final String EXECUTOR_NULL_ERROR = "Executor cannot be null";
+    private static final String BUFFER_CAPACITY_ERROR = "Buffer capacity must be positive";
+    private static final String POLICY_NULL_ERROR = "Overflow policy cannot be null";
+    private static final String SUBSCRIBER_NULL_ERROR = "Subscriber cannot be null";
+    private static final String SPILL_DIRECTORY_REQUIRED_ERROR = "Spill directory is required for the SPILL policy";
+    private static final String NON_POSITIVE_REQUEST_ERROR = "Request must be positive (Reactive Streams rule 3.9)";
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Executor executor;
+    private final int bufferCapacity;
+    private final OverflowPolicy defaultPolicy;
+    private final Path spillDirectory;
+    private final List<TransactionSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * @param executor runs subscriber callbacks; never the publishing thread
+     * @param bufferCapacity per-subscription buffer size, rounded up to a power of two
+     * @param defaultPolicy overflow policy for {@link #subscribe(Flow.Subscriber)}
+     * @param spillDirectory where SPILL subscriptions keep their overflow; may be null if SPILL is never used
+     */
+    public TransactionEventPublisher(Executor executor, int bufferCapacity, OverflowPolicy defaultPolicy, Path spillDirectory) {
+        if (Objects.isNull(executor)) {
+            throw new IllegalArgumentException(EXECUTOR_NULL_ERROR);
+        }
+        if (Objects.isNull(defaultPolicy)) {
+            throw new IllegalArgumentException(POLICY_NULL_ERROR);
+        }
+        if (defaultPolicy == OverflowPolicy.SPILL && Objects.isNull(spillDirectory)) {
+            throw new IllegalArgumentException(SPILL_DIRECTORY_REQUIRED_ERROR);
+        }
+        if (bufferCapacity <= 0) {
+            throw new IllegalArgumentException(BUFFER_CAPACITY_ERROR);
+        }
+        this.executor = executor;
+        this.bufferCapacity = bufferCapacity;
+        this.defaultPolicy = defaultPolicy;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Transaction> subscriber) {
+        subscribe(subscriber, defaultPolicy);
+    }
+
+    /**
+     * Subscribes with an explicit overflow policy, e.g. DROP for best-effort notifications and SPILL for the data lake.
+     */
+    public void subscribe(Flow.Subscriber<? super Transaction> subscriber, OverflowPolicy policy) {
+        if (Objects.isNull(subscriber)) {
+            throw new NullPointerException(SUBSCRIBER_NULL_ERROR);
+        }
+        if (Objects.isNull(policy)) {
+            throw new IllegalArgumentException(POLICY_NULL_ERROR);
+        }
+        if (policy == OverflowPolicy.SPILL && Objects.isNull(spillDirectory)) {
+            throw new IllegalArgumentException(SPILL_DIRECTORY_REQUIRED_ERROR);
+        }
+        TransactionSubscription subscription = new TransactionSubscription(subscriber, policy);
+        subscriber.onSubscribe(subscription);
+        subscriptions.add(subscription);
+        if (closed) {
+            subscription.complete();
+        }
+    }
+
+    @Override
+    public void onTransaction(Transaction transaction) {
+        publish(transaction);
+    }
+
+    public void publish(Transaction transaction) {
+        if (closed) {
+            return;
+        }
+        for (TransactionSubscription subscription : subscriptions) {
+            subscription.offer(transaction);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /** Total transactions discarded by DROP subscriptions since the publisher was created. */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops accepting transactions. Subscribers receive everything already buffered, then onComplete.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (TransactionSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    private final class TransactionSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Transaction> subscriber;
+        private final OverflowPolicy policy;
+        private final BoundedRingBuffer<Transaction> buffer;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final Object spillLock = new Object();
+        private TransactionSpillFile spillFile;
+        private volatile boolean spilling;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        TransactionSubscription(Flow.Subscriber<? super Transaction> subscriber, OverflowPolicy policy) {
+            this.subscriber = subscriber;
+            this.policy = policy;
+            this.buffer = new BoundedRingBuffer<>(bufferCapacity);
+        }
+
+        void offer(Transaction transaction) {
+            if (cancelled) {
+                return;
+            }
+            if (!spilling && buffer.offer(transaction)) {
+                schedule();
+                return;
+            }
+            switch (policy) {
+                case DROP -> dropped.increment();
+                case BLOCK -> {
+                    while (!buffer.offer(transaction)) {
+                        if (cancelled) {
+                            return;
+                        }
+                        schedule();
+                        LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    }
+                }
+                case SPILL -> spill(transaction);
+            }
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException(NON_POSITIVE_REQUEST_ERROR);
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            schedule();
+        }
+
+        void complete() {
+            done = true;
+            schedule();
+        }
+
+        private void spill(Transaction transaction) {
+            synchronized (spillLock) {
+                if (cancelled) {
+                    return;
+                }
+                try {
+                    if (Objects.isNull(spillFile)) {
+                        spillFile = new TransactionSpillFile(spillDirectory);
+                    }
+                    spillFile.append(transaction);
+                    spilling = true;
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+        }
+
+        /** Oldest undelivered transaction: the buffer first, then whatever overflowed to disk after it. */
+        private Transaction next() {
+            Transaction transaction = buffer.poll();
+            if (Objects.nonNull(transaction) || !spilling) {
+                return transaction;
+            }
+            synchronized (spillLock) {
+                try {
+                    transaction = spillFile.next();
+                    if (spillFile.isEmpty()) {
+                        spilling = false;
+                    }
+                } catch (IOException e) {
+                    error = e;
+                    return null;
+                }
+            }
+            return Objects.nonNull(transaction) ? transaction : buffer.poll();
+        }
+
+        private boolean isDrained() {
+            return buffer.isEmpty() && !spilling;
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            for (;;) {
+                long requested = demand.get();
+                long emitted = 0;
+                while (emitted != requested && !cancelled && Objects.isNull(error)) {
+                    Transaction transaction = next();
+                    if (Objects.isNull(transaction)) {
+                        break;
+                    }
+                    subscriber.onNext(transaction);
+                    emitted++;
+                }
+                if (cancelled) {
+                    release();
+                    return;
+                }
+                if (Objects.nonNull(error)) {
+                    terminate();
+                    subscriber.onError(error);
+                    return;
+                }
+                if (done && isDrained()) {
+                    terminate();
+                    subscriber.onComplete();
+                    return;
+                }
+                if (emitted != 0 && requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void terminate() {
+            cancelled = true;
+            subscriptions.remove(this);
+            release();
+        }
+
+        private void release() {
+            synchronized (spillLock) {
+                if (Objects.nonNull(spillFile)) {
+                    try {
+                        spillFile.close();
+                    } catch (IOException ignored) {
+                        // Best effort: the subscription is gone and the temp file is only overflow
+                    }
+                    spillFile = null;
+                }
+                spilling = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bank.event;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+
+/**
+ * FIFO overflow file for one subscription. Transactions are appended in publish order and read back in
+ * the same order; once every spilled record has been read the file is truncated so it never grows past
+ * the largest backlog. Not thread-safe: callers serialise access.
+ */
+final class TransactionSpillFile implements AutoCloseable {
+
+    private static final String FILE_PREFIX = "transactions-";
+    private static final String FILE_SUFFIX = ".spill";
+
+    private final Path path;
+    private DataOutputStream output;
+    private DataInputStream input;
+    private long written;
+    private long read;
+
+    TransactionSpillFile(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.path = Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+    }
+
+    boolean isEmpty() {
+        return read == written;
+    }
+
+    void append(Transaction transaction) throws IOException {
+        if (Objects.isNull(output)) {
+            output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+        }
+        output.writeUTF(transaction.transactionId());
+        output.writeUTF(transaction.accountNumber());
+        output.writeUTF(transaction.type().name());
+        output.writeLong(transaction.amount().toCents());
+        output.writeLong(transaction.afterAmount().toCents());
+        output.writeUTF(transaction.timestamp().toString());
+        output.writeLong(transaction.sequence());
+        written++;
+    }
+
+    /** Returns the oldest unread transaction, or null once everything spilled has been read. */
+    Transaction next() throws IOException {
+        if (isEmpty()) {
+            return null;
+        }
+        output.flush();
+        if (Objects.isNull(input)) {
+            input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+        }
+        Transaction transaction = new Transaction(input.readUTF(), input.readUTF(),
+                TransactionType.valueOf(input.readUTF()), Money.ofCents(input.readLong()),
+                Money.ofCents(input.readLong()), LocalDateTime.parse(input.readUTF()), input.readLong());
+        read++;
+        if (isEmpty()) {
+            reset();
+        }
+        return transaction;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reset();
+        Files.deleteIfExists(path);
+    }
+
+    private void reset() throws IOException {
+        try {
+            if (Objects.nonNull(input)) {
+                input.close();
+            }
+        } finally {
+            input = null;
+            if (Objects.nonNull(output)) {
+                output.close();
+            }
+            output = null;
+            written = 0;
+            read = 0;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.model;
 
+import java.time.LocalDate;
 import java.util.Objects;
 
 import lombok.EqualsAndHashCode;
@@ -17,17 +18,22 @@ public class Account {
     
     private static final String ACCOUNT_NUMBER_ERROR = "Account number cannot be null or empty";
     private static final String CUSTOMER_ERROR = "Customer cannot be null";
+    private static final String BALANCE_NULL_ERROR = "Balance cannot be null";
     private static final String DEPOSIT_AMOUNT_NULL_ERROR = "Deposit amount cannot be null";
     private static final String DEPOSIT_AMOUNT_POSITIVE_ERROR = "Deposit amount must be positive";
     private static final String WITHDRAWAL_AMOUNT_NULL_ERROR = "Withdrawal amount cannot be null";
     private static final String WITHDRAWAL_AMOUNT_POSITIVE_ERROR = "Withdrawal amount must be positive";
     private static final String INSUFFICIENT_FUNDS_ERROR = "Insufficient funds for withdrawal";
+    private static final String INTEREST_AMOUNT_NULL_ERROR = "Interest amount cannot be null";
+    private static final String INTEREST_AMOUNT_NEGATIVE_ERROR = "Interest amount cannot be negative";
+    private static final String ACCRUAL_DATE_NULL_ERROR = "Accrual date cannot be null";
     
     @EqualsAndHashCode.Include
     private final String accountNumber;
     private final Customer customer;
 
     private Money balance;
+    private LocalDate lastInterestAccrualDate;
 
     public Account(String accountNumber, Customer customer) {
         this.accountNumber = validateAndTrimAccountNumber(accountNumber);
@@ -35,6 +41,23 @@ public class Account {
         this.balance = Money.ZERO;
     }
 
+    /**
+     * Rebuilds an account from stored state without replaying its transactions.
+     * Intended for repositories that keep accounts in a serialised form.
+     * @param lastInterestAccrualDate the last accrued date, or null if interest was never accrued
+     * @throws IllegalArgumentException if the number, customer or balance is missing
+     */
+    public static Account restore(String accountNumber, Customer customer, Money balance,
+                                  LocalDate lastInterestAccrualDate) {
+        if (Objects.isNull(balance)) {
+            throw new IllegalArgumentException(BALANCE_NULL_ERROR);
+        }
+        Account account = new Account(accountNumber, customer);
+        account.balance = balance;
+        account.lastInterestAccrualDate = lastInterestAccrualDate;
+        return account;
+    }
+
     /**
      * Deposits money into the account.
      * @param amount the amount to deposit (must be positive)
@@ -68,6 +91,32 @@ public class Account {
         this.balance = this.balance.subtract(amount);
     }
     
+    /**
+     * Credits interest for an accrual date, at most once per date. Dates at or before the last accrual
+     * are ignored, which makes re-running an accrual for the same date a no-op.
+     * @param interest the interest to credit (zero is allowed and still marks the date as accrued)
+     * @param accrualDate the business date the interest belongs to
+     * @return true if the accrual was applied, false if the date had already been accrued
+     * @throws IllegalArgumentException if interest is null or negative, or the date is null
+     */
+    public boolean accrueInterest(Money interest, LocalDate accrualDate) {
+        if (Objects.isNull(interest)) {
+            throw new IllegalArgumentException(INTEREST_AMOUNT_NULL_ERROR);
+        }
+        if (interest.isNegative()) {
+            throw new IllegalArgumentException(INTEREST_AMOUNT_NEGATIVE_ERROR);
+        }
+        if (Objects.isNull(accrualDate)) {
+            throw new IllegalArgumentException(ACCRUAL_DATE_NULL_ERROR);
+        }
+        if (Objects.nonNull(lastInterestAccrualDate) && !accrualDate.isAfter(lastInterestAccrualDate)) {
+            return false;
+        }
+        this.balance = this.balance.add(interest);
+        this.lastInterestAccrualDate = accrualDate;
+        return true;
+    }
+    
     /**
      * Checks if the account has sufficient funds for the specified amount.
      * @param amount the amount to check
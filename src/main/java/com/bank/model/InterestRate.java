@@ -0,0 +1,108 @@
+package com.bank.model;
+
+import java.math.BigInteger;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Exact rational interest rate, held as a reduced {@code numerator / denominator} pair.
+ * Applying a rate to money is pure long arithmetic on cents with a single HALF_UP rounding at the end,
+ * so rates such as "475 basis points a year, accrued daily" carry no binary floating-point error.
+ * Immutable and thread-safe.
+ */
+@Getter
+@EqualsAndHashCode
+public final class InterestRate {
+
+    public static final InterestRate ZERO = new InterestRate(0, 1);
+
+    private static final long BASIS_POINTS_PER_UNIT = 10_000;
+    private static final String DENOMINATOR_ERROR = "Rate denominator must be positive";
+    private static final String NEGATIVE_RATE_ERROR = "Rate cannot be negative";
+    private static final String PERIODS_ERROR = "Number of periods must be positive";
+
+    private final long numerator;
+    private final long denominator;
+
+    private InterestRate(long numerator, long denominator) {
+        long gcd = gcd(numerator, denominator);
+        this.numerator = numerator / gcd;
+        this.denominator = denominator / gcd;
+    }
+
+    public static InterestRate of(long numerator, long denominator) {
+        if (denominator <= 0) {
+            throw new IllegalArgumentException(DENOMINATOR_ERROR);
+        }
+        if (numerator < 0) {
+            throw new IllegalArgumentException(NEGATIVE_RATE_ERROR);
+        }
+        return new InterestRate(numerator, denominator);
+    }
+
+    public static InterestRate ofBasisPoints(long basisPoints) {
+        return of(basisPoints, BASIS_POINTS_PER_UNIT);
+    }
+
+    /**
+     * Splits this rate evenly over a number of periods, e.g. an annual rate over 365 daily accruals.
+     * @param periods number of periods (must be positive)
+     * @return the exact per-period rate
+     */
+    public InterestRate perPeriod(int periods) {
+        if (periods <= 0) {
+            throw new IllegalArgumentException(PERIODS_ERROR);
+        }
+        return new InterestRate(numerator, Math.multiplyExact(denominator, periods));
+    }
+
+    /**
+     * Returns {@code cents * rate}, rounded HALF_UP to a whole cent.
+     * Falls back to BigInteger only if the intermediate product overflows a long.
+     */
+    public long applyToCents(long cents) {
+        long product;
+        try {
+            product = Math.multiplyExact(cents, numerator);
+        } catch (ArithmeticException overflow) {
+            return applyExactly(cents);
+        }
+        long quotient = product / denominator;
+        long remainder = Math.abs(product % denominator);
+        if (remainder >= denominator - remainder) {
+            quotient += Long.signum(product);
+        }
+        return quotient;
+    }
+
+    public boolean isZero() {
+        return numerator == 0;
+    }
+
+    @Override
+    public String toString() {
+        return numerator + "/" + denominator;
+    }
+
+    private long applyExactly(long cents) {
+        BigInteger[] division = BigInteger.valueOf(cents).multiply(BigInteger.valueOf(numerator))
+                .divideAndRemainder(BigInteger.valueOf(denominator));
+        BigInteger remainder = division[1].abs();
+        BigInteger quotient = division[0];
+        if (remainder.shiftLeft(1).compareTo(BigInteger.valueOf(denominator)) >= 0) {
+            quotient = quotient.add(BigInteger.valueOf(Long.signum(cents)));
+        }
+        return quotient.longValueExact();
+    }
+
+    private static long gcd(long a, long b) {
+        a = Math.abs(a);
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a == 0 ? 1 : a;
+    }
+}
@@ -25,6 +25,7 @@ public final class Money implements Comparable<Money> {
     private static final String ADD_NULL_ERROR = "Cannot add null money";
     private static final String SUBTRACT_NULL_ERROR = "Cannot subtract null money";
     private static final String COMPARE_NULL_ERROR = "Cannot compare with null money";
+    private static final String RATE_NULL_ERROR = "Rate cannot be null";
     
     private final BigDecimal amount;
     
@@ -54,6 +55,10 @@ public final class Money implements Comparable<Money> {
         return new Money(BigDecimal.valueOf(amount));
     }
     
+    public static Money ofCents(long cents) {
+        return new Money(BigDecimal.valueOf(cents, DECIMAL_PLACES));
+    }
+    
     public Money add( Money other) {
         if (Objects.isNull(other)) {
             throw new IllegalArgumentException(ADD_NULL_ERROR);
@@ -72,6 +77,25 @@ public final class Money implements Comparable<Money> {
         return new Money(this.amount.multiply(BigDecimal.valueOf(multiplier)));
     }
     
+    /**
+     * Applies an exact rate, rounding once to the cent. Unlike {@link #multiply(double)} this
+     * never goes through a binary floating-point value.
+     */
+    public Money multiply(InterestRate rate) {
+        if (Objects.isNull(rate)) {
+            throw new IllegalArgumentException(RATE_NULL_ERROR);
+        }
+        return ofCents(rate.applyToCents(toCents()));
+    }
+    
+    /**
+     * Returns the amount as a whole number of cents.
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public long toCents() {
+        return amount.unscaledValue().longValueExact();
+    }
+    
     public boolean isPositive() {
         return amount.compareTo(BigDecimal.ZERO) > 0;
     }
@@ -2,8 +2,23 @@ package com.bank.model;
 
 import java.time.LocalDateTime;
 
+/**
+ * A posted transaction. {@code sequence} is the global, strictly increasing number the transaction
+ * repository assigns when it records the transaction; it is {@link #UNSEQUENCED} until then.
+ */
 public record Transaction(String transactionId, String accountNumber, TransactionType type, Money amount,
-                          Money afterAmount, LocalDateTime timestamp) {
+                          Money afterAmount, LocalDateTime timestamp, long sequence) {
+
+	public static final long UNSEQUENCED = 0;
+
+	public Transaction(String transactionId, String accountNumber, TransactionType type, Money amount,
+	                   Money afterAmount, LocalDateTime timestamp) {
+		this(transactionId, accountNumber, type, amount, afterAmount, timestamp, UNSEQUENCED);
+	}
+
+	public Transaction withSequence(long sequence) {
+		return new Transaction(transactionId, accountNumber, type, amount, afterAmount, timestamp, sequence);
+	}
 
 	public String getTransactionId() {
 		return this.transactionId;
@@ -5,7 +5,8 @@ import lombok.Getter;
 @Getter
 public enum TransactionType {
 	DEPOSIT("Deposit"),
-	WITHDRAW("Withdraw");
+	WITHDRAW("Withdraw"),
+	INTEREST("Interest");
 
 	private final String displayName;
 
@@ -0,0 +1,15 @@
+package com.bank.query;
+
+/** How a {@link QueryPlan} reads candidate transactions before every condition is checked on them. */
+public enum AccessPath {
+	/** The account's own history, narrowed to the query's time range. */
+	ACCOUNT_HISTORY,
+	/** The bank-wide time index over the query's time range. */
+	TIME_INDEX,
+	/** The amount index over the query's amount range, for its type or for every type. */
+	AMOUNT_INDEX,
+	/** The sequence log from the query's lowest sequence number, stopping at its highest. */
+	SEQUENCE_LOG,
+	/** Every transaction, read in parallel. */
+	PARALLEL_SCAN
+}
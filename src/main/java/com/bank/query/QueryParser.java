@@ -0,0 +1,173 @@
+package com.bank.query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.bank.model.Money;
+import com.bank.model.TransactionType;
+
+/**
+ * Parses the transaction query language: whitespace-separated conditions of the form
+ * {@code field operator value}, all of which must hold. An optional {@code and} may join them.
+ * <ul>
+ * <li>{@code account=1000001} and {@code type=withdraw} take {@code =} only.</li>
+ * <li>{@code amount}, {@code time} and {@code seq} take {@code =}, {@code >}, {@code >=}, {@code <} and
+ * {@code <=}. A time is {@code 2024-01-31}, which covers the whole day, or {@code 2024-01-31T14:05}.</li>
+ * <li>{@code limit=20} caps the number of results.</li>
+ * </ul>
+ * For example: {@code type=withdraw amount>10000 time>=2024-01-29 time<2024-02-05}.
+ */
+public class QueryParser {
+
+	private static final String QUERY_EMPTY_ERROR = "Query cannot be empty";
+	private static final String CONDITION_ERROR = "Invalid condition: ";
+	private static final String FIELD_ERROR = "Unknown field in condition: ";
+	private static final String OPERATOR_ERROR = "Unsupported operator in condition: ";
+	private static final String VALUE_ERROR = "Invalid value in condition: ";
+	private static final String REPEATED_ERROR = "Condition repeated: ";
+
+	private static final Pattern CONDITION = Pattern.compile("([a-zA-Z]+)(>=|<=|=|>|<)(\\S+)");
+	private static final String CONJUNCTION = "and";
+	private static final String EQUALS = "=";
+	private static final char DATE_TIME_SEPARATOR = 'T';
+
+	/**
+	 * @throws IllegalArgumentException if the query is empty or any condition is malformed
+	 */
+	public TransactionQuery parse(String query) {
+		if (Objects.isNull(query) || query.trim().isEmpty()) {
+			throw new IllegalArgumentException(QUERY_EMPTY_ERROR);
+		}
+		Builder builder = new Builder();
+		for (String condition : query.trim().split("\\s+")) {
+			if (!condition.equalsIgnoreCase(CONJUNCTION)) {
+				parseCondition(condition, builder);
+			}
+		}
+		return builder.build();
+	}
+
+	private static void parseCondition(String condition, Builder builder) {
+		Matcher matcher = CONDITION.matcher(condition);
+		if (!matcher.matches()) {
+			throw new IllegalArgumentException(CONDITION_ERROR + condition);
+		}
+		String field = matcher.group(1).toLowerCase(Locale.ROOT);
+		String operator = matcher.group(2);
+		String value = matcher.group(3);
+		try {
+			switch (field) {
+				case "account" -> {
+					requireEquals(operator, condition);
+					builder.accountNumber = single(builder.accountNumber, value, condition);
+				}
+				case "type" -> {
+					requireEquals(operator, condition);
+					builder.type = single(builder.type, parseType(value, condition), condition);
+				}
+				case "limit" -> {
+					requireEquals(operator, condition);
+					builder.limit = single(builder.limit, parseLimit(value, condition), condition);
+				}
+				case "amount" -> builder.amount = builder.amount.and(Range.of(operator, Money.of(new BigDecimal(value)),
+						amount -> amount.add(Money.ofCents(1))));
+				case "seq" -> builder.sequence = builder.sequence.and(Range.of(operator, Long.parseLong(value),
+						sequence -> sequence + 1));
+				case "time" -> builder.time = builder.time.and(parseTime(operator, value));
+				default -> throw new IllegalArgumentException(FIELD_ERROR + condition);
+			}
+		} catch (NumberFormatException | DateTimeParseException e) {
+			throw new IllegalArgumentException(VALUE_ERROR + condition, e);
+		}
+	}
+
+	/** A date stands for the whole day; a date and time for that instant. */
+	private static Range<LocalDateTime> parseTime(String operator, String value) {
+		if (value.indexOf(DATE_TIME_SEPARATOR) < 0) {
+			return Range.of(operator, LocalDate.parse(value).atStartOfDay(), time -> time.plusDays(1));
+		}
+		return Range.of(operator, LocalDateTime.parse(value), time -> time.plusNanos(1));
+	}
+
+	private static TransactionType parseType(String value, String condition) {
+		for (TransactionType type : TransactionType.values()) {
+			if (type.name().equalsIgnoreCase(value) || type.getDisplayName().equalsIgnoreCase(value)) {
+				return type;
+			}
+		}
+		throw new IllegalArgumentException(VALUE_ERROR + condition);
+	}
+
+	private static Long parseLimit(String value, String condition) {
+		long limit = Long.parseLong(value);
+		if (limit <= 0) {
+			throw new IllegalArgumentException(VALUE_ERROR + condition);
+		}
+		return limit;
+	}
+
+	private static void requireEquals(String operator, String condition) {
+		if (!EQUALS.equals(operator)) {
+			throw new IllegalArgumentException(OPERATOR_ERROR + condition);
+		}
+	}
+
+	private static <T> T single(T current, T value, String condition) {
+		if (Objects.nonNull(current)) {
+			throw new IllegalArgumentException(REPEATED_ERROR + condition);
+		}
+		return value;
+	}
+
+	/** A half-open range {@code [lower, upper)}; a null bound is unbounded. */
+	private record Range<T extends Comparable<? super T>>(T lower, T upper) {
+
+		static <T extends Comparable<? super T>> Range<T> unbounded() {
+			return new Range<>(null, null);
+		}
+
+		/** Turns one comparison into a half-open range, using {@code next} for the value just past {@code value}. */
+		static <T extends Comparable<? super T>> Range<T> of(String operator, T value, UnaryOperator<T> next) {
+			return switch (operator) {
+				case "=" -> new Range<>(value, next.apply(value));
+				case ">=" -> new Range<>(value, null);
+				case ">" -> new Range<>(next.apply(value), null);
+				case "<" -> new Range<>(null, value);
+				default -> new Range<>(null, next.apply(value)); // <=
+			};
+		}
+
+		Range<T> and(Range<T> other) {
+			return new Range<>(pick(lower, other.lower, 1), pick(upper, other.upper, -1));
+		}
+
+		/** The tighter of two bounds: the larger lower bound when {@code sign} is 1, the smaller upper one at -1. */
+		private static <T extends Comparable<? super T>> T pick(T first, T second, int sign) {
+			if (Objects.isNull(first) || Objects.isNull(second)) {
+				return Objects.isNull(first) ? second : first;
+			}
+			return Integer.signum(first.compareTo(second)) == sign ? first : second;
+		}
+	}
+
+	private static final class Builder {
+		private String accountNumber;
+		private TransactionType type;
+		private Long limit;
+		private Range<Money> amount = Range.unbounded();
+		private Range<LocalDateTime> time = Range.unbounded();
+		private Range<Long> sequence = Range.unbounded();
+
+		TransactionQuery build() {
+			return new TransactionQuery(accountNumber, type, amount.lower(), amount.upper(), time.lower(), time.upper(),
+					sequence.lower(), sequence.upper(), Objects.isNull(limit) ? TransactionQuery.NO_LIMIT : limit);
+		}
+	}
+}
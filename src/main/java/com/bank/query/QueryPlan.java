@@ -0,0 +1,34 @@
+package com.bank.query;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The access path chosen for a query, with the estimated cost of every path that was considered.
+ * Costs are relative: 1.0 is one thread reading every transaction in the store.
+ */
+public record QueryPlan(TransactionQuery query, AccessPath accessPath, Map<AccessPath, Double> costs) {
+
+	private static final String COST_FORMAT = "  %-16s %.4f%s%n";
+	private static final String CHOSEN_MARKER = "  <- chosen";
+
+	public QueryPlan {
+		costs = Map.copyOf(costs);
+	}
+
+	/** A human-readable account of the plan, one path per line in the order they were considered. */
+	public String explain() {
+		StringBuilder explanation = new StringBuilder()
+				.append("Query: ").append(query).append(System.lineSeparator())
+				.append("Access path: ").append(accessPath).append(System.lineSeparator())
+				.append("Estimated costs (1.0 = one thread scanning every transaction):").append(System.lineSeparator());
+		for (AccessPath path : AccessPath.values()) {
+			Double cost = costs.get(path);
+			if (Objects.nonNull(cost)) {
+				explanation.append(String.format(Locale.ROOT, COST_FORMAT, path, cost, path == accessPath ? CHOSEN_MARKER : ""));
+			}
+		}
+		return explanation.toString();
+	}
+}
@@ -0,0 +1,120 @@
+package com.bank.query;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.TransactionIndex;
+import com.bank.repository.TransactionRepository;
+
+/**
+ * Chooses how to answer a {@link TransactionQuery} from the indexes the store reports, and runs it.
+ * <p>
+ * The store keeps no statistics, so each path's cost comes from fixed selectivity guesses: an account
+ * holds a tiny share of all transactions, a range bounded on both sides a small share, a range bounded on
+ * one side about a third. Reading through an index costs twice as much per row as a sequential scan, and
+ * a scan is split across the available threads. The cheapest path wins. Whatever it reads, every
+ * condition is checked again, so the choice changes speed but never results.
+ */
+public class QueryPlanner {
+
+	private static final String REPOSITORY_NULL_ERROR = "Transaction repository cannot be null";
+	private static final String PARALLELISM_ERROR = "Scan parallelism must be positive";
+
+	private static final double ACCOUNT_SELECTIVITY = 0.001;
+	private static final double BOUNDED_RANGE_SELECTIVITY = 0.05;
+	private static final double OPEN_RANGE_SELECTIVITY = 0.33;
+	private static final double INDEX_ROW_COST = 2.0;
+	private static final double SCAN_ROW_COST = 1.0;
+
+	private final TransactionRepository repository;
+	private final int scanParallelism;
+
+	public QueryPlanner(TransactionRepository repository) {
+		this(repository, ForkJoinPool.getCommonPoolParallelism() + 1); // Parallel streams also use the caller
+	}
+
+	/**
+	 * @param scanParallelism how many threads a parallel scan is expected to use
+	 */
+	public QueryPlanner(TransactionRepository repository, int scanParallelism) {
+		if (Objects.isNull(repository)) {
+			throw new IllegalArgumentException(REPOSITORY_NULL_ERROR);
+		}
+		if (scanParallelism <= 0) {
+			throw new IllegalArgumentException(PARALLELISM_ERROR);
+		}
+		this.repository = repository;
+		this.scanParallelism = scanParallelism;
+	}
+
+	public QueryPlan plan(TransactionQuery query) {
+		Set<TransactionIndex> indexes = repository.availableIndexes();
+		Map<AccessPath, Double> costs = new EnumMap<>(AccessPath.class);
+		if (Objects.nonNull(query.accountNumber()) && indexes.contains(TransactionIndex.ACCOUNT)) {
+			costs.put(AccessPath.ACCOUNT_HISTORY,
+					INDEX_ROW_COST * ACCOUNT_SELECTIVITY * rangeSelectivity(query.from(), query.to()));
+		}
+		if (query.hasTimeRange() && indexes.contains(TransactionIndex.TIME)) {
+			costs.put(AccessPath.TIME_INDEX, INDEX_ROW_COST * rangeSelectivity(query.from(), query.to()));
+		}
+		if (query.hasAmountRange() && indexes.contains(TransactionIndex.AMOUNT)) {
+			double typeSelectivity = Objects.isNull(query.type()) ? 1.0 : 1.0 / TransactionType.values().length;
+			costs.put(AccessPath.AMOUNT_INDEX,
+					INDEX_ROW_COST * typeSelectivity * rangeSelectivity(query.minAmount(), query.maxAmount()));
+		}
+		if (query.hasSequenceRange() && indexes.contains(TransactionIndex.SEQUENCE)) {
+			costs.put(AccessPath.SEQUENCE_LOG,
+					INDEX_ROW_COST * rangeSelectivity(query.minSequence(), query.maxSequence()));
+		}
+		costs.put(AccessPath.PARALLEL_SCAN, SCAN_ROW_COST / scanParallelism);
+
+		AccessPath cheapest = AccessPath.PARALLEL_SCAN;
+		for (Map.Entry<AccessPath, Double> candidate : costs.entrySet()) {
+			if (candidate.getValue() < costs.get(cheapest)) {
+				cheapest = candidate.getKey();
+			}
+		}
+		return new QueryPlan(query, cheapest, costs);
+	}
+
+	/**
+	 * Lazily streams the transactions matching the plan's query, in the order its access path reads them.
+	 * A parallel scan yields them in no particular order.
+	 */
+	public Stream<Transaction> execute(QueryPlan plan) {
+		TransactionQuery query = plan.query();
+		Stream<Transaction> candidates = switch (plan.accessPath()) {
+			case ACCOUNT_HISTORY -> repository.streamByAccountNumber(query.accountNumber(), query.from(), query.to());
+			case TIME_INDEX -> repository.streamRange(query.from(), query.to());
+			case AMOUNT_INDEX -> Objects.nonNull(query.type())
+					? repository.streamByAmount(query.type(), query.minAmount(), query.maxAmount())
+					: Arrays.stream(TransactionType.values())
+							.flatMap(type -> repository.streamByAmount(type, query.minAmount(), query.maxAmount()));
+			case SEQUENCE_LOG -> fromSequenceLog(query);
+			case PARALLEL_SCAN -> repository.streamAll().parallel();
+		};
+		return candidates.filter(query::matches).limit(query.limit());
+	}
+
+	private Stream<Transaction> fromSequenceLog(TransactionQuery query) {
+		Long minSequence = query.minSequence();
+		long afterSequence = Objects.isNull(minSequence) || minSequence <= 1 ? Transaction.UNSEQUENCED : minSequence - 1;
+		Stream<Transaction> feed = repository.streamSince(afterSequence);
+		Long maxSequence = query.maxSequence();
+		return Objects.isNull(maxSequence) ? feed : feed.takeWhile(transaction -> transaction.sequence() < maxSequence);
+	}
+
+	private static double rangeSelectivity(Object lower, Object upper) {
+		if (Objects.nonNull(lower) && Objects.nonNull(upper)) {
+			return BOUNDED_RANGE_SELECTIVITY;
+		}
+		return Objects.isNull(lower) && Objects.isNull(upper) ? 1.0 : OPEN_RANGE_SELECTIVITY;
+	}
+}
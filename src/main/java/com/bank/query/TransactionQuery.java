@@ -0,0 +1,69 @@
+package com.bank.query;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+
+/**
+ * A conjunction of conditions on {@link Transaction} fields. Every range is half-open, {@code [min, max)},
+ * and a {@code null} field places no condition. Build one with {@link QueryParser}.
+ * @param minSequence lowest matching sequence number, inclusive
+ * @param maxSequence sequence number past the last match, exclusive
+ * @param limit how many matches to return at most, or {@link #NO_LIMIT}
+ */
+public record TransactionQuery(String accountNumber, TransactionType type, Money minAmount, Money maxAmount,
+		LocalDateTime from, LocalDateTime to, Long minSequence, Long maxSequence, long limit) {
+
+	public static final long NO_LIMIT = Long.MAX_VALUE;
+
+	public boolean matches(Transaction transaction) {
+		return (Objects.isNull(accountNumber) || accountNumber.equals(transaction.accountNumber()))
+				&& (Objects.isNull(type) || type == transaction.type())
+				&& (Objects.isNull(minAmount) || !transaction.amount().isLessThan(minAmount))
+				&& (Objects.isNull(maxAmount) || transaction.amount().isLessThan(maxAmount))
+				&& (Objects.isNull(from) || !transaction.timestamp().isBefore(from))
+				&& (Objects.isNull(to) || transaction.timestamp().isBefore(to))
+				&& (Objects.isNull(minSequence) || transaction.sequence() >= minSequence)
+				&& (Objects.isNull(maxSequence) || transaction.sequence() < maxSequence);
+	}
+
+	public boolean hasAmountRange() {
+		return Objects.nonNull(minAmount) || Objects.nonNull(maxAmount);
+	}
+
+	public boolean hasTimeRange() {
+		return Objects.nonNull(from) || Objects.nonNull(to);
+	}
+
+	public boolean hasSequenceRange() {
+		return Objects.nonNull(minSequence) || Objects.nonNull(maxSequence);
+	}
+
+	/** The conditions in the canonical half-open form the query is evaluated in. */
+	@Override
+	public String toString() {
+		StringJoiner conditions = new StringJoiner(" ");
+		append(conditions, "account=", accountNumber);
+		append(conditions, "type=", type);
+		append(conditions, "amount>=", minAmount);
+		append(conditions, "amount<", maxAmount);
+		append(conditions, "time>=", from);
+		append(conditions, "time<", to);
+		append(conditions, "seq>=", minSequence);
+		append(conditions, "seq<", maxSequence);
+		if (limit != NO_LIMIT) {
+			conditions.add("limit=" + limit);
+		}
+		return conditions.length() == 0 ? "(all transactions)" : conditions.toString();
+	}
+
+	private static void append(StringJoiner conditions, String condition, Object value) {
+		if (Objects.nonNull(value)) {
+			conditions.add(condition + value);
+		}
+	}
+}
@@ -2,6 +2,7 @@ package com.bank.repository;
 
 import java.util.Optional;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import com.bank.model.Account;
 
@@ -18,4 +19,17 @@ public interface AccountRepository {
 	boolean exists(String accountNumber);
 
 	int count();
+
+	/**
+	 * Lazily streams every account without copying the store. The stream is backed by a
+	 * splittable spliterator, so {@code streamAll().parallel()} fans out across cores.
+	 * Accounts saved while the stream is being consumed may or may not be reported.
+	 */
+	Stream<Account> streamAll();
+
+	/**
+	 * Lazily streams the accounts whose number lies in {@code [fromInclusive, toExclusive)},
+	 * compared as strings. A {@code null} bound is unbounded. No ordering is guaranteed.
+	 */
+	Stream<Account> streamRange(String fromInclusive, String toExclusive);
 }
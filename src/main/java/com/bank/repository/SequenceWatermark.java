@@ -0,0 +1,80 @@
+package com.bank.repository;
+
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Hands out transaction sequence numbers and tracks the highest one below which every number has been
+ * completed. Saves finish out of order across accounts, so a reader that only follows completed numbers
+ * could skip one still in flight; following the watermark instead guarantees a cursor never passes a
+ * transaction it has not seen.
+ * <p>
+ * Completions are flagged in a ring indexed by sequence number, and any completing thread moves the
+ * watermark across the flagged run with a compare-and-set, so the common case takes no lock and boxes
+ * nothing. A number completed more than {@value #RING_SIZE} ahead of the watermark cannot take its ring
+ * slot yet; only then is the monitor taken, to park it in an overflow set until the gap closes.
+ */
+public final class SequenceWatermark {
+
+	private static final int RING_SIZE = 1 << 12;
+	private static final int RING_MASK = RING_SIZE - 1;
+
+	private final AtomicLong lastAllocated = new AtomicLong();
+	private final AtomicLong watermark = new AtomicLong();
+	private final AtomicLongArray completed = new AtomicLongArray(RING_SIZE); // Slot holds the number completed in it
+	private final TreeSet<Long> overflow = new TreeSet<>(); // Guarded by this
+	private volatile boolean overflowed;
+
+	/** Returns the next sequence number, starting at 1. */
+	public long allocate() {
+		return lastAllocated.incrementAndGet();
+	}
+
+	/**
+	 * Marks a number as finished, whether or not its save succeeded; a number that is never completed
+	 * holds the watermark back for good.
+	 */
+	public void complete(long sequence) {
+		if (sequence - watermark.get() > RING_SIZE) { // Its slot still belongs to a number not yet passed
+			synchronized (this) {
+				overflow.add(sequence);
+				overflowed = true;
+			}
+		} else {
+			completed.set(slot(sequence), sequence);
+		}
+		advance();
+	}
+
+	/** Every sequence number at or below this has been completed. */
+	public long watermark() {
+		return watermark.get();
+	}
+
+	private void advance() {
+		do {
+			long current;
+			while (completed.get(slot((current = watermark.get()) + 1)) == current + 1) {
+				watermark.compareAndSet(current, current + 1);
+			}
+		} while (overflowed && drainOverflow()); // Set before an overflowing thread re-reads the watermark
+	}
+
+	/** Moves the overflowed numbers that now fit into the ring; true if any moved. */
+	private synchronized boolean drainOverflow() {
+		long limit = watermark.get() + RING_SIZE;
+		boolean moved = false;
+		while (!overflow.isEmpty() && overflow.first() <= limit) {
+			long sequence = overflow.pollFirst();
+			completed.set(slot(sequence), sequence);
+			moved = true;
+		}
+		overflowed = !overflow.isEmpty();
+		return moved;
+	}
+
+	private static int slot(long sequence) {
+		return (int) (sequence & RING_MASK);
+	}
+}
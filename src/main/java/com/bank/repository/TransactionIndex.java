@@ -0,0 +1,19 @@
+package com.bank.repository;
+
+/**
+ * Access paths a {@link TransactionRepository} can serve without scanning the whole store, reported by
+ * {@link TransactionRepository#availableIndexes()} so a query planner can choose among them.
+ */
+public enum TransactionIndex {
+	/** {@link TransactionRepository#streamByAccountNumber} reads only the account's own history. */
+	ACCOUNT,
+	/** {@link TransactionRepository#streamRange} seeks to the start of a time range. */
+	TIME,
+	/** {@link TransactionRepository#streamByAmount} seeks to the start of an amount range. */
+	AMOUNT,
+	/**
+	 * {@link TransactionRepository#streamSince} starts at a sequence number without scanning earlier ones,
+	 * and {@link TransactionRepository#findBySequence} seeks straight to one.
+	 */
+	SEQUENCE
+}
@@ -1,11 +1,149 @@
 package com.bank.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.bank.model.Money;
 import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
 
 public interface TransactionRepository {
+
+	/** Orders transactions by amount, then by sequence number. */
+	Comparator<Transaction> BY_AMOUNT = Comparator.comparing(Transaction::amount)
+			.thenComparingLong(Transaction::sequence);
+
+	/**
+	 * Records a transaction and assigns it the next global sequence number.
+	 * @return the transaction as stored, carrying its sequence number
+	 */
 	Transaction save(Transaction transaction);
+
 	List<Transaction> findByAccountNumber(String accountNumber, int limit);
 
+	/**
+	 * Lazily streams a single account's transactions oldest first, without building a list
+	 * of the whole history.
+	 */
+	Stream<Transaction> streamByAccountNumber(String accountNumber);
+
+	/**
+	 * Streams a single account's transactions with a timestamp in {@code [fromInclusive, toExclusive)},
+	 * oldest first. A {@code null} bound is unbounded. This default stops reading at the first transaction
+	 * past the range; stores with a time index should also seek to its start.
+	 */
+	default Stream<Transaction> streamByAccountNumber(String accountNumber, LocalDateTime fromInclusive,
+			LocalDateTime toExclusive) {
+		Stream<Transaction> history = streamByAccountNumber(accountNumber);
+		if (Objects.nonNull(fromInclusive)) {
+			history = history.dropWhile(transaction -> transaction.timestamp().isBefore(fromInclusive));
+		}
+		return Objects.isNull(toExclusive)
+				? history
+				: history.takeWhile(transaction -> transaction.timestamp().isBefore(toExclusive));
+	}
+
+	/**
+	 * Streams a single account's transactions with a sequence number below {@code beforeSequence}, most
+	 * recent first. Passing the sequence of the last transaction a caller saw continues where it left off;
+	 * {@code Long.MAX_VALUE} starts from the newest. This default buffers the account's history to reverse
+	 * it; stores that can walk a history backwards should override it.
+	 */
+	default Stream<Transaction> streamNewestFirst(String accountNumber, long beforeSequence) {
+		List<Transaction> older;
+		try (Stream<Transaction> history = streamByAccountNumber(accountNumber)) {
+			older = history.filter(transaction -> transaction.sequence() < beforeSequence)
+					.collect(Collectors.toList());
+		}
+		Collections.reverse(older);
+		return older.stream();
+	}
+
+	/**
+	 * Lazily streams every recorded transaction without copying the store. The stream is
+	 * splittable, so {@code streamAll().parallel()} fans out across cores.
+	 */
+	Stream<Transaction> streamAll();
+
+	/**
+	 * Lazily streams the transactions whose timestamp lies in {@code [fromInclusive, toExclusive)}.
+	 * A {@code null} bound is unbounded. No ordering is guaranteed.
+	 */
+	Stream<Transaction> streamRange(LocalDateTime fromInclusive, LocalDateTime toExclusive);
+
+	/**
+	 * Lazily streams every transaction with a sequence number greater than {@code afterSequence}, in
+	 * sequence order. The stream stops at the highest number below which every save has completed, so a
+	 * consumer that resumes from the last sequence it saw never skips a transaction that was still being
+	 * saved. Pass {@link Transaction#UNSEQUENCED} to start from the beginning.
+	 */
+	Stream<Transaction> streamSince(long afterSequence);
+
+	/**
+	 * Finds the transaction saved under {@code sequence}. Unlike {@link #streamSince}, this does not stop
+	 * at the watermark: a save that has returned is found even while a lower number is still being saved.
+	 * This default reads the feed, so it misses such a save and costs a pass over the feed; stores that
+	 * report {@link TransactionIndex#SEQUENCE} override it with a direct seek.
+	 */
+	default Optional<Transaction> findBySequence(long sequence) {
+		try (Stream<Transaction> feed = streamSince(sequence - 1)) {
+			return feed.findFirst().filter(transaction -> transaction.sequence() == sequence);
+		}
+	}
+
+	/**
+	 * Streams the transactions of one type with an amount in {@code [minInclusive, maxExclusive)}, smallest
+	 * first and in save order among equal amounts. A {@code null} bound is unbounded. This default scans and
+	 * sorts every transaction; stores or decorators with an amount index should override it.
+	 */
+	default Stream<Transaction> streamByAmount(TransactionType type, Money minInclusive, Money maxExclusive) {
+		return streamAll()
+				.filter(transaction -> transaction.type() == type
+						&& (Objects.isNull(minInclusive) || !transaction.amount().isLessThan(minInclusive))
+						&& (Objects.isNull(maxExclusive) || transaction.amount().isLessThan(maxExclusive)))
+				.sorted(BY_AMOUNT);
+	}
+
+	/**
+	 * Finds up to {@code limit} transactions of one type with the largest amounts, largest first and most
+	 * recent first among equal amounts. This default scans every transaction.
+	 */
+	default List<Transaction> findLargest(TransactionType type, int limit) {
+		if (limit <= 0) {
+			return List.of();
+		}
+		return streamAll()
+				.filter(transaction -> transaction.type() == type)
+				.sorted(BY_AMOUNT.reversed())
+				.limit(limit)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * The access paths this store serves without a full scan. Every store keeps histories per account;
+	 * stores with further indexes should add them.
+	 */
+	default Set<TransactionIndex> availableIndexes() {
+		return EnumSet.of(TransactionIndex.ACCOUNT);
+	}
+
+	/**
+	 * Finds the account's last transaction with a timestamp at or before {@code asOf}; its
+	 * {@code afterAmount} is the balance at that instant. Relies on each account's transactions being
+	 * recorded in time order. This default scans the history; stores with an index should override it.
+	 */
+	default Optional<Transaction> findLatestAt(String accountNumber, LocalDateTime asOf) {
+		try (Stream<Transaction> history = streamByAccountNumber(accountNumber)) {
+			return history.takeWhile(transaction -> !transaction.timestamp().isAfter(asOf))
+					.reduce((earlier, later) -> later);
+		}
+	}
 }
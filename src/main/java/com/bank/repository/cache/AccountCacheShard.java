@@ -0,0 +1,73 @@
+package com.bank.repository.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.bank.model.Account;
+
+/**
+ * One independently locked slice of the cache. Both segments are access-ordered, so their eldest entry is
+ * always the least recently used one and every operation is O(1). Under plain LRU only the probation segment
+ * is used.
+ */
+final class AccountCacheShard {
+
+	private static final int PROTECTED_PERCENT = 80;
+
+	private final int capacity;
+	private final int protectedCapacity;
+	private final LinkedHashMap<String, Account> probation = new LinkedHashMap<>(16, 0.75f, true);
+	private final LinkedHashMap<String, Account> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+	AccountCacheShard(int capacity, EvictionPolicy policy) {
+		this.capacity = capacity;
+		this.protectedCapacity = policy == EvictionPolicy.SEGMENTED_LRU ? capacity * PROTECTED_PERCENT / 100 : 0;
+	}
+
+	synchronized Account get(String accountNumber) {
+		Account account = protectedSegment.get(accountNumber);
+		if (Objects.nonNull(account)) {
+			return account;
+		}
+		account = probation.get(accountNumber);
+		if (Objects.nonNull(account) && protectedCapacity > 0) {
+			probation.remove(accountNumber);
+			protectedSegment.put(accountNumber, account);
+			demoteOverflow();
+		}
+		return account;
+	}
+
+	/** Inserts or replaces an entry and returns how many entries had to be evicted to make room. */
+	synchronized int put(String accountNumber, Account account) {
+		if (protectedSegment.containsKey(accountNumber)) {
+			protectedSegment.put(accountNumber, account);
+			return 0;
+		}
+		probation.put(accountNumber, account);
+		int evicted = 0;
+		while (probation.size() + protectedSegment.size() > capacity) {
+			Map<String, Account> victims = probation.isEmpty() ? protectedSegment : probation;
+			Iterator<String> eldest = victims.keySet().iterator();
+			eldest.next();
+			eldest.remove();
+			evicted++;
+		}
+		return evicted;
+	}
+
+	synchronized int size() {
+		return probation.size() + protectedSegment.size();
+	}
+
+	private void demoteOverflow() {
+		while (protectedSegment.size() > protectedCapacity) {
+			Iterator<Map.Entry<String, Account>> eldest = protectedSegment.entrySet().iterator();
+			Map.Entry<String, Account> demoted = eldest.next();
+			eldest.remove();
+			probation.put(demoted.getKey(), demoted.getValue());
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.bank.repository.cache;
+
+/**
+ * Snapshot of a {@link CachingAccountRepository}'s counters.
+ * @param flushFailures write-behind flushes stopped by a failing backing save; their writes stay pending
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount, long size, long pendingWrites,
+		long flushFailures) {
+
+	public double hitRate() {
+		long requests = hitCount + missCount;
+		return requests == 0 ? 1.0 : (double) hitCount / requests;
+	}
+}
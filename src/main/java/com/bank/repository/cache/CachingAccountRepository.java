@@ -0,0 +1,260 @@
+package com.bank.repository.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.model.Account;
+import com.bank.repository.AccountRepository;
+
+/**
+ * Read-through cache in front of a slow {@link AccountRepository}, e.g. one backed by disk or a remote store.
+ * <p>
+ * Entries are spread over independently locked shards, each bounded and evicting by the configured
+ * {@link EvictionPolicy}. Every interaction with the backing repository for an account happens under that
+ * account's lock stripe, so a load can never overwrite a newer update in the cache and {@link #update} stays
+ * coherent. Cache hits only take the shard lock.
+ * <p>
+ * In {@link WriteMode#WRITE_BEHIND} mode updated accounts are held in a pending map until the background
+ * flusher writes them, and reads consult that map first, so callers always see their own writes even if
+ * the entry has been evicted in the meantime.
+ */
+public class CachingAccountRepository implements AccountRepository, AutoCloseable {
+
+	private static final String ACCOUNT_NOT_FOUND_ERROR = "Account not found: ";
+	private static final String DELEGATE_NULL_ERROR = "Backing repository cannot be null";
+	private static final String MAXIMUM_SIZE_ERROR = "Maximum size must be positive";
+	private static final String POLICY_NULL_ERROR = "Eviction policy and write mode cannot be null";
+	private static final String FLUSH_INTERVAL_ERROR = "Flush interval must be positive for write-behind";
+	private static final String FLUSHER_THREAD_NAME = "account-cache-flusher";
+
+	private static final int SHARD_COUNT = 16;
+	private static final int LOCK_STRIPES = 256;
+
+	private final AccountRepository delegate;
+	private final WriteMode writeMode;
+	private final AccountCacheShard[] shards = new AccountCacheShard[SHARD_COUNT];
+	private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+	private final ConcurrentHashMap<String, Account> pendingWrites = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService flusher;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder flushFailures = new LongAdder();
+
+	public CachingAccountRepository(AccountRepository delegate, int maximumSize, EvictionPolicy policy) {
+		this(delegate, maximumSize, policy, WriteMode.WRITE_THROUGH, null);
+	}
+
+	/**
+	 * @param flushInterval how often pending writes are flushed; only used, and then required, for write-behind
+	 */
+	public CachingAccountRepository(AccountRepository delegate, int maximumSize, EvictionPolicy policy,
+			WriteMode writeMode, Duration flushInterval) {
+		if (Objects.isNull(delegate)) {
+			throw new IllegalArgumentException(DELEGATE_NULL_ERROR);
+		}
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException(MAXIMUM_SIZE_ERROR);
+		}
+		if (Objects.isNull(policy) || Objects.isNull(writeMode)) {
+			throw new IllegalArgumentException(POLICY_NULL_ERROR);
+		}
+		boolean writeBehind = writeMode == WriteMode.WRITE_BEHIND;
+		if (writeBehind && (Objects.isNull(flushInterval) || flushInterval.isNegative() || flushInterval.isZero())) {
+			throw new IllegalArgumentException(FLUSH_INTERVAL_ERROR);
+		}
+		this.delegate = delegate;
+		this.writeMode = writeMode;
+		int shardCapacity = Math.max(1, (maximumSize + SHARD_COUNT - 1) / SHARD_COUNT);
+		for (int i = 0; i < SHARD_COUNT; i++) {
+			shards[i] = new AccountCacheShard(shardCapacity, policy);
+		}
+		for (int i = 0; i < LOCK_STRIPES; i++) {
+			stripes[i] = new ReentrantLock();
+		}
+		if (writeBehind) {
+			this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, FLUSHER_THREAD_NAME);
+				thread.setDaemon(true);
+				return thread;
+			});
+			long millis = flushInterval.toMillis();
+			flusher.scheduleWithFixedDelay(() -> {
+				try {
+					flush();
+				} catch (RuntimeException e) {
+					// Counted by flush; an exception escaping here would cancel every later flush
+				}
+			}, millis, millis, TimeUnit.MILLISECONDS);
+		} else {
+			this.flusher = null;
+		}
+	}
+
+	@Override
+	public Optional<Account> findByNumber(String accountNumber) {
+		Account cached = shardFor(accountNumber).get(accountNumber);
+		if (Objects.nonNull(cached)) {
+			hits.increment();
+			return Optional.of(cached);
+		}
+		misses.increment();
+		ReentrantLock lock = stripeFor(accountNumber);
+		lock.lock();
+		try {
+			return Optional.ofNullable(load(accountNumber));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Account save(Account account) {
+		String accountNumber = account.getAccountNumber();
+		ReentrantLock lock = stripeFor(accountNumber);
+		lock.lock();
+		try {
+			Account saved = delegate.save(account);
+			pendingWrites.remove(accountNumber);
+			cache(accountNumber, saved);
+			return saved;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Account update(String accountNumber, UnaryOperator<Account> mutator) {
+		ReentrantLock lock = stripeFor(accountNumber);
+		lock.lock();
+		try {
+			Account updated;
+			if (writeMode == WriteMode.WRITE_THROUGH) {
+				updated = delegate.update(accountNumber, mutator);
+			} else {
+				Account current = load(accountNumber);
+				if (Objects.isNull(current)) {
+					throw new AccountNotFoundException(ACCOUNT_NOT_FOUND_ERROR + accountNumber);
+				}
+				updated = mutator.apply(current);
+				pendingWrites.put(accountNumber, updated);
+			}
+			cache(accountNumber, updated);
+			return updated;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean exists(String accountNumber) {
+		return Objects.nonNull(shardFor(accountNumber).get(accountNumber))
+				|| pendingWrites.containsKey(accountNumber)
+				|| delegate.exists(accountNumber);
+	}
+
+	@Override
+	public int count() {
+		return delegate.count();
+	}
+
+	/** Scans the backing repository, overlaying updates that have not been flushed yet. */
+	@Override
+	public Stream<Account> streamAll() {
+		return delegate.streamAll().map(this::withPendingWrite);
+	}
+
+	@Override
+	public Stream<Account> streamRange(String fromInclusive, String toExclusive) {
+		return delegate.streamRange(fromInclusive, toExclusive).map(this::withPendingWrite);
+	}
+
+	/**
+	 * Writes every pending update to the backing repository. Called periodically in write-behind mode;
+	 * safe to call at any time. An update leaves the pending map only once the backing save returns, so
+	 * a save that throws stops the flush, is counted in {@link CacheStats#flushFailures()}, and leaves that
+	 * update and the rest pending for the next flush.
+	 */
+	public void flush() {
+		for (String accountNumber : pendingWrites.keySet()) {
+			ReentrantLock lock = stripeFor(accountNumber);
+			lock.lock();
+			try {
+				Account pending = pendingWrites.get(accountNumber);
+				if (Objects.nonNull(pending)) {
+					delegate.save(pending);
+					pendingWrites.remove(accountNumber);
+				}
+			} catch (RuntimeException e) {
+				flushFailures.increment();
+				throw e;
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	public CacheStats getStats() {
+		long size = 0;
+		for (AccountCacheShard shard : shards) {
+			size += shard.size();
+		}
+		return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size, pendingWrites.size(),
+				flushFailures.sum());
+	}
+
+	/** Stops the background flusher and writes any pending updates. */
+	@Override
+	public void close() {
+		if (Objects.nonNull(flusher)) {
+			flusher.shutdown();
+		}
+		flush();
+	}
+
+	/** Must be called while holding the account's stripe lock. */
+	private Account load(String accountNumber) {
+		Account account = shardFor(accountNumber).get(accountNumber);
+		if (Objects.isNull(account)) {
+			account = pendingWrites.get(accountNumber);
+		}
+		if (Objects.isNull(account)) {
+			account = delegate.findByNumber(accountNumber).orElse(null);
+		}
+		if (Objects.nonNull(account)) {
+			cache(accountNumber, account);
+		}
+		return account;
+	}
+
+	private void cache(String accountNumber, Account account) {
+		evictions.add(shardFor(accountNumber).put(accountNumber, account));
+	}
+
+	private Account withPendingWrite(Account account) {
+		return pendingWrites.getOrDefault(account.getAccountNumber(), account);
+	}
+
+	private AccountCacheShard shardFor(String accountNumber) {
+		return shards[Math.floorMod(spread(accountNumber.hashCode()), SHARD_COUNT)];
+	}
+
+	private ReentrantLock stripeFor(String accountNumber) {
+		return stripes[Math.floorMod(spread(accountNumber.hashCode()) >>> 4, LOCK_STRIPES)];
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,14 @@
+package com.bank.repository.cache;
+
+/**
+ * How {@link CachingAccountRepository} picks the entry to evict when it is full.
+ */
+public enum EvictionPolicy {
+	/** Evict the least recently used account. */
+	LRU,
+	/**
+	 * Segmented LRU: new accounts enter a probation segment and are promoted to a protected segment on their
+	 * second hit, so a one-off scan over cold accounts cannot flush the frequently used ones.
+	 */
+	SEGMENTED_LRU
+}
@@ -0,0 +1,14 @@
+package com.bank.repository.cache;
+
+/**
+ * When {@link CachingAccountRepository} propagates updates to the backing repository.
+ */
+public enum WriteMode {
+	/** Every update is applied to the backing repository before it returns. */
+	WRITE_THROUGH,
+	/**
+	 * Updates are applied to the cached account and written to the backing repository in the background.
+	 * New accounts are always written through so that counts and scans see them.
+	 */
+	WRITE_BEHIND
+}
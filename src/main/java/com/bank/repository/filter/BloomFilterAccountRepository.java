@@ -0,0 +1,154 @@
+package com.bank.repository.filter;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.model.Account;
+import com.bank.repository.AccountRepository;
+
+/**
+ * Answers lookups for account numbers that do not exist without reaching the backing repository.
+ * <p>
+ * A {@link ScalableBloomFilter} of every saved account number is consulted first; a negative answer is
+ * definitive, a positive one falls through to the backing repository. The filter is rebuilt from a scan
+ * of the backing repository on a background thread at construction. Until that finishes every lookup goes
+ * to the backing repository, and accounts saved during the rebuild are added directly, so no account is
+ * ever wrongly reported missing.
+ */
+public class BloomFilterAccountRepository implements AccountRepository {
+
+	private static final String ACCOUNT_NOT_FOUND_ERROR = "Account not found: ";
+	private static final String DELEGATE_NULL_ERROR = "Backing repository cannot be null";
+	private static final String REBUILD_THREAD_NAME = "account-filter-rebuild";
+
+	private final AccountRepository delegate;
+	private final ScalableBloomFilter filter;
+	private final CompletableFuture<Void> rebuild;
+	private volatile boolean ready;
+
+	private final LongAdder filteredLookups = new LongAdder();
+	private final LongAdder falsePositives = new LongAdder();
+
+	/**
+	 * @param expectedAccounts initial sizing; the filter grows past it, at some memory cost
+	 * @param falsePositiveRate target false-positive probability for the initial layer, e.g. 0.01
+	 */
+	public BloomFilterAccountRepository(AccountRepository delegate, long expectedAccounts, double falsePositiveRate) {
+		if (Objects.isNull(delegate)) {
+			throw new IllegalArgumentException(DELEGATE_NULL_ERROR);
+		}
+		this.delegate = delegate;
+		this.filter = new ScalableBloomFilter(expectedAccounts, falsePositiveRate);
+		this.rebuild = new CompletableFuture<>();
+		Thread rebuilder = new Thread(this::rebuild, REBUILD_THREAD_NAME);
+		rebuilder.setDaemon(true);
+		rebuilder.start();
+	}
+
+	@Override
+	public Optional<Account> findByNumber(String accountNumber) {
+		if (isDefinitelyAbsent(accountNumber)) {
+			return Optional.empty();
+		}
+		Optional<Account> account = delegate.findByNumber(accountNumber);
+		recordFalsePositive(account.isEmpty());
+		return account;
+	}
+
+	@Override
+	public Account save(Account account) {
+		filter.add(account.getAccountNumber());
+		return delegate.save(account);
+	}
+
+	@Override
+	public Account update(String accountNumber, UnaryOperator<Account> mutator) {
+		if (isDefinitelyAbsent(accountNumber)) {
+			throw new AccountNotFoundException(ACCOUNT_NOT_FOUND_ERROR + accountNumber);
+		}
+		return delegate.update(accountNumber, mutator);
+	}
+
+	@Override
+	public boolean exists(String accountNumber) {
+		if (isDefinitelyAbsent(accountNumber)) {
+			return false;
+		}
+		boolean exists = delegate.exists(accountNumber);
+		recordFalsePositive(!exists);
+		return exists;
+	}
+
+	@Override
+	public int count() {
+		return delegate.count();
+	}
+
+	@Override
+	public Stream<Account> streamAll() {
+		return delegate.streamAll();
+	}
+
+	@Override
+	public Stream<Account> streamRange(String fromInclusive, String toExclusive) {
+		return delegate.streamRange(fromInclusive, toExclusive);
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Waits for the startup rebuild to finish.
+	 * @return true if the filter is ready, false if the timeout elapsed first
+	 * @throws IllegalStateException if the rebuild scan failed
+	 */
+	public boolean awaitReady(Duration timeout) throws InterruptedException {
+		try {
+			rebuild.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+			return true;
+		} catch (TimeoutException e) {
+			return false;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	public BloomFilterStats getStats() {
+		return new BloomFilterStats(ready, filteredLookups.sum(), falsePositives.sum(),
+				filter.estimatedFalsePositiveRate(), filter.layerCount(), filter.bitCount());
+	}
+
+	private void rebuild() {
+		try {
+			delegate.streamAll().parallel().forEach(account -> filter.add(account.getAccountNumber()));
+			ready = true;
+			rebuild.complete(null);
+		} catch (RuntimeException e) {
+			rebuild.completeExceptionally(e);
+		}
+	}
+
+	private boolean isDefinitelyAbsent(String accountNumber) {
+		if (ready && !filter.mightContain(accountNumber)) {
+			filteredLookups.increment();
+			return true;
+		}
+		return false;
+	}
+
+	private void recordFalsePositive(boolean missing) {
+		if (ready && missing) {
+			falsePositives.increment();
+		}
+	}
+}
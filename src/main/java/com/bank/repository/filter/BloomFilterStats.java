@@ -0,0 +1,15 @@
+package com.bank.repository.filter;
+
+/**
+ * Snapshot of a {@link BloomFilterAccountRepository}'s filter.
+ *
+ * @param ready whether the startup rebuild has finished and the filter is answering lookups
+ * @param filteredLookups lookups answered "absent" without touching the backing repository
+ * @param falsePositives lookups the filter passed through that the backing repository then did not find
+ * @param estimatedFalsePositiveRate false-positive probability estimated from the filter's current fill
+ * @param layers number of filter layers, which grows as accounts are added beyond the initial sizing
+ * @param bits total bits allocated across layers
+ */
+public record BloomFilterStats(boolean ready, long filteredLookups, long falsePositives,
+		double estimatedFalsePositiveRate, int layers, long bits) {
+}
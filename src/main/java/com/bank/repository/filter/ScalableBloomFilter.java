@@ -0,0 +1,167 @@
+package com.bank.repository.filter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free scalable Bloom filter over strings (Almeida et al.). It starts with one layer sized for the
+ * expected number of keys; when a layer is full a new one twice as large with half the false-positive
+ * target is stacked on top, so the compound false-positive rate stays below twice the initial target
+ * however many keys arrive. Keys can be added concurrently with lookups; they are never removed.
+ */
+final class ScalableBloomFilter {
+
+	private static final String EXPECTED_KEYS_ERROR = "Expected keys must be positive";
+	private static final String FALSE_POSITIVE_RATE_ERROR = "False-positive rate must be between 0 and 1";
+	private static final int GROWTH_FACTOR = 2;
+	private static final double TIGHTENING_RATIO = 0.5;
+
+	private final List<Layer> layers = new CopyOnWriteArrayList<>();
+
+	ScalableBloomFilter(long expectedKeys, double falsePositiveRate) {
+		if (expectedKeys <= 0) {
+			throw new IllegalArgumentException(EXPECTED_KEYS_ERROR);
+		}
+		if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+			throw new IllegalArgumentException(FALSE_POSITIVE_RATE_ERROR);
+		}
+		layers.add(new Layer(expectedKeys, falsePositiveRate));
+	}
+
+	void add(String key) {
+		long hash = hash(key);
+		if (mightContain(hash)) {
+			return;
+		}
+		currentLayer().add(hash);
+	}
+
+	boolean mightContain(String key) {
+		return mightContain(hash(key));
+	}
+
+	/** Estimated probability that a key never added is reported as present, from the layers' actual fill. */
+	double estimatedFalsePositiveRate() {
+		double allLayersMiss = 1.0;
+		for (Layer layer : layers) {
+			allLayersMiss *= 1.0 - layer.estimatedFalsePositiveRate();
+		}
+		return 1.0 - allLayersMiss;
+	}
+
+	int layerCount() {
+		return layers.size();
+	}
+
+	long bitCount() {
+		long bits = 0;
+		for (Layer layer : layers) {
+			bits += layer.bitCount;
+		}
+		return bits;
+	}
+
+	private boolean mightContain(long hash) {
+		for (Layer layer : layers) {
+			if (layer.mightContain(hash)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Layer currentLayer() {
+		Layer current = layers.get(layers.size() - 1);
+		if (current.insertions.get() < current.capacity) {
+			return current;
+		}
+		synchronized (layers) {
+			current = layers.get(layers.size() - 1);
+			if (current.insertions.get() >= current.capacity) {
+				current = new Layer(current.capacity * GROWTH_FACTOR, current.falsePositiveRate * TIGHTENING_RATIO);
+				layers.add(current);
+			}
+			return current;
+		}
+	}
+
+	/** 64-bit FNV-1a over the characters, finished with the MurmurHash3 fmix64 avalanche. */
+	private static long hash(String key) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < key.length(); i++) {
+			hash ^= key.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return mix(hash);
+	}
+
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+
+	private static final class Layer {
+
+		private final long capacity;
+		private final double falsePositiveRate;
+		private final long bitCount;
+		private final int hashCount;
+		private final AtomicLongArray words;
+		private final AtomicLong insertions = new AtomicLong();
+
+		Layer(long capacity, double falsePositiveRate) {
+			this.capacity = capacity;
+			this.falsePositiveRate = falsePositiveRate;
+			double ln2 = Math.log(2);
+			long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+			int wordCount = (int) Math.max(1, (optimalBits + 63) / 64);
+			this.bitCount = wordCount * 64L;
+			this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+			this.words = new AtomicLongArray(wordCount);
+		}
+
+		void add(long hash) {
+			long h1 = hash;
+			long h2 = mix(hash) | 1;
+			for (int i = 0; i < hashCount; i++) {
+				setBit(Math.floorMod(h1 + i * h2, bitCount));
+			}
+			insertions.incrementAndGet();
+		}
+
+		boolean mightContain(long hash) {
+			long h1 = hash;
+			long h2 = mix(hash) | 1;
+			for (int i = 0; i < hashCount; i++) {
+				long bit = Math.floorMod(h1 + i * h2, bitCount);
+				if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		double estimatedFalsePositiveRate() {
+			long set = 0;
+			for (int i = 0; i < words.length(); i++) {
+				set += Long.bitCount(words.get(i));
+			}
+			return Math.pow((double) set / bitCount, hashCount);
+		}
+
+		private void setBit(long bit) {
+			int index = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long word = words.get(index);
+			while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+				word = words.get(index);
+			}
+		}
+	}
+}
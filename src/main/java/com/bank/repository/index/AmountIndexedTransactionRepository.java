@@ -0,0 +1,186 @@
+package com.bank.repository.index;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.TransactionIndex;
+import com.bank.repository.TransactionRepository;
+
+/**
+ * Adds an amount index to any transaction store, for queries such as "every withdrawal above $10,000".
+ * <p>
+ * Each {@link TransactionType} has its own skip list of amount in cents and sequence number, kept up on
+ * {@link #save}. A range read seeks to its lower bound and walks only the matches, and a top-K read walks
+ * the largest entries backwards, so neither scans the store. Every other call goes to the backing store.
+ * Transactions already in the backing store are indexed at construction.
+ * <p>
+ * The index holds keys, not transactions, so a compact backing store such as the columnar one keeps its
+ * footprint: each row returned is read back with {@link #findBySequence}, a direct seek. The backing store
+ * must therefore report {@link TransactionIndex#SEQUENCE}; the tiered store, which would have to merge its
+ * tiers for every row, is refused.
+ */
+public class AmountIndexedTransactionRepository implements TransactionRepository {
+
+	private static final String DELEGATE_NULL_ERROR = "Backing repository cannot be null";
+	private static final String TYPE_NULL_ERROR = "Transaction type cannot be null";
+	private static final String SEQUENCE_INDEX_ERROR = "Backing repository must have a sequence index";
+
+	private final TransactionRepository delegate;
+	private final Map<TransactionType, ConcurrentSkipListSet<AmountKey>> indexes =
+			new EnumMap<>(TransactionType.class);
+	private final LongAdder indexed = new LongAdder();
+
+	/**
+	 * @throws IllegalArgumentException if the delegate is null or does not report
+	 * {@link TransactionIndex#SEQUENCE}
+	 */
+	public AmountIndexedTransactionRepository(TransactionRepository delegate) {
+		if (Objects.isNull(delegate)) {
+			throw new IllegalArgumentException(DELEGATE_NULL_ERROR);
+		}
+		if (!delegate.availableIndexes().contains(TransactionIndex.SEQUENCE)) {
+			throw new IllegalArgumentException(SEQUENCE_INDEX_ERROR);
+		}
+		this.delegate = delegate;
+		for (TransactionType type : TransactionType.values()) {
+			indexes.put(type, new ConcurrentSkipListSet<>());
+		}
+		try (Stream<Transaction> existing = delegate.streamAll()) {
+			existing.forEach(this::index);
+		}
+	}
+
+	@Override
+	public Transaction save(Transaction transaction) {
+		Transaction saved = delegate.save(transaction);
+		index(saved);
+		return saved;
+	}
+
+	@Override
+	public List<Transaction> findByAccountNumber(String accountNumber, int limit) {
+		return delegate.findByAccountNumber(accountNumber, limit);
+	}
+
+	@Override
+	public Stream<Transaction> streamByAccountNumber(String accountNumber) {
+		return delegate.streamByAccountNumber(accountNumber);
+	}
+
+	@Override
+	public Stream<Transaction> streamByAccountNumber(String accountNumber, LocalDateTime fromInclusive,
+			LocalDateTime toExclusive) {
+		return delegate.streamByAccountNumber(accountNumber, fromInclusive, toExclusive);
+	}
+
+	@Override
+	public Stream<Transaction> streamNewestFirst(String accountNumber, long beforeSequence) {
+		return delegate.streamNewestFirst(accountNumber, beforeSequence);
+	}
+
+	@Override
+	public Stream<Transaction> streamAll() {
+		return delegate.streamAll();
+	}
+
+	@Override
+	public Stream<Transaction> streamRange(LocalDateTime fromInclusive, LocalDateTime toExclusive) {
+		return delegate.streamRange(fromInclusive, toExclusive);
+	}
+
+	@Override
+	public Stream<Transaction> streamSince(long afterSequence) {
+		return delegate.streamSince(afterSequence);
+	}
+
+	@Override
+	public Optional<Transaction> findBySequence(long sequence) {
+		return delegate.findBySequence(sequence);
+	}
+
+	@Override
+	public Optional<Transaction> findLatestAt(String accountNumber, LocalDateTime asOf) {
+		return delegate.findLatestAt(accountNumber, asOf);
+	}
+
+	/** Seeks to {@code minInclusive} in the type's index and stops at {@code maxExclusive}. */
+	@Override
+	public Stream<Transaction> streamByAmount(TransactionType type, Money minInclusive, Money maxExclusive) {
+		NavigableSet<AmountKey> range = indexFor(type);
+		if (Objects.nonNull(minInclusive) && Objects.nonNull(maxExclusive) && !minInclusive.isLessThan(maxExclusive)) {
+			return Stream.empty();
+		}
+		if (Objects.nonNull(minInclusive)) {
+			range = range.tailSet(new AmountKey(minInclusive.toCents(), Long.MIN_VALUE), true);
+		}
+		if (Objects.nonNull(maxExclusive)) {
+			range = range.headSet(new AmountKey(maxExclusive.toCents(), Long.MIN_VALUE), false);
+		}
+		return range.stream().map(this::lookup);
+	}
+
+	/** Walks the type's index from its largest entry, touching only the entries returned. */
+	@Override
+	public List<Transaction> findLargest(TransactionType type, int limit) {
+		if (limit <= 0) {
+			return List.of();
+		}
+		return indexFor(type).descendingSet().stream()
+				.limit(limit)
+				.map(this::lookup)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public Set<TransactionIndex> availableIndexes() {
+		Set<TransactionIndex> available = EnumSet.of(TransactionIndex.AMOUNT);
+		available.addAll(delegate.availableIndexes());
+		return available;
+	}
+
+	/** Transactions held in the amount index. */
+	public long getIndexedCount() {
+		return indexed.sum();
+	}
+
+	private void index(Transaction transaction) {
+		indexes.get(transaction.type()).add(new AmountKey(transaction.amount().toCents(), transaction.sequence()));
+		indexed.increment();
+	}
+
+	/** Only returned saves are indexed, and stores never drop a transaction, so the seek always finds it. */
+	private Transaction lookup(AmountKey key) {
+		return delegate.findBySequence(key.sequence()).orElseThrow();
+	}
+
+	private ConcurrentSkipListSet<AmountKey> indexFor(TransactionType type) {
+		if (Objects.isNull(type)) {
+			throw new IllegalArgumentException(TYPE_NULL_ERROR);
+		}
+		return indexes.get(type);
+	}
+
+	/** Sequence numbers are unique, so they keep equal amounts apart and in save order. */
+	private record AmountKey(long cents, long sequence) implements Comparable<AmountKey> {
+
+		@Override
+		public int compareTo(AmountKey other) {
+			int byAmount = Long.compare(cents, other.cents);
+			return byAmount != 0 ? byAmount : Long.compare(sequence, other.sequence);
+		}
+	}
+}
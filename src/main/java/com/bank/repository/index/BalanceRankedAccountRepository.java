@@ -0,0 +1,315 @@
+package com.bank.repository.index;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import com.bank.model.Account;
+import com.bank.model.Money;
+import com.bank.repository.AccountRepository;
+
+/**
+ * Keeps every account ranked by balance, for leaderboards such as "the 100 largest balances" and for the
+ * rank or percentile of any one account.
+ * <p>
+ * Balances sit in a skip list ordered by cents and then account number, and a Fenwick tree counts them
+ * in log-linear buckets, {@value #SUB_BUCKETS} to each power of two. Each {@link #update} moves the
+ * account's entry inside the account's own update, at O(log n). A top-N read walks the skip list from its
+ * largest entry. A rank or percentile adds the bucket counts above the account's bucket to a walk inside
+ * that bucket, which starts from both ends and stops as soon as one side reaches the balance, so it costs
+ * the smaller side of the bucket rather than O(log n): cheap when balances spread over many buckets, up to
+ * half the bucket when many accounts hold distinct balances within one bucket's range. Reads take no
+ * locks, so they never stall writers, and under concurrent updates they see each account at some recent
+ * balance.
+ */
+public class BalanceRankedAccountRepository implements AccountRepository {
+
+	private static final String DELEGATE_NULL_ERROR = "Backing repository cannot be null";
+	private static final String PERCENTILE_ERROR = "Percentile must be between 0 and 100";
+
+	private static final int SUB_BUCKET_BITS = 6;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AccountRepository delegate;
+	private final NavigableSet<Entry> byBalance = new ConcurrentSkipListSet<>();
+	private final Map<String, Long> indexedCents = new ConcurrentHashMap<>();
+	/** Fenwick tree over the buckets, largest bucket at position 1, so prefix sums count from the top. */
+	private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKETS + 1);
+
+	public BalanceRankedAccountRepository(AccountRepository delegate) {
+		if (Objects.isNull(delegate)) {
+			throw new IllegalArgumentException(DELEGATE_NULL_ERROR);
+		}
+		this.delegate = delegate;
+		try (Stream<Account> existing = delegate.streamAll()) {
+			existing.forEach(this::rank);
+		}
+	}
+
+	@Override
+	public Optional<Account> findByNumber(String accountNumber) {
+		return delegate.findByNumber(accountNumber);
+	}
+
+	@Override
+	public Account save(Account account) {
+		Account saved = delegate.save(account);
+		rank(saved);
+		return saved;
+	}
+
+	/** Re-ranks the account inside the backing store's update, so moves for one account never interleave. */
+	@Override
+	public Account update(String accountNumber, UnaryOperator<Account> mutator) {
+		return delegate.update(accountNumber, account -> {
+			Account updated = mutator.apply(account);
+			rank(updated);
+			return updated;
+		});
+	}
+
+	@Override
+	public boolean exists(String accountNumber) {
+		return delegate.exists(accountNumber);
+	}
+
+	@Override
+	public int count() {
+		return delegate.count();
+	}
+
+	@Override
+	public Stream<Account> streamAll() {
+		return delegate.streamAll();
+	}
+
+	@Override
+	public Stream<Account> streamRange(String fromInclusive, String toExclusive) {
+		return delegate.streamRange(fromInclusive, toExclusive);
+	}
+
+	/** Up to {@code limit} of the largest balances, largest first, touching only the entries returned. */
+	public List<RankedBalance> findTop(int limit) {
+		List<RankedBalance> top = new ArrayList<>(Math.max(0, Math.min(limit, indexedCents.size())));
+		long rank = 0;
+		long previousCents = 0;
+		Iterator<Entry> largestFirst = byBalance.descendingIterator();
+		for (int position = 1; position <= limit && largestFirst.hasNext(); position++) {
+			Entry entry = largestFirst.next();
+			if (rank == 0 || entry.cents() != previousCents) {
+				rank = position;
+				previousCents = entry.cents();
+			}
+			top.add(entry.toRankedBalance(rank));
+		}
+		return top;
+	}
+
+	/** The account's rank: one more than the number of accounts with a larger balance. */
+	public Optional<RankedBalance> findRank(String accountNumber) {
+		Long cents = Objects.isNull(accountNumber) ? null : indexedCents.get(accountNumber);
+		if (Objects.isNull(cents)) {
+			return Optional.empty();
+		}
+		return Optional.of(new Entry(cents, accountNumber).toRankedBalance(countAbove(cents) + 1));
+	}
+
+	/**
+	 * The account at {@code position} in largest-first order, counting tied balances one by one, or
+	 * empty if fewer accounts are ranked. Finds the bucket through the Fenwick tree, then walks within it
+	 * from the nearer end.
+	 */
+	public Optional<RankedBalance> findAtPosition(long position) {
+		if (position <= 0) {
+			return Optional.empty();
+		}
+		int bucketPosition = 0;
+		long remaining = position;
+		for (int step = Integer.highestOneBit(BUCKETS); step > 0; step >>= 1) {
+			int next = bucketPosition + step;
+			if (next <= BUCKETS && bucketCounts.get(next) < remaining) {
+				bucketPosition = next;
+				remaining -= bucketCounts.get(next);
+			}
+		}
+		if (bucketPosition == BUCKETS) {
+			return Optional.empty();
+		}
+		int bucket = BUCKETS - 1 - bucketPosition;
+		long inBucket = countInBucket(bucket);
+		Iterator<Entry> withinBucket;
+		if (remaining > (inBucket + 1) / 2) { // Nearer the smallest entry: walk up to it instead
+			withinBucket = bucketEntries(bucket).iterator();
+			remaining = inBucket - remaining + 1;
+		} else {
+			withinBucket = bucketEntries(bucket).descendingIterator();
+		}
+		for (long skipped = 1; skipped < remaining && withinBucket.hasNext(); skipped++) {
+			withinBucket.next();
+		}
+		if (!withinBucket.hasNext()) {
+			return Optional.empty(); // The bucket shrank while being read
+		}
+		Entry entry = withinBucket.next();
+		return Optional.of(entry.toRankedBalance(countAbove(entry.cents()) + 1));
+	}
+
+	/**
+	 * The share of ranked accounts, from 0 to 100, whose balance is below the account's, or empty if
+	 * the account is not ranked.
+	 */
+	public Optional<Double> findPercentile(String accountNumber) {
+		Long cents = Objects.isNull(accountNumber) ? null : indexedCents.get(accountNumber);
+		if (Objects.isNull(cents)) {
+			return Optional.empty();
+		}
+		int bucket = bucketOf(cents);
+		long total = prefixCount(BUCKETS);
+		long below = total - prefixCount(positionOf(bucket)) + countInBucket(bucket) - countFrom(bucket, cents);
+		return Optional.of(total == 0 ? 0.0 : 100.0 * below / total);
+	}
+
+	/**
+	 * The balance that {@code percentile} percent of ranked accounts fall below, read off the Fenwick tree
+	 * and one bucket walk, or empty if no account is ranked.
+	 *
+	 * @throws IllegalArgumentException if percentile is outside 0 to 100
+	 */
+	public Optional<Money> findBalanceAtPercentile(double percentile) {
+		if (!(percentile >= 0 && percentile <= 100)) {
+			throw new IllegalArgumentException(PERCENTILE_ERROR);
+		}
+		long total = prefixCount(BUCKETS);
+		long below = (long) Math.floor(total * percentile / 100.0);
+		return findAtPosition(Math.max(1, total - below)).map(RankedBalance::balance);
+	}
+
+	/** Accounts currently ranked. */
+	public int getRankedCount() {
+		return indexedCents.size();
+	}
+
+	private void rank(Account account) {
+		String accountNumber = account.getAccountNumber();
+		long cents = account.getBalance().toCents();
+		indexedCents.compute(accountNumber, (number, previous) -> {
+			if (Objects.nonNull(previous) && previous == cents) {
+				return previous;
+			}
+			if (Objects.nonNull(previous)) {
+				byBalance.remove(new Entry(previous, number));
+				addToBucket(bucketOf(previous), -1);
+			}
+			byBalance.add(new Entry(cents, number));
+			addToBucket(bucketOf(cents), 1);
+			return cents;
+		});
+	}
+
+	private long countAbove(long cents) {
+		int bucket = bucketOf(cents);
+		return prefixCount(positionOf(bucket) - 1) + (cents == Long.MAX_VALUE ? 0 : countFrom(bucket, cents + 1));
+	}
+
+	/**
+	 * Entries of the bucket with at least {@code fromCents}. Walks down from the top and up from the
+	 * bottom in step; the first side to cross {@code fromCents} gives the answer, the bottom side by
+	 * subtracting from the bucket's count in the Fenwick tree.
+	 */
+	private long countFrom(int bucket, long fromCents) {
+		NavigableSet<Entry> entries = bucketEntries(bucket);
+		Iterator<Entry> fromTop = entries.descendingIterator();
+		Iterator<Entry> fromBottom = entries.iterator();
+		long atOrAbove = 0;
+		long below = 0;
+		while (fromTop.hasNext() && fromTop.next().cents() >= fromCents) {
+			atOrAbove++;
+			if (!fromBottom.hasNext()) {
+				break;
+			}
+			if (fromBottom.next().cents() >= fromCents) {
+				return Math.max(atOrAbove, countInBucket(bucket) - below); // The bucket may be mid-move
+			}
+			below++;
+		}
+		return atOrAbove;
+	}
+
+	private long countInBucket(int bucket) {
+		int position = positionOf(bucket);
+		return prefixCount(position) - prefixCount(position - 1);
+	}
+
+	/** The entries of one bucket, smallest first. */
+	private NavigableSet<Entry> bucketEntries(int bucket) {
+		Entry from = new Entry(bucket == 0 ? Long.MIN_VALUE : lowerBound(bucket), "");
+		return bucket == BUCKETS - 1
+				? byBalance.tailSet(from, true)
+				: byBalance.subSet(from, true, new Entry(lowerBound(bucket + 1), ""), false);
+	}
+
+	private void addToBucket(int bucket, long delta) {
+		for (int position = positionOf(bucket); position <= BUCKETS; position += position & -position) {
+			bucketCounts.addAndGet(position, delta);
+		}
+	}
+
+	/** Accounts in the buckets at Fenwick positions {@code 1..position}, the largest buckets. */
+	private long prefixCount(int position) {
+		long count = 0;
+		for (int i = position; i > 0; i -= i & -i) {
+			count += bucketCounts.get(i);
+		}
+		return count;
+	}
+
+	private static int positionOf(int bucket) {
+		return BUCKETS - bucket;
+	}
+
+	/**
+	 * Balances below {@value #SUB_BUCKETS} cents, including zero and overdrafts in bucket 0, get a bucket
+	 * each; above that every power of two is split into {@value #SUB_BUCKETS} equal buckets.
+	 */
+	static int bucketOf(long cents) {
+		if (cents < SUB_BUCKETS) {
+			return (int) Math.max(0, cents);
+		}
+		int octave = Long.SIZE - 1 - Long.numberOfLeadingZeros(cents);
+		int subBucket = (int) (cents >>> (octave - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (octave - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/** The smallest balance in cents that falls in the bucket; the inverse of {@link #bucketOf}. */
+	static long lowerBound(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int octave = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (octave - SUB_BUCKET_BITS);
+	}
+
+	/** Account numbers keep equal balances apart. */
+	private record Entry(long cents, String accountNumber) implements Comparable<Entry> {
+
+		@Override
+		public int compareTo(Entry other) {
+			int byAmount = Long.compare(cents, other.cents);
+			return byAmount != 0 ? byAmount : accountNumber.compareTo(other.accountNumber);
+		}
+
+		RankedBalance toRankedBalance(long rank) {
+			return new RankedBalance(accountNumber, Money.ofCents(cents), rank);
+		}
+	}
+}
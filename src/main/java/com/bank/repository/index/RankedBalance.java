@@ -0,0 +1,10 @@
+package com.bank.repository.index;
+
+import com.bank.model.Money;
+
+/**
+ * An account's balance as held in a {@link BalanceRankedAccountRepository} leaderboard.
+ * @param rank 1 for the largest balance; accounts with equal balances share a rank
+ */
+public record RankedBalance(String accountNumber, Money balance, long rank) {
+}
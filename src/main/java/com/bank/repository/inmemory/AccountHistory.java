@@ -0,0 +1,165 @@
+package com.bank.repository.inmemory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.bank.model.Transaction;
+
+/**
+ * Append-only, insertion-ordered transaction log for one account.
+ * Appends are serialised; reads are lock-free and see a consistent prefix of the log,
+ * because the backing arrays are always published before the size that covers them.
+ * <p>
+ * Every {@value #CHECKPOINT_INTERVAL}th timestamp is also kept in a checkpoint array, so a point-in-time
+ * lookup or a range seek binary-searches the checkpoints and then touches at most a handful of entries
+ * in one block. Sequence numbers increase along the log, so cursor seeks binary-search it directly.
+ * Both searches need timestamps that never decrease along the log, which {@link #notBeforeLatest} ensures
+ * even when the wall clock steps back.
+ */
+final class AccountHistory {
+
+	private static final int INITIAL_CAPACITY = 4;
+	private static final int CHECKPOINT_INTERVAL = 64;
+
+	private volatile Transaction[] entries = new Transaction[INITIAL_CAPACITY];
+	private volatile LocalDateTime[] checkpoints = new LocalDateTime[1];
+	private volatile int size;
+
+	synchronized void append(Transaction transaction) {
+		Transaction[] current = entries;
+		if (size == current.length) {
+			current = Arrays.copyOf(current, current.length * 2);
+			entries = current;
+		}
+		current[size] = transaction;
+		if (size % CHECKPOINT_INTERVAL == 0) {
+			int checkpoint = size / CHECKPOINT_INTERVAL;
+			LocalDateTime[] times = checkpoints;
+			if (checkpoint == times.length) {
+				times = Arrays.copyOf(times, times.length * 2);
+				checkpoints = times;
+			}
+			times[checkpoint] = transaction.timestamp();
+		}
+		size = size + 1;
+	}
+
+	/**
+	 * The transaction, or a copy stamped with the latest entry's time if it would otherwise sort before it.
+	 * Call it before sequencing a transaction for this log, from the thread that will append it.
+	 */
+	Transaction notBeforeLatest(Transaction transaction) {
+		int count = size;
+		if (count == 0) {
+			return transaction;
+		}
+		LocalDateTime latest = entries[count - 1].timestamp();
+		if (!transaction.timestamp().isBefore(latest)) {
+			return transaction;
+		}
+		return new Transaction(transaction.transactionId(), transaction.accountNumber(), transaction.type(),
+				transaction.amount(), transaction.afterAmount(), latest, transaction.sequence());
+	}
+
+	int size() {
+		return size;
+	}
+
+	/** Oldest first, over the entries present when the stream is created. */
+	Stream<Transaction> stream() {
+		int count = size;
+		return Arrays.stream(entries, 0, count);
+	}
+
+	/** The last entry with a timestamp at or before {@code asOf}, or null if there is none. */
+	Transaction latestAt(LocalDateTime asOf) {
+		int count = size;
+		Transaction[] snapshot = entries;
+		int index = firstPast(snapshot, checkpoints, count, asOf, true) - 1;
+		return index < 0 ? null : snapshot[index];
+	}
+
+	/**
+	 * Entries with a timestamp in {@code [fromInclusive, toExclusive)}, oldest first; a null bound is
+	 * unbounded. Seeks to the first entry through the checkpoints, then reads lazily.
+	 */
+	Stream<Transaction> between(LocalDateTime fromInclusive, LocalDateTime toExclusive) {
+		int count = size;
+		Transaction[] snapshot = entries;
+		int start = Objects.isNull(fromInclusive) ? 0 : firstPast(snapshot, checkpoints, count, fromInclusive, false);
+		Stream<Transaction> fromStart = Arrays.stream(snapshot, start, count);
+		return Objects.isNull(toExclusive)
+				? fromStart
+				: fromStart.takeWhile(transaction -> transaction.timestamp().isBefore(toExclusive));
+	}
+
+	/** Entries with a sequence number below {@code beforeSequence}, most recent first, read lazily. */
+	Stream<Transaction> newestBefore(long beforeSequence) {
+		int count = size;
+		Transaction[] snapshot = entries;
+		int low = 0;
+		int high = count;
+		while (low < high) { // First index whose sequence is not below beforeSequence
+			int middle = (low + high) >>> 1;
+			if (snapshot[middle].sequence() < beforeSequence) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return IntStream.iterate(low - 1, i -> i >= 0, i -> i - 1).mapToObj(i -> snapshot[i]);
+	}
+
+	/** Up to {@code limit} entries, most recent first. */
+	List<Transaction> newest(int limit) {
+		int count = size;
+		Transaction[] snapshot = entries;
+		int resultSize = Math.max(0, Math.min(limit, count));
+		List<Transaction> result = new ArrayList<>(resultSize);
+		for (int i = count - 1; i >= count - resultSize; i--) {
+			result.add(snapshot[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Index of the first of {@code count} entries whose timestamp is past {@code instant}: after it when
+	 * {@code strict}, otherwise at or after it. Returns {@code count} if there is none.
+	 */
+	private static int firstPast(Transaction[] snapshot, LocalDateTime[] times, int count, LocalDateTime instant,
+			boolean strict) {
+		int low = 0;
+		int high = (count + CHECKPOINT_INTERVAL - 1) / CHECKPOINT_INTERVAL;
+		while (low < high) { // First block whose checkpoint is already past
+			int middle = (low + high) >>> 1;
+			if (isPast(times[middle], instant, strict)) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		if (low == 0) {
+			return 0;
+		}
+		int from = (low - 1) * CHECKPOINT_INTERVAL + 1;
+		int to = Math.min(count, low * CHECKPOINT_INTERVAL);
+		while (from < to) {
+			int middle = (from + to) >>> 1;
+			if (isPast(snapshot[middle].timestamp(), instant, strict)) {
+				to = middle;
+			} else {
+				from = middle + 1;
+			}
+		}
+		return from;
+	}
+
+	private static boolean isPast(LocalDateTime timestamp, LocalDateTime instant, boolean strict) {
+		return strict ? timestamp.isAfter(instant) : !timestamp.isBefore(instant);
+	}
+}
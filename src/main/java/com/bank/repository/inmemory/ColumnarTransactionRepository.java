@@ -0,0 +1,360 @@
+package com.bank.repository.inmemory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.SequenceWatermark;
+import com.bank.repository.TransactionIndex;
+import com.bank.repository.TransactionRepository;
+
+/**
+ * Stores transactions column-wise in chunked primitive arrays instead of as {@link Transaction} objects.
+ * <p>
+ * A row costs 45 bytes of columns (UUID as two longs, account dictionary index, type ordinal, amount and
+ * balance-after in cents, epoch microseconds in UTC) plus four bytes in its account's row list, against
+ * several hundred bytes for a record with its Strings, {@code BigDecimal}s and {@code LocalDateTime}.
+ * {@link Transaction}s are only materialised when a caller actually reads one, and range scans test the
+ * timestamp column before materialising anything.
+ * <p>
+ * Timestamps are truncated to microseconds. Transaction ids that are not canonical UUID strings are kept in
+ * a side map. Rows are numbered with {@code int}s, so the store holds at most {@link Integer#MAX_VALUE}
+ * transactions; a save past that fails rather than overwriting earlier rows.
+ */
+public class ColumnarTransactionRepository implements TransactionRepository {
+
+	private static final String CAPACITY_ERROR = "Columnar transaction store is full";
+
+	private static final int CHUNK_BITS = 14;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	private static final long MICROS_PER_SECOND = 1_000_000L;
+	private static final TransactionType[] TYPES = TransactionType.values();
+	private static final VarHandle TYPE_COLUMN = MethodHandles.arrayElementVarHandle(byte[].class);
+
+	private final ConcurrentHashMap<String, AccountRows> accounts = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Integer, String> irregularIds = new ConcurrentHashMap<>();
+	private final SequenceWatermark watermark = new SequenceWatermark();
+	private volatile Chunk[] chunks = new Chunk[16];
+	private volatile String[] accountNumbers = new String[64];
+	private int accountCount;
+
+	/**
+	 * Writes the row's columns, then appends the row to its account's list. That append is what
+	 * publishes the row to per-account readers, so concurrent saves for different accounts never contend.
+	 * Rows are allocated in sequence order, so a row's number is its sequence number minus one. The type
+	 * column holds the ordinal plus one and is written last with release semantics, so a nonzero type
+	 * marks a complete row for {@link #findBySequence}, which does not wait for the watermark. A
+	 * transaction stamped earlier than its account's latest row, as when the wall clock steps back, is
+	 * stored with that row's time, so the binary search in {@link #findLatestAt} stays correct.
+	 */
+	@Override
+	public Transaction save(Transaction transaction) {
+		AccountRows rows = accounts.computeIfAbsent(transaction.accountNumber(), this::register);
+		String transactionId = transaction.transactionId();
+		UUID uuid = parseCanonicalUuid(transactionId);
+		long amountCents = transaction.amount().toCents();
+		long afterCents = transaction.afterAmount().toCents();
+		long micros = toEpochMicros(transaction.timestamp());
+		long clampedMicros = Math.max(micros, rows.latestMicros); // Keeps the timestamp column sorted per account
+
+		long sequence = watermark.allocate();
+		try {
+			int row = rowOf(sequence);
+			Chunk chunk = chunkFor(row);
+			int offset = row & CHUNK_MASK;
+			if (Objects.nonNull(uuid)) {
+				chunk.idHigh[offset] = uuid.getMostSignificantBits();
+				chunk.idLow[offset] = uuid.getLeastSignificantBits();
+			} else {
+				irregularIds.put(row, transactionId);
+			}
+			chunk.account[offset] = rows.index;
+			chunk.amountCents[offset] = amountCents;
+			chunk.afterCents[offset] = afterCents;
+			chunk.epochMicros[offset] = clampedMicros;
+			TYPE_COLUMN.setRelease(chunk.type, offset, (byte) (transaction.type().ordinal() + 1));
+			rows.append(row, clampedMicros);
+		} finally {
+			watermark.complete(sequence);
+		}
+		if (clampedMicros != micros) {
+			return new Transaction(transactionId, transaction.accountNumber(), transaction.type(), transaction.amount(),
+					transaction.afterAmount(), fromEpochMicros(clampedMicros), sequence);
+		}
+		return transaction.withSequence(sequence);
+	}
+
+	/** The row holding a sequence number; rows are ints, so numbers past the last row are refused. */
+	static int rowOf(long sequence) {
+		if (sequence > Integer.MAX_VALUE) {
+			throw new IllegalStateException(CAPACITY_ERROR);
+		}
+		return (int) (sequence - 1);
+	}
+
+	/** A lazy view, most recent first; each element is materialised when it is read. */
+	@Override
+	public List<Transaction> findByAccountNumber(String accountNumber, int limit) {
+		AccountRows rows = accounts.get(accountNumber);
+		if (Objects.isNull(rows)) {
+			return List.of();
+		}
+		int count = rows.size;
+		return new NewestFirstView(rows.rows, count, Math.max(0, Math.min(limit, count)));
+	}
+
+	@Override
+	public Stream<Transaction> streamByAccountNumber(String accountNumber) {
+		AccountRows rows = accounts.get(accountNumber);
+		return Objects.isNull(rows) ? Stream.empty() : rows.stream().mapToObj(this::materialize);
+	}
+
+	/**
+	 * Binary-searches the account's row list for the cursor, since a row's number is its sequence number
+	 * minus one, then walks the list backwards, materialising each row only as it is read.
+	 */
+	@Override
+	public Stream<Transaction> streamNewestFirst(String accountNumber, long beforeSequence) {
+		AccountRows rows = accounts.get(accountNumber);
+		if (Objects.isNull(rows)) {
+			return Stream.empty();
+		}
+		int count = rows.size;
+		int[] snapshot = rows.rows;
+		int low = 0;
+		int high = count;
+		while (low < high) { // First index whose sequence is not below beforeSequence
+			int middle = (low + high) >>> 1;
+			if (snapshot[middle] + 1L < beforeSequence) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return IntStream.iterate(low - 1, i -> i >= 0, i -> i - 1).mapToObj(i -> materialize(snapshot[i]));
+	}
+
+	/** Binary search over the account's rows using the timestamp column. */
+	@Override
+	public Optional<Transaction> findLatestAt(String accountNumber, LocalDateTime asOf) {
+		AccountRows rows = accounts.get(accountNumber);
+		if (Objects.isNull(rows)) {
+			return Optional.empty();
+		}
+		int count = rows.size;
+		int[] snapshot = rows.rows;
+		long micros = toEpochMicros(asOf);
+		int low = 0;
+		int high = count - 1;
+		int found = -1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int row = snapshot[middle];
+			if (chunks[row >>> CHUNK_BITS].epochMicros[row & CHUNK_MASK] > micros) {
+				high = middle - 1;
+			} else {
+				found = middle;
+				low = middle + 1;
+			}
+		}
+		return found < 0 ? Optional.empty() : Optional.of(materialize(snapshot[found]));
+	}
+
+	@Override
+	public Stream<Transaction> streamAll() {
+		return rowStream().mapToObj(this::materialize);
+	}
+
+	@Override
+	public Stream<Transaction> streamRange(LocalDateTime fromInclusive, LocalDateTime toExclusive) {
+		long from = Objects.isNull(fromInclusive) ? Long.MIN_VALUE : toEpochMicros(fromInclusive);
+		long to = Objects.isNull(toExclusive) ? Long.MAX_VALUE : toEpochMicros(toExclusive);
+		return rowStream()
+				.filter(row -> {
+					long micros = chunks[row >>> CHUNK_BITS].epochMicros[row & CHUNK_MASK];
+					return micros >= from && micros < to;
+				})
+				.mapToObj(this::materialize);
+	}
+
+	@Override
+	public Set<TransactionIndex> availableIndexes() {
+		return EnumSet.of(TransactionIndex.ACCOUNT, TransactionIndex.SEQUENCE);
+	}
+
+	/** Rows are in sequence order, so the feed is a contiguous range of rows. */
+	@Override
+	public Stream<Transaction> streamSince(long afterSequence) {
+		long upTo = Math.min(watermark.watermark(), Integer.MAX_VALUE); // Sequences past the last row were refused
+		return LongStream.range(Math.max(afterSequence, 0), upTo).mapToObj(row -> materialize((int) row));
+	}
+
+	/** Reads the row straight from the columns; a row still being written is reported as absent. */
+	@Override
+	public Optional<Transaction> findBySequence(long sequence) {
+		if (sequence <= 0 || sequence > Integer.MAX_VALUE) {
+			return Optional.empty();
+		}
+		int row = (int) (sequence - 1);
+		Chunk[] current = chunks;
+		int index = row >>> CHUNK_BITS;
+		if (index >= current.length || Objects.isNull(current[index])
+				|| (byte) TYPE_COLUMN.getAcquire(current[index].type, row & CHUNK_MASK) == 0) {
+			return Optional.empty();
+		}
+		return Optional.of(materialize(row));
+	}
+
+	private IntStream rowStream() {
+		return StreamSupport.stream(accounts.values().spliterator(), false).flatMapToInt(AccountRows::stream);
+	}
+
+	private Transaction materialize(int row) {
+		Chunk chunk = chunks[row >>> CHUNK_BITS];
+		int offset = row & CHUNK_MASK;
+		long high = chunk.idHigh[offset];
+		long low = chunk.idLow[offset];
+		// Irregular ids leave both id columns zero, which only the nil UUID shares
+		String transactionId = (high | low) == 0 ? irregularIds.get(row) : null;
+		if (Objects.isNull(transactionId)) {
+			transactionId = new UUID(high, low).toString();
+		}
+		return new Transaction(transactionId, accountNumbers[chunk.account[offset]], TYPES[chunk.type[offset] - 1],
+				Money.ofCents(chunk.amountCents[offset]), Money.ofCents(chunk.afterCents[offset]),
+				fromEpochMicros(chunk.epochMicros[offset]), row + 1L);
+	}
+
+	private synchronized AccountRows register(String accountNumber) {
+		String[] numbers = accountNumbers;
+		if (accountCount == numbers.length) {
+			numbers = Arrays.copyOf(numbers, numbers.length * 2);
+		}
+		numbers[accountCount] = accountNumber;
+		accountNumbers = numbers;
+		return new AccountRows(accountCount++);
+	}
+
+	private Chunk chunkFor(int row) {
+		int index = row >>> CHUNK_BITS;
+		Chunk[] current = chunks;
+		if (index < current.length && Objects.nonNull(current[index])) {
+			return current[index];
+		}
+		return allocateChunk(index);
+	}
+
+	private synchronized Chunk allocateChunk(int index) {
+		Chunk[] current = chunks;
+		if (index >= current.length) {
+			current = Arrays.copyOf(current, Math.max(current.length * 2, index + 1));
+		}
+		if (Objects.isNull(current[index])) {
+			current[index] = new Chunk();
+		}
+		chunks = current;
+		return current[index];
+	}
+
+	private static UUID parseCanonicalUuid(String transactionId) {
+		try {
+			UUID uuid = UUID.fromString(transactionId);
+			return uuid.toString().equals(transactionId) ? uuid : null;
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static long toEpochMicros(LocalDateTime timestamp) {
+		return timestamp.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + timestamp.getNano() / 1_000;
+	}
+
+	private static LocalDateTime fromEpochMicros(long micros) {
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+				(int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+	}
+
+	private static final class Chunk {
+		final long[] idHigh = new long[CHUNK_SIZE];
+		final long[] idLow = new long[CHUNK_SIZE];
+		final int[] account = new int[CHUNK_SIZE];
+		final byte[] type = new byte[CHUNK_SIZE];
+		final long[] amountCents = new long[CHUNK_SIZE];
+		final long[] afterCents = new long[CHUNK_SIZE];
+		final long[] epochMicros = new long[CHUNK_SIZE];
+	}
+
+	/**
+	 * One account's row numbers in insertion order, published the same way as {@link AccountHistory}:
+	 * the array before the size that covers it.
+	 */
+	private static final class AccountRows {
+
+		final int index;
+		volatile int[] rows = new int[4];
+		volatile int size;
+		volatile long latestMicros = Long.MIN_VALUE;
+
+		AccountRows(int index) {
+			this.index = index;
+		}
+
+		synchronized void append(int row, long micros) {
+			latestMicros = micros;
+			int[] current = rows;
+			if (size == current.length) {
+				current = Arrays.copyOf(current, current.length * 2);
+				rows = current;
+			}
+			current[size] = row;
+			size = size + 1;
+		}
+
+		IntStream stream() {
+			int count = size;
+			return Arrays.stream(rows, 0, count);
+		}
+	}
+
+	private final class NewestFirstView extends AbstractList<Transaction> implements RandomAccess {
+
+		private final int[] rows;
+		private final int count;
+		private final int size;
+
+		NewestFirstView(int[] rows, int count, int size) {
+			this.rows = rows;
+			this.count = count;
+			this.size = size;
+		}
+
+		@Override
+		public Transaction get(int index) {
+			Objects.checkIndex(index, size);
+			return materialize(rows[count - 1 - index]);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -4,6 +4,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.bank.exception.AccountNotFoundException;
 import com.bank.model.Account;
@@ -55,4 +57,23 @@ public class InMemoryAccountRepository implements AccountRepository {
 	public int count() {
 		return store.size();
 	}
+
+	/**
+	 * Streams straight off the map's own spliterator: it is lazy, weakly consistent and
+	 * splits on table ranges, so parallel pipelines never materialise a copy of the store.
+	 */
+	@Override
+	public Stream<Account> streamAll() {
+		return StreamSupport.stream(store.values().spliterator(), false);
+	}
+
+	@Override
+	public Stream<Account> streamRange(String fromInclusive, String toExclusive) {
+		return streamAll().filter(account -> inRange(account.getAccountNumber(), fromInclusive, toExclusive));
+	}
+
+	private static boolean inRange(String accountNumber, String fromInclusive, String toExclusive) {
+		return (Objects.isNull(fromInclusive) || accountNumber.compareTo(fromInclusive) >= 0)
+				&& (Objects.isNull(toExclusive) || accountNumber.compareTo(toExclusive) < 0);
+	}
 }
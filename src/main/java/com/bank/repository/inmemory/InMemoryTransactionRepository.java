@@ -1,30 +1,107 @@
 package com.bank.repository.inmemory;
 
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.bank.model.Transaction;
+import com.bank.repository.TransactionIndex;
 import com.bank.repository.TransactionRepository;
 
+/**
+ * Keeps each account's transactions in its own append-only {@link AccountHistory}, so per-account
+ * reads touch only that account's entries instead of filtering and sorting the whole store.
+ * A {@link SequenceLog} additionally indexes every transaction by its global sequence number, and a
+ * {@link TimeIndex} orders all of them by time for bank-wide range reads.
+ */
 public class InMemoryTransactionRepository implements TransactionRepository {
 
-	private final ConcurrentHashMap<String, Transaction> transactionStore = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, AccountHistory> histories = new ConcurrentHashMap<>();
+	private final SequenceLog sequenceLog = new SequenceLog();
+	private final TimeIndex timeIndex = new TimeIndex();
 
+	/**
+	 * A transaction stamped earlier than the account's latest one, as when the wall clock steps back, is
+	 * stored with the latest one's time, so point-in-time lookups stay correct.
+	 */
 	@Override
 	public Transaction save(Transaction transaction) {
-		transactionStore.put(transaction.transactionId(), transaction);
+		AccountHistory history = histories.computeIfAbsent(transaction.accountNumber(), k -> new AccountHistory());
+		Transaction sequenced = sequenceLog.append(history.notBeforeLatest(transaction));
+		history.append(sequenced);
+		timeIndex.add(sequenced);
 
-		return transaction;
+		return sequenced;
 	}
 
 	@Override
 	public List<Transaction> findByAccountNumber(String accountNumber, int limit) {
-		return transactionStore.values().stream()
-				.filter(transaction -> accountNumber.equals(transaction.accountNumber()))
-				.sorted(Comparator.comparing(Transaction::timestamp).reversed()) // Most recent first
-				.limit(limit)
-				.collect(Collectors.toList());
+		AccountHistory history = histories.get(accountNumber);
+		return Objects.isNull(history) ? List.of() : history.newest(limit); // Most recent first
+	}
+
+	@Override
+	public Stream<Transaction> streamByAccountNumber(String accountNumber) {
+		AccountHistory history = histories.get(accountNumber);
+		return Objects.isNull(history) ? Stream.empty() : history.stream();
+	}
+
+	/** Seeks to the start of the range through the history's checkpoints. */
+	@Override
+	public Stream<Transaction> streamByAccountNumber(String accountNumber, LocalDateTime fromInclusive,
+			LocalDateTime toExclusive) {
+		AccountHistory history = histories.get(accountNumber);
+		return Objects.isNull(history) ? Stream.empty() : history.between(fromInclusive, toExclusive);
+	}
+
+	/** Walks the history backwards lazily from the cursor, without buffering it. */
+	@Override
+	public Stream<Transaction> streamNewestFirst(String accountNumber, long beforeSequence) {
+		AccountHistory history = histories.get(accountNumber);
+		return Objects.isNull(history) ? Stream.empty() : history.newestBefore(beforeSequence);
+	}
+
+	/** Binary search over the account's checkpointed history instead of a scan. */
+	@Override
+	public Optional<Transaction> findLatestAt(String accountNumber, LocalDateTime asOf) {
+		AccountHistory history = histories.get(accountNumber);
+		return Objects.isNull(history) ? Optional.empty() : Optional.ofNullable(history.latestAt(asOf));
+	}
+
+	@Override
+	public Stream<Transaction> streamAll() {
+		return StreamSupport.stream(histories.values().spliterator(), false).flatMap(AccountHistory::stream);
+	}
+
+	/**
+	 * Served from the time index: costs a seek plus the transactions returned rather than a scan of every
+	 * account, and yields them oldest first.
+	 */
+	@Override
+	public Stream<Transaction> streamRange(LocalDateTime fromInclusive, LocalDateTime toExclusive) {
+		return timeIndex.between(fromInclusive, toExclusive);
+	}
+
+	@Override
+	public Set<TransactionIndex> availableIndexes() {
+		return EnumSet.of(TransactionIndex.ACCOUNT, TransactionIndex.TIME, TransactionIndex.SEQUENCE);
+	}
+
+	/** Served from a sequence-indexed log, so resuming a feed costs only the transactions it returns. */
+	@Override
+	public Stream<Transaction> streamSince(long afterSequence) {
+		return sequenceLog.since(afterSequence);
+	}
+
+	/** A direct read of the sequence log's slot. */
+	@Override
+	public Optional<Transaction> findBySequence(long sequence) {
+		return Optional.ofNullable(sequenceLog.find(sequence));
 	}
 }
@@ -0,0 +1,317 @@
+package com.bank.repository.inmemory;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.model.Account;
+import com.bank.repository.AccountRepository;
+
+/**
+ * In-memory store keyed by the primitive {@code long} value of numeric account numbers.
+ * <p>
+ * Accounts live in segmented open-addressing tables of parallel {@code long[]} keys and {@code Account[]}
+ * values with linear probing, so a lookup neither allocates nor hashes a String and there is no per-entry
+ * node. Reads are optimistic ({@link StampedLock#tryOptimisticRead()}) and only fall back to a read lock if a
+ * writer interfered; writes and {@link #update} take the segment's write lock.
+ * <p>
+ * Account numbers that do not round-trip through {@code long} (non-digits, leading zeros, more than 18
+ * digits) are kept in a {@link ConcurrentHashMap} fallback index with the same semantics.
+ */
+public class LongKeyedAccountRepository implements AccountRepository {
+
+	private static final String ACCOUNT_NOT_FOUND_ERROR = "Account not found: ";
+	private static final int SEGMENT_BITS = 8;
+	private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+	private static final int INITIAL_SEGMENT_CAPACITY = 16;
+	private static final int MAX_NUMERIC_DIGITS = 18;
+	private static final long NOT_NUMERIC = -1;
+
+	private final Segment[] segments = new Segment[SEGMENT_COUNT];
+	private final ConcurrentHashMap<String, Account> fallback = new ConcurrentHashMap<>();
+
+	public LongKeyedAccountRepository() {
+		for (int i = 0; i < SEGMENT_COUNT; i++) {
+			segments[i] = new Segment();
+		}
+	}
+
+	@Override
+	public Optional<Account> findByNumber(String accountNumber) {
+		long key = toKey(accountNumber);
+		if (key == NOT_NUMERIC) {
+			return Optional.ofNullable(fallback.get(accountNumber));
+		}
+		return Optional.ofNullable(segmentFor(key).get(key));
+	}
+
+	@Override
+	public Account save(Account account) {
+		String accountNumber = account.getAccountNumber();
+		long key = toKey(accountNumber);
+		if (key == NOT_NUMERIC) {
+			fallback.put(accountNumber, account);
+		} else {
+			segmentFor(key).put(key, account);
+		}
+		return account;
+	}
+
+	/**
+	 * Atomically updates an account while holding its segment's write lock, the counterpart of
+	 * {@code ConcurrentHashMap.compute()} in {@link InMemoryAccountRepository}.
+	 */
+	@Override
+	public Account update(String accountNumber, UnaryOperator<Account> mutator) {
+		long key = toKey(accountNumber);
+		if (key == NOT_NUMERIC) {
+			return fallback.compute(accountNumber, (k, acc) -> {
+				if (Objects.isNull(acc)) {
+					throw new AccountNotFoundException(ACCOUNT_NOT_FOUND_ERROR + accountNumber);
+				}
+				return mutator.apply(acc);
+			});
+		}
+		return segmentFor(key).update(key, accountNumber, mutator);
+	}
+
+	@Override
+	public boolean exists(String accountNumber) {
+		return findByNumber(accountNumber).isPresent();
+	}
+
+	@Override
+	public int count() {
+		long count = fallback.size();
+		for (Segment segment : segments) {
+			count += segment.size;
+		}
+		return (int) Math.min(Integer.MAX_VALUE, count);
+	}
+
+	@Override
+	public Stream<Account> streamAll() {
+		Stream<Account> numeric = StreamSupport.stream(new SegmentSpliterator(0, SEGMENT_COUNT), false);
+		return Stream.concat(numeric, StreamSupport.stream(fallback.values().spliterator(), false));
+	}
+
+	@Override
+	public Stream<Account> streamRange(String fromInclusive, String toExclusive) {
+		return streamAll().filter(account -> inRange(account.getAccountNumber(), fromInclusive, toExclusive));
+	}
+
+	/** Parses a canonical non-negative decimal of at most 18 digits, or returns {@link #NOT_NUMERIC}. */
+	static long toKey(String accountNumber) {
+		int length = accountNumber.length();
+		if (length == 0 || length > MAX_NUMERIC_DIGITS || (length > 1 && accountNumber.charAt(0) == '0')) {
+			return NOT_NUMERIC;
+		}
+		long value = 0;
+		for (int i = 0; i < length; i++) {
+			int digit = accountNumber.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return NOT_NUMERIC;
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	private Segment segmentFor(long key) {
+		return segments[(int) (mix(key) >>> (Long.SIZE - SEGMENT_BITS))];
+	}
+
+	private static long mix(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return key;
+	}
+
+	private static boolean inRange(String accountNumber, String fromInclusive, String toExclusive) {
+		return (Objects.isNull(fromInclusive) || accountNumber.compareTo(fromInclusive) >= 0)
+				&& (Objects.isNull(toExclusive) || accountNumber.compareTo(toExclusive) < 0);
+	}
+
+	private static final class Segment {
+
+		private static final long EMPTY = -1;
+
+		private final StampedLock lock = new StampedLock();
+		private long[] keys = newKeys(INITIAL_SEGMENT_CAPACITY);
+		private Account[] values = new Account[INITIAL_SEGMENT_CAPACITY];
+		private volatile int size;
+
+		Account get(long key) {
+			long stamp = lock.tryOptimisticRead();
+			if (stamp != 0) {
+				Account account = probe(keys, values, key);
+				if (lock.validate(stamp)) {
+					return account;
+				}
+			}
+			stamp = lock.readLock();
+			try {
+				return probe(keys, values, key);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+
+		void put(long key, Account account) {
+			long stamp = lock.writeLock();
+			try {
+				int slot = slotFor(keys, key);
+				if (keys[slot] == EMPTY) {
+					keys[slot] = key;
+					size = size + 1;
+				}
+				values[slot] = account;
+				if (size * 4 > keys.length * 3) {
+					resize();
+				}
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+		}
+
+		Account update(long key, String accountNumber, UnaryOperator<Account> mutator) {
+			long stamp = lock.writeLock();
+			try {
+				int slot = slotFor(keys, key);
+				if (keys[slot] == EMPTY) {
+					throw new AccountNotFoundException(ACCOUNT_NOT_FOUND_ERROR + accountNumber);
+				}
+				Account updated = mutator.apply(values[slot]);
+				values[slot] = updated;
+				return updated;
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+		}
+
+		/** The values array as of now; later writes may or may not be visible through it. */
+		Account[] snapshot() {
+			long stamp = lock.readLock();
+			try {
+				return values;
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+
+		private void resize() {
+			long[] oldKeys = keys;
+			Account[] oldValues = values;
+			long[] newKeys = newKeys(oldKeys.length * 2);
+			Account[] newValues = new Account[oldKeys.length * 2];
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != EMPTY) {
+					int slot = slotFor(newKeys, oldKeys[i]);
+					newKeys[slot] = oldKeys[i];
+					newValues[slot] = oldValues[i];
+				}
+			}
+			keys = newKeys;
+			values = newValues;
+		}
+
+		private static Account probe(long[] keys, Account[] values, long key) {
+			int mask = keys.length - 1;
+			for (int slot = (int) mix(key) & mask, probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+				long candidate = keys[slot];
+				if (candidate == key) {
+					return values.length == keys.length ? values[slot] : null;
+				}
+				if (candidate == EMPTY) {
+					return null;
+				}
+			}
+			return null;
+		}
+
+		private static int slotFor(long[] keys, long key) {
+			int mask = keys.length - 1;
+			int slot = (int) mix(key) & mask;
+			while (keys[slot] != EMPTY && keys[slot] != key) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+
+		private static long[] newKeys(int capacity) {
+			long[] keys = new long[capacity];
+			Arrays.fill(keys, EMPTY);
+			return keys;
+		}
+	}
+
+	/** Splits on segment ranges; within a segment walks a snapshot of its value array. */
+	private final class SegmentSpliterator implements Spliterator<Account> {
+
+		private int segment;
+		private final int endSegment;
+		private Account[] current;
+		private int index;
+
+		SegmentSpliterator(int fromSegment, int toSegment) {
+			this.segment = fromSegment;
+			this.endSegment = toSegment;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Account> action) {
+			for (;;) {
+				if (Objects.isNull(current)) {
+					if (segment >= endSegment) {
+						return false;
+					}
+					current = segments[segment++].snapshot();
+					index = 0;
+				}
+				while (index < current.length) {
+					Account account = current[index++];
+					if (Objects.nonNull(account)) {
+						action.accept(account);
+						return true;
+					}
+				}
+				current = null;
+			}
+		}
+
+		@Override
+		public Spliterator<Account> trySplit() {
+			int remaining = endSegment - segment;
+			if (Objects.nonNull(current) || remaining < 2) {
+				return null;
+			}
+			int middle = segment + remaining / 2;
+			Spliterator<Account> prefix = new SegmentSpliterator(segment, middle);
+			segment = middle;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			long estimate = 0;
+			for (int i = segment; i < endSegment; i++) {
+				estimate += segments[i].size;
+			}
+			return estimate;
+		}
+
+		@Override
+		public int characteristics() {
+			return NONNULL | CONCURRENT;
+		}
+	}
+}
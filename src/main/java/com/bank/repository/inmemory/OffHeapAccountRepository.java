@@ -0,0 +1,402 @@
+package com.bank.repository.inmemory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntSupplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.model.Money;
+import com.bank.repository.AccountRepository;
+
+/**
+ * Keeps accounts as fixed-width records in direct {@link ByteBuffer} slabs, so the balances of millions of
+ * accounts add no objects for the garbage collector to trace.
+ * <p>
+ * A record holds a version word, the numeric account number, the balance in cents, a reference into an
+ * interned customer table, the last interest accrual date as an epoch day and an owner word. Writers take
+ * the owner word by CAS for the whole read-modify-write, mutator included. The version is a per-record
+ * seqlock that is odd only while the owner stores the new fields, and readers retry while it is odd or
+ * has moved; so a reader never waits on a mutator, and a mutator may read its own account. The
+ * number-to-record index is segmented open addressing over primitive arrays, as in
+ * {@link LongKeyedAccountRepository}.
+ * <p>
+ * Accounts handed out are detached copies: changes must go through {@link #save} or {@link #update}.
+ * Non-numeric account numbers are kept on heap in a fallback map.
+ */
+public class OffHeapAccountRepository implements AccountRepository {
+
+	private static final String ACCOUNT_NOT_FOUND_ERROR = "Account not found: ";
+	private static final String CAPACITY_ERROR = "Off-heap account store is full";
+
+	private static final int VERSION_OFFSET = 0;
+	private static final int NUMBER_OFFSET = 8;
+	private static final int BALANCE_OFFSET = 16;
+	private static final int ACCRUAL_OFFSET = 24;
+	private static final int CUSTOMER_OFFSET = 32;
+	private static final int OWNER_OFFSET = 36;
+	private static final int RECORD_SIZE = 40;
+	private static final int SLAB_BITS = 16;
+	private static final int RECORDS_PER_SLAB = 1 << SLAB_BITS;
+	private static final int SLAB_MASK = RECORDS_PER_SLAB - 1;
+	private static final long NO_ACCRUAL = Long.MIN_VALUE;
+	private static final long NOT_NUMERIC = -1;
+	private static final int SPINS_BEFORE_YIELD = 64;
+
+	private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+	private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+	private final SlotIndex index = new SlotIndex();
+	private final ConcurrentHashMap<Customer, Integer> customerRefs = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Account> fallback = new ConcurrentHashMap<>();
+	private volatile Customer[] customers = new Customer[64];
+	private volatile ByteBuffer[] slabs = new ByteBuffer[16];
+	private volatile int recordCount;
+	private int customerCount;
+
+	@Override
+	public Optional<Account> findByNumber(String accountNumber) {
+		long key = LongKeyedAccountRepository.toKey(accountNumber);
+		if (key == NOT_NUMERIC) {
+			return Optional.ofNullable(fallback.get(accountNumber));
+		}
+		int slot = index.get(key);
+		return slot < 0 ? Optional.empty() : Optional.of(read(slot));
+	}
+
+	@Override
+	public Account save(Account account) {
+		String accountNumber = account.getAccountNumber();
+		long key = LongKeyedAccountRepository.toKey(accountNumber);
+		if (key == NOT_NUMERIC) {
+			fallback.put(accountNumber, account);
+			return account;
+		}
+		int slot = index.get(key);
+		if (slot < 0) {
+			slot = index.putIfAbsent(key, () -> allocate(key, account));
+		}
+		lock(slot);
+		try {
+			publish(slot, account);
+		} finally {
+			unlock(slot);
+		}
+		return account;
+	}
+
+	/**
+	 * Applies the mutator to a copy of the account while owning its record and writes the result back.
+	 * Readers keep seeing the previous state until then. If the mutator throws, the record is left untouched.
+	 */
+	@Override
+	public Account update(String accountNumber, UnaryOperator<Account> mutator) {
+		long key = LongKeyedAccountRepository.toKey(accountNumber);
+		if (key == NOT_NUMERIC) {
+			return fallback.compute(accountNumber, (k, acc) -> {
+				if (Objects.isNull(acc)) {
+					throw new AccountNotFoundException(ACCOUNT_NOT_FOUND_ERROR + accountNumber);
+				}
+				return mutator.apply(acc);
+			});
+		}
+		int slot = index.get(key);
+		if (slot < 0) {
+			throw new AccountNotFoundException(ACCOUNT_NOT_FOUND_ERROR + accountNumber);
+		}
+		lock(slot);
+		try {
+			Account updated = mutator.apply(readLocked(slot));
+			publish(slot, updated);
+			return updated;
+		} finally {
+			unlock(slot);
+		}
+	}
+
+	@Override
+	public boolean exists(String accountNumber) {
+		long key = LongKeyedAccountRepository.toKey(accountNumber);
+		return key == NOT_NUMERIC ? fallback.containsKey(accountNumber) : index.get(key) >= 0;
+	}
+
+	@Override
+	public int count() {
+		return recordCount + fallback.size();
+	}
+
+	@Override
+	public Stream<Account> streamAll() {
+		Stream<Account> records = IntStream.range(0, recordCount).mapToObj(this::read);
+		return Stream.concat(records, StreamSupport.stream(fallback.values().spliterator(), false));
+	}
+
+	@Override
+	public Stream<Account> streamRange(String fromInclusive, String toExclusive) {
+		return streamAll().filter(account -> inRange(account.getAccountNumber(), fromInclusive, toExclusive));
+	}
+
+	/** Direct memory held by record slabs, in bytes. */
+	public long getOffHeapBytes() {
+		return Arrays.stream(slabs).filter(Objects::nonNull).count() * RECORDS_PER_SLAB * RECORD_SIZE;
+	}
+
+	/** Seqlock read: retries until it sees the same even version before and after copying the fields. */
+	private Account read(int slot) {
+		ByteBuffer slab = slabs[slot >>> SLAB_BITS];
+		int base = (slot & SLAB_MASK) * RECORD_SIZE;
+		for (int spins = 0; ; spins++) {
+			long before = (long) LONGS.getAcquire(slab, base + VERSION_OFFSET);
+			if ((before & 1) == 0) {
+				long number = slab.getLong(base + NUMBER_OFFSET);
+				long balance = slab.getLong(base + BALANCE_OFFSET);
+				long accrual = slab.getLong(base + ACCRUAL_OFFSET);
+				int customer = slab.getInt(base + CUSTOMER_OFFSET);
+				VarHandle.acquireFence();
+				if ((long) LONGS.getOpaque(slab, base + VERSION_OFFSET) == before) {
+					return toAccount(number, balance, accrual, customer);
+				}
+			}
+			backOff(spins);
+		}
+	}
+
+	private Account readLocked(int slot) {
+		ByteBuffer slab = slabs[slot >>> SLAB_BITS];
+		int base = (slot & SLAB_MASK) * RECORD_SIZE;
+		return toAccount(slab.getLong(base + NUMBER_OFFSET), slab.getLong(base + BALANCE_OFFSET),
+				slab.getLong(base + ACCRUAL_OFFSET), slab.getInt(base + CUSTOMER_OFFSET));
+	}
+
+	private Account toAccount(long number, long balanceCents, long accrualEpochDay, int customer) {
+		LocalDate accrual = accrualEpochDay == NO_ACCRUAL ? null : LocalDate.ofEpochDay(accrualEpochDay);
+		return Account.restore(Long.toString(number), customers[customer], Money.ofCents(balanceCents), accrual);
+	}
+
+	/** Stores the mutable fields behind an odd version, so readers retry rather than see them half-written. */
+	private void publish(int slot, Account account) {
+		ByteBuffer slab = slabs[slot >>> SLAB_BITS];
+		int base = (slot & SLAB_MASK) * RECORD_SIZE + VERSION_OFFSET;
+		long version = (long) LONGS.getOpaque(slab, base); // Only the owner moves it, so it is even
+		LONGS.setOpaque(slab, base, version + 1);
+		VarHandle.releaseFence();
+		write(slot, account);
+		LONGS.setRelease(slab, base, version + 2);
+	}
+
+	/** Writes the mutable fields; the caller owns the record and has made its version odd. */
+	private void write(int slot, Account account) {
+		ByteBuffer slab = slabs[slot >>> SLAB_BITS];
+		int base = (slot & SLAB_MASK) * RECORD_SIZE;
+		LocalDate accrual = account.getLastInterestAccrualDate();
+		slab.putLong(base + BALANCE_OFFSET, account.getBalance().toCents());
+		slab.putLong(base + ACCRUAL_OFFSET, Objects.isNull(accrual) ? NO_ACCRUAL : accrual.toEpochDay());
+		slab.putInt(base + CUSTOMER_OFFSET, customerRef(account.getCustomer()));
+	}
+
+	/** Takes the record's owner word; held across the mutator, but never blocks readers. */
+	private void lock(int slot) {
+		ByteBuffer slab = slabs[slot >>> SLAB_BITS];
+		int base = (slot & SLAB_MASK) * RECORD_SIZE + OWNER_OFFSET;
+		for (int spins = 0; !INTS.compareAndSet(slab, base, 0, 1); spins++) {
+			backOff(spins);
+		}
+	}
+
+	private void unlock(int slot) {
+		INTS.setRelease(slabs[slot >>> SLAB_BITS], (slot & SLAB_MASK) * RECORD_SIZE + OWNER_OFFSET, 0);
+	}
+
+	/**
+	 * Claims the next record and writes its immutable fields. Records are published by {@code recordCount}
+	 * only once fully initialised, so streams never see a half-written record.
+	 */
+	private synchronized int allocate(long key, Account account) {
+		int slot = recordCount;
+		if (slot == Integer.MAX_VALUE) {
+			throw new IllegalStateException(CAPACITY_ERROR);
+		}
+		int slabIndex = slot >>> SLAB_BITS;
+		ByteBuffer[] current = slabs;
+		if (slabIndex == current.length) {
+			current = Arrays.copyOf(current, current.length * 2);
+		}
+		if (Objects.isNull(current[slabIndex])) {
+			current[slabIndex] = ByteBuffer.allocateDirect(RECORDS_PER_SLAB * RECORD_SIZE + Long.BYTES)
+					.alignedSlice(Long.BYTES)
+					.order(ByteOrder.nativeOrder());
+			slabs = current;
+		}
+		ByteBuffer slab = current[slabIndex];
+		int base = (slot & SLAB_MASK) * RECORD_SIZE;
+		slab.putLong(base + NUMBER_OFFSET, key);
+		slab.putLong(base + VERSION_OFFSET, 0L);
+		slab.putInt(base + OWNER_OFFSET, 0);
+		write(slot, account);
+		recordCount = slot + 1;
+		return slot;
+	}
+
+	private int customerRef(Customer customer) {
+		Integer ref = customerRefs.get(customer);
+		return Objects.nonNull(ref) ? ref : customerRefs.computeIfAbsent(customer, this::intern);
+	}
+
+	private synchronized int intern(Customer customer) {
+		Customer[] current = customers;
+		if (customerCount == current.length) {
+			current = Arrays.copyOf(current, current.length * 2);
+		}
+		current[customerCount] = customer;
+		customers = current;
+		return customerCount++;
+	}
+
+	private static void backOff(int spins) {
+		if (spins < SPINS_BEFORE_YIELD) {
+			Thread.onSpinWait();
+		} else {
+			Thread.yield();
+		}
+	}
+
+	private static boolean inRange(String accountNumber, String fromInclusive, String toExclusive) {
+		return (Objects.isNull(fromInclusive) || accountNumber.compareTo(fromInclusive) >= 0)
+				&& (Objects.isNull(toExclusive) || accountNumber.compareTo(toExclusive) < 0);
+	}
+
+	/** Account number to record slot, in segmented linear-probing tables of primitive arrays. */
+	private static final class SlotIndex {
+
+		private static final int SEGMENT_BITS = 8;
+		private static final int INITIAL_CAPACITY = 16;
+		private static final long EMPTY = -1;
+
+		private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+		SlotIndex() {
+			for (int i = 0; i < segments.length; i++) {
+				segments[i] = new Segment();
+			}
+		}
+
+		int get(long key) {
+			return segmentFor(key).get(key);
+		}
+
+		int putIfAbsent(long key, IntSupplier slotSupplier) {
+			return segmentFor(key).putIfAbsent(key, slotSupplier);
+		}
+
+		private Segment segmentFor(long key) {
+			return segments[(int) (mix(key) >>> (Long.SIZE - SEGMENT_BITS))];
+		}
+
+		private static long mix(long key) {
+			key ^= key >>> 33;
+			key *= 0xff51afd7ed558ccdL;
+			key ^= key >>> 33;
+			return key;
+		}
+
+		private static final class Segment {
+
+			private final StampedLock lock = new StampedLock();
+			private long[] keys = newKeys(INITIAL_CAPACITY);
+			private int[] slots = new int[INITIAL_CAPACITY];
+			private int size;
+
+			int get(long key) {
+				long stamp = lock.tryOptimisticRead();
+				if (stamp != 0) {
+					int slot = probe(keys, slots, key);
+					if (lock.validate(stamp)) {
+						return slot;
+					}
+				}
+				stamp = lock.readLock();
+				try {
+					return probe(keys, slots, key);
+				} finally {
+					lock.unlockRead(stamp);
+				}
+			}
+
+			int putIfAbsent(long key, IntSupplier slotSupplier) {
+				long stamp = lock.writeLock();
+				try {
+					int position = positionFor(keys, key);
+					if (keys[position] == key) {
+						return slots[position];
+					}
+					int slot = slotSupplier.getAsInt();
+					slots[position] = slot;
+					keys[position] = key;
+					if (++size * 4 > keys.length * 3) {
+						resize();
+					}
+					return slot;
+				} finally {
+					lock.unlockWrite(stamp);
+				}
+			}
+
+			private void resize() {
+				long[] newKeys = newKeys(keys.length * 2);
+				int[] newSlots = new int[keys.length * 2];
+				for (int i = 0; i < keys.length; i++) {
+					if (keys[i] != EMPTY) {
+						int position = positionFor(newKeys, keys[i]);
+						newKeys[position] = keys[i];
+						newSlots[position] = slots[i];
+					}
+				}
+				keys = newKeys;
+				slots = newSlots;
+			}
+
+			private static int probe(long[] keys, int[] slots, long key) {
+				int mask = keys.length - 1;
+				for (int position = (int) mix(key) & mask, probes = 0; probes <= mask;
+						position = (position + 1) & mask, probes++) {
+					long candidate = keys[position];
+					if (candidate == key) {
+						return slots.length == keys.length ? slots[position] : -1;
+					}
+					if (candidate == EMPTY) {
+						return -1;
+					}
+				}
+				return -1;
+			}
+
+			private static int positionFor(long[] keys, long key) {
+				int mask = keys.length - 1;
+				int position = (int) mix(key) & mask;
+				while (keys[position] != EMPTY && keys[position] != key) {
+					position = (position + 1) & mask;
+				}
+				return position;
+			}
+
+			private static long[] newKeys(int capacity) {
+				long[] keys = new long[capacity];
+				Arrays.fill(keys, EMPTY);
+				return keys;
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.bank.repository.inmemory;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import com.bank.model.Transaction;
+import com.bank.repository.SequenceWatermark;
+
+/**
+ * Every transaction indexed by its global sequence number, in chunks so the log grows without copying
+ * entries. A slot is written before its number is completed, and readers never look past the
+ * watermark, so the plain array writes are safely published by the watermark itself.
+ */
+final class SequenceLog {
+
+	private static final int CHUNK_BITS = 14;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private final SequenceWatermark watermark = new SequenceWatermark();
+	private volatile Transaction[][] chunks = new Transaction[16][];
+
+	/** Assigns the next sequence number to a transaction and records it under that number. */
+	Transaction append(Transaction transaction) {
+		long sequence = watermark.allocate();
+		try {
+			Transaction sequenced = transaction.withSequence(sequence);
+			long index = sequence - 1;
+			chunkFor(index)[(int) (index & CHUNK_MASK)] = sequenced;
+			return sequenced;
+		} finally {
+			watermark.complete(sequence);
+		}
+	}
+
+	Stream<Transaction> since(long afterSequence) {
+		long upTo = watermark.watermark();
+		Transaction[][] snapshot = chunks;
+		return LongStream.rangeClosed(Math.max(afterSequence, 0) + 1, upTo)
+				.mapToObj(sequence -> at(snapshot, sequence - 1))
+				.filter(Objects::nonNull);
+	}
+
+	/** The transaction under {@code sequence}, or null if it has not been recorded yet. */
+	Transaction find(long sequence) {
+		long index = sequence - 1;
+		Transaction[][] snapshot = chunks;
+		int chunk = (int) (index >>> CHUNK_BITS);
+		if (index < 0 || chunk >= snapshot.length || Objects.isNull(snapshot[chunk])) {
+			return null;
+		}
+		return at(snapshot, index); // Records publish their final fields safely even past the watermark
+	}
+
+	private static Transaction at(Transaction[][] chunks, long index) {
+		return chunks[(int) (index >>> CHUNK_BITS)][(int) (index & CHUNK_MASK)];
+	}
+
+	private Transaction[] chunkFor(long index) {
+		int chunk = (int) (index >>> CHUNK_BITS);
+		Transaction[][] current = chunks;
+		if (chunk < current.length && Objects.nonNull(current[chunk])) {
+			return current[chunk];
+		}
+		return allocateChunk(chunk);
+	}
+
+	private synchronized Transaction[] allocateChunk(int chunk) {
+		Transaction[][] current = chunks;
+		if (chunk >= current.length) {
+			current = Arrays.copyOf(current, Math.max(current.length * 2, chunk + 1));
+		}
+		if (Objects.isNull(current[chunk])) {
+			current[chunk] = new Transaction[CHUNK_SIZE];
+		}
+		chunks = current;
+		return current[chunk];
+	}
+}
@@ -0,0 +1,48 @@
+package com.bank.repository.inmemory;
+
+import java.time.LocalDateTime;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import com.bank.model.Transaction;
+
+/**
+ * Every transaction across all accounts ordered by timestamp, ties broken by sequence number. A range
+ * read seeks to its start in O(log n) and then walks only the entries it returns. The skip list is
+ * lock-free, so reads run concurrently with saves and see each transaction at most once.
+ */
+final class TimeIndex {
+
+	private final ConcurrentSkipListMap<Key, Transaction> entries = new ConcurrentSkipListMap<>();
+
+	/** Expects a sequenced transaction; the sequence keeps transactions sharing a timestamp apart. */
+	void add(Transaction transaction) {
+		entries.put(new Key(transaction.timestamp(), transaction.sequence()), transaction);
+	}
+
+	/** Transactions in {@code [fromInclusive, toExclusive)}, oldest first; a null bound is unbounded. */
+	Stream<Transaction> between(LocalDateTime fromInclusive, LocalDateTime toExclusive) {
+		if (Objects.nonNull(fromInclusive) && Objects.nonNull(toExclusive) && !fromInclusive.isBefore(toExclusive)) {
+			return Stream.empty();
+		}
+		NavigableMap<Key, Transaction> range = entries;
+		if (Objects.nonNull(fromInclusive)) {
+			range = range.tailMap(new Key(fromInclusive, Long.MIN_VALUE), true);
+		}
+		if (Objects.nonNull(toExclusive)) {
+			range = range.headMap(new Key(toExclusive, Long.MIN_VALUE), false);
+		}
+		return range.values().stream();
+	}
+
+	private record Key(LocalDateTime timestamp, long sequence) implements Comparable<Key> {
+
+		@Override
+		public int compareTo(Key other) {
+			int byTime = timestamp.compareTo(other.timestamp);
+			return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+		}
+	}
+}
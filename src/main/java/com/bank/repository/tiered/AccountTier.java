@@ -0,0 +1,57 @@
+package com.bank.repository.tiered;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.bank.model.Transaction;
+
+/**
+ * One account's history split into archived runs followed by in-memory transactions, both oldest first.
+ * A batch is moved from the head of the hot deque to a new cold run in a single locked step, so a
+ * snapshot never sees a transaction in both tiers or in neither.
+ */
+final class AccountTier {
+
+	private final String accountNumber;
+	private final ArrayDeque<Transaction> hot = new ArrayDeque<>();
+	private final ColdRuns cold = new ColdRuns();
+
+	AccountTier(String accountNumber) {
+		this.accountNumber = accountNumber;
+	}
+
+	String accountNumber() {
+		return accountNumber;
+	}
+
+	synchronized void append(Transaction transaction) {
+		hot.addLast(transaction);
+	}
+
+	/** Copies the {@code count} oldest hot transactions. Only the archiver removes from the hot head. */
+	synchronized List<Transaction> oldestHot(int count) {
+		List<Transaction> oldest = new ArrayList<>(count);
+		Iterator<Transaction> iterator = hot.iterator();
+		while (oldest.size() < count && iterator.hasNext()) {
+			oldest.add(iterator.next());
+		}
+		return oldest;
+	}
+
+	synchronized void archived(ColdRun run) {
+		cold.add(run);
+		for (int i = 0; i < run.count(); i++) {
+			hot.removeFirst();
+		}
+	}
+
+	synchronized Snapshot snapshot() {
+		return new Snapshot(cold.view(), List.copyOf(hot));
+	}
+
+	/** Archived runs and hot transactions as of one instant, each oldest first. */
+	record Snapshot(ColdRuns.View cold, List<Transaction> hot) {
+	}
+}
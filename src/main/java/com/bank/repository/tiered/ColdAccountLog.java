@@ -0,0 +1,113 @@
+package com.bank.repository.tiered;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.model.Money;
+
+/**
+ * Append-only file of evicted account states. Each eviction appends a length-prefixed record and
+ * returns its offset; a record is never rewritten, so an offset stays readable, from any thread, for as
+ * long as the log is open. Older states of an account that has been evicted again are not reclaimed.
+ * <p>
+ * Customers stay on heap in a table the records refer to by index, as in
+ * {@link com.bank.repository.inmemory.OffHeapAccountRepository}, so an account read back carries the
+ * same {@link Customer} instance it was evicted with and customer interning survives eviction.
+ */
+final class ColdAccountLog implements AutoCloseable {
+
+	private static final long NO_ACCRUAL = Long.MIN_VALUE;
+
+	private final Path path;
+	private final FileChannel channel;
+	private final ConcurrentHashMap<Customer, Integer> customerRefs = new ConcurrentHashMap<>();
+	private volatile Customer[] customers = new Customer[64];
+	private int customerCount;
+	private long end;
+
+	ColdAccountLog(Path path) throws IOException {
+		this.path = path;
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	synchronized long append(Account account) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		DataOutputStream output = new DataOutputStream(bytes);
+		output.writeInt(0);
+		output.writeUTF(account.getAccountNumber());
+		output.writeInt(customerRef(account.getCustomer()));
+		output.writeLong(account.getBalance().toCents());
+		LocalDate accrual = account.getLastInterestAccrualDate();
+		output.writeLong(Objects.isNull(accrual) ? NO_ACCRUAL : accrual.toEpochDay());
+		ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+		buffer.putInt(0, buffer.capacity() - Integer.BYTES);
+
+		long offset = end;
+		while (buffer.hasRemaining()) {
+			end += channel.write(buffer, end);
+		}
+		return offset;
+	}
+
+	Account read(long offset) throws IOException {
+		ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+		readFully(length, offset);
+		ByteBuffer record = ByteBuffer.allocate(length.getInt(0));
+		readFully(record, offset + Integer.BYTES);
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(record.array()));
+		String accountNumber = input.readUTF();
+		Customer customer = customers[input.readInt()];
+		Money balance = Money.ofCents(input.readLong());
+		long accrualEpochDay = input.readLong();
+		LocalDate accrual = accrualEpochDay == NO_ACCRUAL ? null : LocalDate.ofEpochDay(accrualEpochDay);
+		return Account.restore(accountNumber, customer, balance, accrual);
+	}
+
+	synchronized long size() {
+		return end;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private int customerRef(Customer customer) {
+		Integer ref = customerRefs.get(customer);
+		return Objects.nonNull(ref) ? ref : customerRefs.computeIfAbsent(customer, this::intern);
+	}
+
+	private synchronized int intern(Customer customer) {
+		Customer[] current = customers;
+		if (customerCount == current.length) {
+			current = Arrays.copyOf(current, current.length * 2);
+		}
+		current[customerCount] = customer;
+		customers = current;
+		return customerCount++;
+	}
+
+	private void readFully(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position);
+			if (read < 0) {
+				throw new IOException("Unexpected end of account log " + path);
+			}
+			position += read;
+		}
+	}
+}
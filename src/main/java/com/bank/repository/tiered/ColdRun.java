@@ -0,0 +1,11 @@
+package com.bank.repository.tiered;
+
+/**
+ * One account's contiguous, oldest-first slice of an archived segment.
+ * @param segment position of the segment in the repository's segment list
+ * @param offset byte offset of the slice within the segment file
+ * @param length encoded length of the slice in bytes
+ * @param count number of transactions in the slice
+ */
+record ColdRun(int segment, long offset, int length, int count) {
+}
@@ -0,0 +1,67 @@
+package com.bank.repository.tiered;
+
+import java.util.Arrays;
+
+/**
+ * An account's archived runs, oldest first, packed into parallel primitive arrays instead of one object
+ * per run, so a long-lived account costs 20 bytes per segment it appears in.
+ * <p>
+ * Runs are only ever appended, and growing copies the arrays, so the first {@link View#size()} entries
+ * of a view never change underneath it. A view taken under the owner's lock can therefore be read
+ * afterwards without copying.
+ */
+final class ColdRuns {
+
+	private static final int INITIAL_CAPACITY = 4;
+
+	private int[] segments = new int[INITIAL_CAPACITY];
+	private long[] offsets = new long[INITIAL_CAPACITY];
+	private int[] lengths = new int[INITIAL_CAPACITY];
+	private int[] counts = new int[INITIAL_CAPACITY];
+	private int size;
+
+	void add(ColdRun run) {
+		if (size == segments.length) {
+			int capacity = size * 2;
+			segments = Arrays.copyOf(segments, capacity);
+			offsets = Arrays.copyOf(offsets, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			counts = Arrays.copyOf(counts, capacity);
+		}
+		segments[size] = run.segment();
+		offsets[size] = run.offset();
+		lengths[size] = run.length();
+		counts[size] = run.count();
+		size++;
+	}
+
+	View view() {
+		return new View(segments, offsets, lengths, counts, size);
+	}
+
+	/** The runs as of one instant; reads share the arrays of the {@link ColdRuns} it came from. */
+	static final class View {
+
+		private final int[] segments;
+		private final long[] offsets;
+		private final int[] lengths;
+		private final int[] counts;
+		private final int size;
+
+		private View(int[] segments, long[] offsets, int[] lengths, int[] counts, int size) {
+			this.segments = segments;
+			this.offsets = offsets;
+			this.lengths = lengths;
+			this.counts = counts;
+			this.size = size;
+		}
+
+		int size() {
+			return size;
+		}
+
+		ColdRun get(int index) {
+			return new ColdRun(segments[index], offsets[index], lengths[index], counts[index]);
+		}
+	}
+}
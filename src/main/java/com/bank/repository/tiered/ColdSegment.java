@@ -0,0 +1,192 @@
+package com.bank.repository.tiered;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.bank.model.Transaction;
+
+/**
+ * An immutable on-disk segment of archived transactions. The file is written once, under a temporary
+ * name, and moved into place atomically; after that it is only read with positional reads, which are
+ * safe to issue from many threads at once. The segment holds no file handle of its own: reads borrow
+ * one from a shared {@link SegmentChannels} pool.
+ * <p>
+ * The encoded records are cut into fixed-size blocks, each stored raw or deflated according to the
+ * {@link SegmentFormat}. The sparse block index (one file offset and length per block) stays in memory,
+ * so a run is served by reading and, if needed, inflating only the one or two blocks it overlaps. The
+ * segment also remembers the span of sequence numbers it holds, so a sequence scan can skip it whole.
+ */
+final class ColdSegment {
+
+	static final int BLOCK_SIZE = 64 * 1024;
+
+	private static final String TEMP_SUFFIX = ".tmp";
+
+	private final Path path;
+	private final SegmentChannels channels;
+	private final SegmentFormat format;
+	private final long[] blockOffsets;
+	private final int[] blockLengths;
+	private final int rawSize;
+	private final long size;
+	private final Span span;
+
+	private ColdSegment(Path path, SegmentChannels channels, SegmentFormat format, long[] blockOffsets,
+			int[] blockLengths, int rawSize, long size, Span span) {
+		this.path = path;
+		this.channels = channels;
+		this.format = format;
+		this.blockOffsets = blockOffsets;
+		this.blockLengths = blockLengths;
+		this.rawSize = rawSize;
+		this.size = size;
+		this.span = span;
+	}
+
+	static ColdSegment write(Path path, byte[] contents, Span span, SegmentFormat format,
+			SegmentChannels channels) throws IOException {
+		int blockCount = (contents.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		long[] offsets = new long[blockCount];
+		int[] lengths = new int[blockCount];
+		Path temp = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+		long position = 0;
+		try (FileChannel output = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			for (int block = 0; block < blockCount; block++) {
+				int start = block * BLOCK_SIZE;
+				int end = Math.min(contents.length, start + BLOCK_SIZE);
+				byte[] stored = format == SegmentFormat.DEFLATE
+						? deflate(contents, start, end - start)
+						: Arrays.copyOfRange(contents, start, end);
+				offsets[block] = position;
+				lengths[block] = stored.length;
+				ByteBuffer buffer = ByteBuffer.wrap(stored);
+				while (buffer.hasRemaining()) {
+					position += output.write(buffer);
+				}
+			}
+			output.force(true);
+		}
+		Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+		return new ColdSegment(path, channels, format, offsets, lengths, contents.length, position, span);
+	}
+
+	/** Decodes a run, oldest first. */
+	List<Transaction> read(ColdRun run) throws IOException {
+		byte[] encoded = new byte[run.length()];
+		long start = run.offset();
+		long end = start + run.length();
+		try (SegmentChannels.Lease lease = channels.acquire(path)) {
+			for (int block = (int) (start / BLOCK_SIZE); block < blockOffsets.length
+					&& (long) block * BLOCK_SIZE < end; block++) {
+				long blockStart = (long) block * BLOCK_SIZE;
+				byte[] raw = readBlock(lease.channel(), block);
+				int from = (int) Math.max(start, blockStart);
+				int to = (int) Math.min(end, blockStart + raw.length);
+				System.arraycopy(raw, (int) (from - blockStart), encoded, (int) (from - start), to - from);
+			}
+		}
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(encoded));
+		List<Transaction> transactions = new ArrayList<>(run.count());
+		for (int i = 0; i < run.count(); i++) {
+			transactions.add(TransactionCodec.read(input));
+		}
+		return transactions;
+	}
+
+	/** Decodes every transaction in the segment, in the order they were written. */
+	List<Transaction> readAll() throws IOException {
+		return read(new ColdRun(0, 0, rawSize, span.count()));
+	}
+
+	Span span() {
+		return span;
+	}
+
+	/** Size of the segment file in bytes. */
+	long size() {
+		return size;
+	}
+
+	/** Size of the encoded records before compression, in bytes. */
+	long rawSize() {
+		return rawSize;
+	}
+
+	private byte[] readBlock(FileChannel channel, int block) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(blockLengths[block]);
+		long position = blockOffsets[block];
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position);
+			if (read < 0) {
+				throw new IOException("Unexpected end of segment " + path);
+			}
+			position += read;
+		}
+		if (format == SegmentFormat.RAW) {
+			return buffer.array();
+		}
+		int rawLength = (int) Math.min(BLOCK_SIZE, rawSize - (long) block * BLOCK_SIZE);
+		return inflate(buffer.array(), rawLength);
+	}
+
+	private static byte[] deflate(byte[] contents, int offset, int length) {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(contents, offset, length);
+			deflater.finish();
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 4 + 16);
+			byte[] chunk = new byte[8 * 1024];
+			while (!deflater.finished()) {
+				compressed.write(chunk, 0, deflater.deflate(chunk));
+			}
+			return compressed.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(compressed);
+			byte[] raw = new byte[rawLength];
+			int inflated = 0;
+			while (inflated < rawLength) {
+				int count = inflater.inflate(raw, inflated, rawLength - inflated);
+				if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+					throw new IOException("Truncated block in segment " + path);
+				}
+				inflated += count;
+			}
+			return raw;
+		} catch (DataFormatException e) {
+			throw new IOException("Corrupt block in segment " + path, e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * The sequence numbers held by a segment.
+	 * @param min the lowest sequence number
+	 * @param max the highest sequence number
+	 * @param count number of transactions
+	 */
+	record Span(long min, long max, int count) {
+	}
+}
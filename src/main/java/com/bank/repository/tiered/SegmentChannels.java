@@ -0,0 +1,104 @@
+package com.bank.repository.tiered;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded pool of read channels over segment files, evicted least recently used first. A segment's
+ * channel is opened on its first read after eviction, so the number of open files stays at the bound no
+ * matter how many segments accumulate. A channel evicted while a read holds it is closed by that read.
+ */
+final class SegmentChannels implements AutoCloseable {
+
+	private final int maxOpen;
+	private final LinkedHashMap<Path, Lease> open = new LinkedHashMap<>(16, 0.75f, true);
+	private boolean closed;
+
+	SegmentChannels(int maxOpen) {
+		this.maxOpen = maxOpen;
+	}
+
+	/** Opens or reuses the channel for {@code path}; the caller must close the lease when done. */
+	synchronized Lease acquire(Path path) throws IOException {
+		if (closed) {
+			throw new ClosedChannelException();
+		}
+		Lease lease = open.get(path);
+		if (lease == null) {
+			lease = new Lease(FileChannel.open(path, StandardOpenOption.READ));
+			open.put(path, lease);
+		}
+		Iterator<Lease> eldest = open.values().iterator();
+		while (open.size() > maxOpen && eldest.hasNext()) {
+			Lease evicted = eldest.next();
+			if (evicted != lease) {
+				eldest.remove();
+				evicted.retire();
+			}
+		}
+		lease.readers++;
+		return lease;
+	}
+
+	/** Number of channels currently held open by the pool. */
+	synchronized int openCount() {
+		return open.size();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		closed = true;
+		IOException failure = null;
+		for (Map.Entry<Path, Lease> entry : open.entrySet()) {
+			try {
+				entry.getValue().retire();
+			} catch (IOException e) {
+				failure = e;
+			}
+		}
+		open.clear();
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private synchronized void release(Lease lease) throws IOException {
+		if (--lease.readers == 0 && lease.retired) {
+			lease.channel.close();
+		}
+	}
+
+	/** One segment's open channel, shared by the reads currently using it. */
+	final class Lease implements AutoCloseable {
+
+		private final FileChannel channel;
+		private int readers;
+		private boolean retired;
+
+		private Lease(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		FileChannel channel() {
+			return channel;
+		}
+
+		@Override
+		public void close() throws IOException {
+			release(this);
+		}
+
+		private void retire() throws IOException {
+			retired = true;
+			if (readers == 0) {
+				channel.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package com.bank.repository.tiered;
+
+/** How archived segments store their blocks on disk. */
+public enum SegmentFormat {
+	/** Blocks are written as encoded, for the cheapest reads. */
+	RAW,
+	/** Each block is compressed with {@link java.util.zip.Deflater}. */
+	DEFLATE
+}
@@ -0,0 +1,19 @@
+package com.bank.repository.tiered;
+
+/**
+ * Point-in-time counters for a {@link TieredTransactionRepository}.
+ * @param hotTransactions transactions currently held in memory
+ * @param archivedTransactions transactions moved to on-disk segments
+ * @param segments number of archived segments
+ * @param archivedBytes total size of the archived segments on disk
+ * @param uncompressedBytes total size of the archived records before compression
+ * @param archiveFailures segment writes that failed; their transactions stayed hot and are retried first
+ */
+public record TierStats(long hotTransactions, long archivedTransactions, int segments, long archivedBytes,
+		long uncompressedBytes, long archiveFailures) {
+
+	/** Uncompressed over on-disk size; 1.0 for raw segments, or when nothing has been archived. */
+	public double compressionRatio() {
+		return archivedBytes == 0 ? 1.0 : (double) uncompressedBytes / archivedBytes;
+	}
+}
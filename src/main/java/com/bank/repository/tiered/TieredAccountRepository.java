@@ -0,0 +1,318 @@
+package com.bank.repository.tiered;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.model.Account;
+import com.bank.repository.AccountRepository;
+
+/**
+ * Account store that keeps only recently used accounts on heap. Accounts left untouched for the idle
+ * period are written to an on-disk log and dropped from memory; {@link #findByNumber} and {@link #update}
+ * fault them back in transparently.
+ * <p>
+ * Recency is tracked with a coarse clock that the sweeper advances once per sweep. An access only copies
+ * the current tick into the account's slot, and only when it has changed, so reads cost no system call
+ * and hot accounts cause no write sharing. The hot slots also sit in a CLOCK ring that the sweep's hand
+ * walks once per pass, so a sweep costs the size of the working set, not of the whole store. Tier
+ * transitions and updates for an account happen under its lock stripe. A dormant account keeps just its
+ * slot (number and log offset) on heap.
+ * <p>
+ * A scheduled sweep that fails, for example because the log cannot be written, is counted in
+ * {@link #getSweepFailures()} and retried at the next interval; the accounts it could not write stay hot.
+ */
+public class TieredAccountRepository implements AccountRepository, AutoCloseable {
+
+	private static final String ACCOUNT_NOT_FOUND_ERROR = "Account not found: ";
+	private static final String DIRECTORY_NULL_ERROR = "Account log directory cannot be null";
+	private static final String DURATION_ERROR = "Idle period and sweep interval must be positive";
+	private static final String SWEEPER_THREAD_NAME = "account-tier-sweeper";
+	private static final String LOG_FILE_NAME = "accounts.log";
+
+	private static final int LOCK_STRIPES = 256;
+
+	private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<Slot> hotRing = new ConcurrentLinkedQueue<>(); // Each hot slot once
+	private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+	private final AtomicInteger hotCount = new AtomicInteger();
+	private final AtomicLong sweepFailures = new AtomicLong();
+	private final ColdAccountLog coldLog;
+	private final long idleTicks;
+	private final ScheduledExecutorService sweeper;
+	private volatile long clock;
+
+	/**
+	 * @param directory where the cold account log is written; created if missing
+	 * @param idlePeriod how long an account must go untouched before it is evicted
+	 * @param sweepInterval how often the clock advances and idle accounts are evicted
+	 */
+	public TieredAccountRepository(Path directory, Duration idlePeriod, Duration sweepInterval) {
+		if (Objects.isNull(directory)) {
+			throw new IllegalArgumentException(DIRECTORY_NULL_ERROR);
+		}
+		if (Objects.isNull(idlePeriod) || Objects.isNull(sweepInterval) || idlePeriod.isNegative()
+				|| idlePeriod.isZero() || sweepInterval.isNegative() || sweepInterval.isZero()) {
+			throw new IllegalArgumentException(DURATION_ERROR);
+		}
+		try {
+			Files.createDirectories(directory);
+			this.coldLog = new ColdAccountLog(directory.resolve(LOG_FILE_NAME));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		long sweepMillis = Math.max(1, sweepInterval.toMillis());
+		this.idleTicks = Math.max(1, (idlePeriod.toMillis() + sweepMillis - 1) / sweepMillis);
+		for (int i = 0; i < LOCK_STRIPES; i++) {
+			stripes[i] = new ReentrantLock();
+		}
+		this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, SWEEPER_THREAD_NAME);
+			thread.setDaemon(true);
+			return thread;
+		});
+		sweeper.scheduleWithFixedDelay(() -> {
+			try {
+				sweep();
+			} catch (RuntimeException e) {
+				// Counted by sweep; an exception escaping here would cancel every later sweep
+			}
+		}, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public Optional<Account> findByNumber(String accountNumber) {
+		Slot slot = slots.get(accountNumber);
+		if (Objects.isNull(slot)) {
+			return Optional.empty();
+		}
+		Account account = slot.account;
+		if (Objects.nonNull(account)) {
+			touch(slot);
+			return Optional.of(account);
+		}
+		ReentrantLock lock = stripeFor(accountNumber);
+		lock.lock();
+		try {
+			return Optional.of(faultIn(slot));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Account save(Account account) {
+		String accountNumber = account.getAccountNumber();
+		ReentrantLock lock = stripeFor(accountNumber);
+		lock.lock();
+		try {
+			Slot slot = slots.get(accountNumber);
+			if (Objects.isNull(slot)) {
+				slot = new Slot(accountNumber, account, clock);
+				slots.put(accountNumber, slot); // Inserts only happen under the stripe lock
+				becameHot(slot);
+				return account;
+			}
+			if (Objects.isNull(slot.account)) {
+				becameHot(slot);
+			}
+			slot.account = account;
+			touch(slot);
+			return account;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Account update(String accountNumber, UnaryOperator<Account> mutator) {
+		Slot slot = slots.get(accountNumber);
+		if (Objects.isNull(slot)) {
+			throw new AccountNotFoundException(ACCOUNT_NOT_FOUND_ERROR + accountNumber);
+		}
+		ReentrantLock lock = stripeFor(accountNumber);
+		lock.lock();
+		try {
+			Account updated = mutator.apply(faultIn(slot));
+			slot.account = updated;
+			return updated;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean exists(String accountNumber) {
+		return slots.containsKey(accountNumber);
+	}
+
+	@Override
+	public int count() {
+		return slots.size();
+	}
+
+	/**
+	 * Streams every account exactly once. Dormant accounts are read from the log without being faulted
+	 * in, so a batch job over all accounts does not flush the working set.
+	 */
+	@Override
+	public Stream<Account> streamAll() {
+		return StreamSupport.stream(slots.values().spliterator(), false).map(this::peek);
+	}
+
+	@Override
+	public Stream<Account> streamRange(String fromInclusive, String toExclusive) {
+		return StreamSupport.stream(slots.entrySet().spliterator(), false)
+				.filter(entry -> inRange(entry.getKey(), fromInclusive, toExclusive))
+				.map(Map.Entry::getValue)
+				.map(this::peek);
+	}
+
+	/**
+	 * Advances the access clock by one tick and evicts every account idle for longer than the idle
+	 * period. Runs on the sweeper thread; safe to call at any time.
+	 * @throws UncheckedIOException if an account cannot be written to the log; the pass stops there, the
+	 * failure is counted in {@link #getSweepFailures()}, and the unwritten accounts stay on heap
+	 */
+	public synchronized void sweep() {
+		long now = ++clock;
+		for (int remaining = hotCount.get(); remaining > 0; remaining--) {
+			Slot slot = hotRing.poll();
+			if (Objects.isNull(slot)) {
+				return;
+			}
+			if (now - slot.lastAccess <= idleTicks || !evict(slot, now)) {
+				hotRing.offer(slot); // Recently used: the hand moves on
+			}
+		}
+	}
+
+	/** Sweeps that failed, scheduled or not, since the repository was created. */
+	public long getSweepFailures() {
+		return sweepFailures.get();
+	}
+
+	/** Accounts currently held on heap. */
+	public int getHotCount() {
+		return hotCount.get();
+	}
+
+	/** Accounts currently evicted to disk. */
+	public int getColdCount() {
+		return slots.size() - hotCount.get();
+	}
+
+	/** Stops the sweeper and closes the account log. */
+	@Override
+	public void close() {
+		sweeper.shutdown();
+		try {
+			coldLog.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/** Evicts the slot if it is still idle; false if it was used meanwhile and stays hot. */
+	private boolean evict(Slot slot, long now) {
+		ReentrantLock lock = stripeFor(slot.accountNumber);
+		lock.lock();
+		try {
+			if (now - slot.lastAccess <= idleTicks) {
+				return false;
+			}
+			slot.coldOffset = coldLog.append(slot.account);
+			slot.account = null;
+			hotCount.decrementAndGet();
+			return true;
+		} catch (IOException e) {
+			hotRing.offer(slot);
+			sweepFailures.incrementAndGet();
+			throw new UncheckedIOException(e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** Must be called while holding the account's stripe lock, as the slot turns hot. */
+	private void becameHot(Slot slot) {
+		hotCount.incrementAndGet();
+		hotRing.offer(slot);
+	}
+
+	/** Must be called while holding the account's stripe lock. */
+	private Account faultIn(Slot slot) {
+		Account account = slot.account;
+		if (Objects.isNull(account)) {
+			account = readCold(slot.coldOffset);
+			slot.account = account;
+			becameHot(slot);
+		}
+		touch(slot);
+		return account;
+	}
+
+	/**
+	 * Reads an account without changing its tier. The eviction publishes the log offset before clearing the
+	 * account, so seeing no account guarantees the offset of its latest state.
+	 */
+	private Account peek(Slot slot) {
+		Account account = slot.account;
+		return Objects.nonNull(account) ? account : readCold(slot.coldOffset);
+	}
+
+	private Account readCold(long offset) {
+		try {
+			return coldLog.read(offset);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void touch(Slot slot) {
+		long now = clock;
+		if (slot.lastAccess != now) {
+			slot.lastAccess = now;
+		}
+	}
+
+	private ReentrantLock stripeFor(String accountNumber) {
+		return stripes[(accountNumber.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+	}
+
+	private static boolean inRange(String accountNumber, String fromInclusive, String toExclusive) {
+		return (Objects.isNull(fromInclusive) || accountNumber.compareTo(fromInclusive) >= 0)
+				&& (Objects.isNull(toExclusive) || accountNumber.compareTo(toExclusive) < 0);
+	}
+
+	/** Where an account currently lives: on heap when {@code account} is set, otherwise at {@code coldOffset}. */
+	private static final class Slot {
+		final String accountNumber;
+		volatile Account account;
+		volatile long coldOffset;
+		volatile long lastAccess;
+
+		Slot(String accountNumber, Account account, long lastAccess) {
+			this.accountNumber = accountNumber;
+			this.account = account;
+			this.lastAccess = lastAccess;
+		}
+	}
+}
@@ -0,0 +1,406 @@
+package com.bank.repository.tiered;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.bank.model.Transaction;
+import com.bank.repository.SequenceWatermark;
+import com.bank.repository.TransactionRepository;
+
+/**
+ * Transaction store with a bounded in-memory tier and an unbounded on-disk tier.
+ * <p>
+ * Every save lands in the account's hot tier. Once more than {@code maxHotTransactions} are held in
+ * memory, a background archiver moves the globally oldest ones, in save order, into a new immutable
+ * segment file. Reads merge both tiers transparently, so callers cannot tell where a transaction lives.
+ * Within a segment, runs are ordered by account number and each run keeps its account's ledger order;
+ * with {@link SegmentFormat#DEFLATE} the segment's blocks are compressed.
+ * <p>
+ * At most {@value #MAX_OPEN_SEGMENTS} segment files are held open at once; older segments are reopened
+ * on demand. Segments belong to this instance and are not reloaded by a new one; the directory is
+ * working storage, not a durable ledger.
+ */
+public class TieredTransactionRepository implements TransactionRepository, AutoCloseable {
+
+	private static final String DIRECTORY_NULL_ERROR = "Segment directory cannot be null";
+	private static final String BUDGET_ERROR = "Hot transaction budget must be positive";
+	private static final String FORMAT_NULL_ERROR = "Segment format cannot be null";
+	private static final String ARCHIVER_THREAD_NAME = "transaction-archiver";
+	private static final String SEGMENT_FILE_FORMAT = "segment-%06d.dat";
+	private static final int MAX_SEGMENT_TRANSACTIONS = 65_536;
+	private static final int MAX_OPEN_SEGMENTS = 64;
+	private static final Comparator<Transaction> BY_SEQUENCE = Comparator.comparingLong(Transaction::sequence);
+
+	private final Path directory;
+	private final long maxHotTransactions;
+	private final SegmentFormat format;
+	private final ConcurrentHashMap<String, AccountTier> tiers = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<AccountTier> saveOrder = new ConcurrentLinkedQueue<>();
+	private final ArrayDeque<AccountTier> retryOrder = new ArrayDeque<>(); // Guarded by this
+	private final List<ColdSegment> segments = new CopyOnWriteArrayList<>();
+	private final SegmentChannels channels = new SegmentChannels(MAX_OPEN_SEGMENTS);
+	private final SequenceWatermark watermark = new SequenceWatermark();
+	private final AtomicLong hotCount = new AtomicLong();
+	private final AtomicLong archivedCount = new AtomicLong();
+	private final AtomicLong archiveFailures = new AtomicLong();
+	private final AtomicBoolean archiveRequested = new AtomicBoolean();
+	private final ExecutorService archiver;
+
+	public TieredTransactionRepository(Path directory, long maxHotTransactions) {
+		this(directory, maxHotTransactions, SegmentFormat.DEFLATE);
+	}
+
+	/**
+	 * @param directory where segment files are written; created if missing
+	 * @param maxHotTransactions how many transactions may stay in memory before the oldest are archived
+	 * @param format how segment blocks are stored
+	 */
+	public TieredTransactionRepository(Path directory, long maxHotTransactions, SegmentFormat format) {
+		if (Objects.isNull(directory)) {
+			throw new IllegalArgumentException(DIRECTORY_NULL_ERROR);
+		}
+		if (maxHotTransactions <= 0) {
+			throw new IllegalArgumentException(BUDGET_ERROR);
+		}
+		if (Objects.isNull(format)) {
+			throw new IllegalArgumentException(FORMAT_NULL_ERROR);
+		}
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.directory = directory;
+		this.maxHotTransactions = maxHotTransactions;
+		this.format = format;
+		this.archiver = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, ARCHIVER_THREAD_NAME);
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@Override
+	public Transaction save(Transaction transaction) {
+		AccountTier tier = tiers.computeIfAbsent(transaction.accountNumber(), AccountTier::new);
+		long sequence = watermark.allocate();
+		Transaction sequenced = transaction.withSequence(sequence);
+		try {
+			tier.append(sequenced);
+		} finally {
+			watermark.complete(sequence);
+		}
+		saveOrder.offer(tier);
+		if (hotCount.incrementAndGet() > maxHotTransactions && archiveRequested.compareAndSet(false, true)) {
+			try {
+				archiver.execute(() -> {
+					archiveRequested.set(false);
+					try {
+						archive();
+					} catch (UncheckedIOException e) {
+						// Counted in the stats; the batch stays hot and the next save retries it
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				archiveRequested.set(false);
+			}
+		}
+		return sequenced;
+	}
+
+	@Override
+	public List<Transaction> findByAccountNumber(String accountNumber, int limit) {
+		AccountTier tier = tiers.get(accountNumber);
+		if (Objects.isNull(tier) || limit <= 0) {
+			return List.of();
+		}
+		AccountTier.Snapshot snapshot = tier.snapshot();
+		List<Transaction> result = new ArrayList<>();
+		for (int i = snapshot.hot().size() - 1; i >= 0 && result.size() < limit; i--) {
+			result.add(snapshot.hot().get(i)); // Most recent first
+		}
+		for (int r = snapshot.cold().size() - 1; r >= 0 && result.size() < limit; r--) {
+			List<Transaction> run = readRun(snapshot.cold().get(r));
+			for (int i = run.size() - 1; i >= 0 && result.size() < limit; i--) {
+				result.add(run.get(i));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Stream<Transaction> streamByAccountNumber(String accountNumber) {
+		AccountTier tier = tiers.get(accountNumber);
+		return Objects.isNull(tier) ? Stream.empty() : stream(tier);
+	}
+
+	/**
+	 * Walks the hot tier newest first, then the cold runs from the newest back, reading one run at a time
+	 * only when the walk reaches it. A run whose segment starts at or past the cursor holds nothing
+	 * before it and is skipped unread.
+	 */
+	@Override
+	public Stream<Transaction> streamNewestFirst(String accountNumber, long beforeSequence) {
+		AccountTier tier = tiers.get(accountNumber);
+		if (Objects.isNull(tier)) {
+			return Stream.empty();
+		}
+		AccountTier.Snapshot snapshot = tier.snapshot();
+		Stream<Transaction> cold = IntStream.iterate(snapshot.cold().size() - 1, r -> r >= 0, r -> r - 1)
+				.mapToObj(snapshot.cold()::get)
+				.filter(run -> segments.get(run.segment()).span().min() < beforeSequence)
+				.flatMap(run -> newestFirst(readRun(run)));
+		return Stream.concat(newestFirst(snapshot.hot()), cold)
+				.filter(transaction -> transaction.sequence() < beforeSequence);
+	}
+
+	@Override
+	public Stream<Transaction> streamAll() {
+		return StreamSupport.stream(tiers.values().spliterator(), false).flatMap(this::stream);
+	}
+
+	@Override
+	public Stream<Transaction> streamRange(LocalDateTime fromInclusive, LocalDateTime toExclusive) {
+		return streamAll().filter(transaction -> inRange(transaction.timestamp(), fromInclusive, toExclusive));
+	}
+
+	/**
+	 * Each segment records the span of sequence numbers it holds, so segments wholly at or below
+	 * {@code afterSequence} are never read, and a feed that keeps up only touches the hot tier and the
+	 * newest segments. The rest are decompressed one at a time, lowest span first, and merged with the hot
+	 * tier; only segments whose spans overlap are held in memory together.
+	 * <p>
+	 * The cut between the tiers is taken under the archive lock, so it may wait for a batch being written.
+	 */
+	@Override
+	public Stream<Transaction> streamSince(long afterSequence) {
+		long upTo = watermark.watermark();
+		List<SequenceSource> sources = new ArrayList<>();
+		List<Transaction> hot = new ArrayList<>();
+		synchronized (this) { // No batch moves between the tiers while the cut is taken
+			for (ColdSegment segment : segments) {
+				ColdSegment.Span span = segment.span();
+				if (span.max() > afterSequence && span.min() <= upTo) {
+					sources.add(new SequenceSource(span.min(), () -> readSegment(segment)));
+				}
+			}
+			for (AccountTier tier : tiers.values()) {
+				hot.addAll(tier.snapshot().hot());
+			}
+		}
+		hot.removeIf(transaction -> transaction.sequence() <= afterSequence || transaction.sequence() > upTo);
+		if (!hot.isEmpty()) {
+			hot.sort(BY_SEQUENCE);
+			sources.add(new SequenceSource(hot.get(0).sequence(), () -> hot));
+		}
+		sources.sort(Comparator.comparingLong(SequenceSource::minSequence));
+		Iterator<Transaction> merged = new SequenceMerge(sources, afterSequence, upTo);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+				Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * Archives the oldest hot transactions until the hot tier is back within budget. Runs in the
+	 * background when a save exceeds the budget; safe to call at any time.
+	 * @throws UncheckedIOException if a segment cannot be written; the transactions stay hot, the failure
+	 * is counted in {@link TierStats#archiveFailures()}, and the next batch starts with them
+	 */
+	public synchronized void archive() {
+		long excess;
+		while ((excess = hotCount.get() - maxHotTransactions) > 0) {
+			if (archiveBatch((int) Math.min(excess, MAX_SEGMENT_TRANSACTIONS)) == 0) {
+				return;
+			}
+		}
+	}
+
+	public TierStats getStats() {
+		long bytes = 0;
+		long rawBytes = 0;
+		for (ColdSegment segment : segments) {
+			bytes += segment.size();
+			rawBytes += segment.rawSize();
+		}
+		return new TierStats(hotCount.get(), archivedCount.get(), segments.size(), bytes, rawBytes,
+				archiveFailures.get());
+	}
+
+	/** Stops the archiver and closes the segment files. */
+	@Override
+	public void close() {
+		archiver.shutdown();
+		synchronized (this) {
+			try {
+				channels.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	private int archiveBatch(int batchSize) {
+		Map<AccountTier, Integer> counts = new TreeMap<>(Comparator.comparing(AccountTier::accountNumber));
+		List<AccountTier> taken = new ArrayList<>();
+		while (taken.size() < batchSize) {
+			AccountTier tier = retryOrder.isEmpty() ? saveOrder.poll() : retryOrder.pollFirst();
+			if (Objects.isNull(tier)) {
+				break;
+			}
+			taken.add(tier);
+			counts.merge(tier, 1, Integer::sum);
+		}
+		if (counts.isEmpty()) {
+			return 0;
+		}
+		Map<AccountTier, Extent> extents = new HashMap<>();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		long minSequence = Long.MAX_VALUE;
+		long maxSequence = Long.MIN_VALUE;
+		try {
+			for (Map.Entry<AccountTier, Integer> entry : counts.entrySet()) {
+				long offset = output.size();
+				for (Transaction transaction : entry.getKey().oldestHot(entry.getValue())) {
+					TransactionCodec.write(output, transaction);
+					minSequence = Math.min(minSequence, transaction.sequence());
+					maxSequence = Math.max(maxSequence, transaction.sequence());
+				}
+				extents.put(entry.getKey(), new Extent(offset, (int) (output.size() - offset)));
+			}
+			output.flush();
+			Path path = directory.resolve(String.format(SEGMENT_FILE_FORMAT, segments.size()));
+			int segment = segments.size();
+			ColdSegment.Span span = new ColdSegment.Span(minSequence, maxSequence, taken.size());
+			segments.add(ColdSegment.write(path, bytes.toByteArray(), span, format, channels));
+			for (Map.Entry<AccountTier, Integer> entry : counts.entrySet()) {
+				Extent extent = extents.get(entry.getKey());
+				entry.getKey().archived(new ColdRun(segment, extent.offset(), extent.length(), entry.getValue()));
+			}
+		} catch (IOException e) {
+			for (int i = taken.size() - 1; i >= 0; i--) {
+				retryOrder.addFirst(taken.get(i)); // Back at the head, in save order
+			}
+			archiveFailures.incrementAndGet();
+			throw new UncheckedIOException(e);
+		}
+		int archived = counts.values().stream().mapToInt(Integer::intValue).sum();
+		hotCount.addAndGet(-archived);
+		archivedCount.addAndGet(archived);
+		return archived;
+	}
+
+	private Stream<Transaction> stream(AccountTier tier) {
+		AccountTier.Snapshot snapshot = tier.snapshot();
+		Stream<Transaction> cold = IntStream.range(0, snapshot.cold().size())
+				.mapToObj(snapshot.cold()::get)
+				.flatMap(run -> readRun(run).stream());
+		return Stream.concat(cold, snapshot.hot().stream());
+	}
+
+	private static Stream<Transaction> newestFirst(List<Transaction> oldestFirst) {
+		return IntStream.iterate(oldestFirst.size() - 1, i -> i >= 0, i -> i - 1).mapToObj(oldestFirst::get);
+	}
+
+	private List<Transaction> readRun(ColdRun run) {
+		try {
+			return segments.get(run.segment()).read(run);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static List<Transaction> readSegment(ColdSegment segment) {
+		try {
+			return segment.readAll();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private record Extent(long offset, int length) {
+	}
+
+	/** Transactions in sequence order, none below {@code minSequence}, loaded only when first needed. */
+	private record SequenceSource(long minSequence, Supplier<List<Transaction>> load) {
+	}
+
+	/**
+	 * Merges sources sorted by their lowest sequence number. A buffered transaction is released once no
+	 * unloaded source can hold a lower number, so only sources with overlapping spans are buffered at once.
+	 */
+	private static final class SequenceMerge implements Iterator<Transaction> {
+
+		private final PriorityQueue<Transaction> buffer = new PriorityQueue<>(BY_SEQUENCE);
+		private final List<SequenceSource> sources;
+		private final long afterSequence;
+		private final long upTo;
+		private int nextSource;
+
+		SequenceMerge(List<SequenceSource> sources, long afterSequence, long upTo) {
+			this.sources = sources;
+			this.afterSequence = afterSequence;
+			this.upTo = upTo;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (true) {
+				long nextMin = nextSource < sources.size() ? sources.get(nextSource).minSequence() : Long.MAX_VALUE;
+				if (!buffer.isEmpty() && buffer.peek().sequence() < nextMin) {
+					return true;
+				}
+				if (nextSource == sources.size()) {
+					return false;
+				}
+				for (Transaction transaction : sources.get(nextSource++).load().get()) {
+					if (transaction.sequence() > afterSequence && transaction.sequence() <= upTo) {
+						buffer.add(transaction);
+					}
+				}
+			}
+		}
+
+		@Override
+		public Transaction next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return buffer.poll();
+		}
+	}
+
+	private static boolean inRange(LocalDateTime timestamp, LocalDateTime fromInclusive, LocalDateTime toExclusive) {
+		return (Objects.isNull(fromInclusive) || !timestamp.isBefore(fromInclusive))
+				&& (Objects.isNull(toExclusive) || timestamp.isBefore(toExclusive));
+	}
+}
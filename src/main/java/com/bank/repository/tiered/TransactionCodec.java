@@ -0,0 +1,35 @@
+package com.bank.repository.tiered;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+
+/** Binary form of a {@link Transaction} used by archived segments. */
+final class TransactionCodec {
+
+	private TransactionCodec() {
+	}
+
+	static void write(DataOutput output, Transaction transaction) throws IOException {
+		output.writeUTF(transaction.transactionId());
+		output.writeUTF(transaction.accountNumber());
+		output.writeUTF(transaction.type().name());
+		output.writeLong(transaction.amount().toCents());
+		output.writeLong(transaction.afterAmount().toCents());
+		output.writeLong(transaction.timestamp().toEpochSecond(ZoneOffset.UTC));
+		output.writeInt(transaction.timestamp().getNano());
+		output.writeLong(transaction.sequence());
+	}
+
+	static Transaction read(DataInput input) throws IOException {
+		return new Transaction(input.readUTF(), input.readUTF(), TransactionType.valueOf(input.readUTF()),
+				Money.ofCents(input.readLong()), Money.ofCents(input.readLong()),
+				LocalDateTime.ofEpochSecond(input.readLong(), input.readInt(), ZoneOffset.UTC), input.readLong());
+	}
+}
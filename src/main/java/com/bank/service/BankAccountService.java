@@ -1,16 +1,28 @@
 package com.bank.service;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.bank.exception.AccountNotFoundException;
 import com.bank.model.Account;
 import com.bank.model.Customer;
+import com.bank.model.InterestRate;
 import com.bank.model.Money;
 import com.bank.model.Transaction;
 import com.bank.model.TransactionType;
+import com.bank.query.QueryParser;
+import com.bank.query.QueryPlanner;
 import com.bank.repository.AccountRepository;
 import com.bank.repository.TransactionRepository;
 
@@ -19,13 +31,41 @@ public class BankAccountService {
     private static final String ACCOUNT_NUMBER_GENERATOR_NULL_ERROR = "Account number generator cannot be null";
     private static final String ACCOUNT_NUMBER_NULL_OR_EMPTY_ERROR = "Account number cannot be null or empty";
     private static final String ACCOUNT_NOT_FOUND_ERROR = "Account not found: ";
+    private static final String TRANSACTION_LISTENER_NULL_ERROR = "Transaction listener cannot be null";
+    private static final String IDEMPOTENCY_KEY_NULL_OR_EMPTY_ERROR = "Idempotency key cannot be null or empty";
+    private static final String SAME_ACCOUNT_TRANSFER_ERROR = "Cannot transfer to the same account";
+    private static final String AS_OF_NULL_ERROR = "Point in time cannot be null";
+    private static final String PAGE_SIZE_ERROR = "Page size must be positive";
+    private static final String CUSTOMER_NAME_NULL_OR_EMPTY_ERROR = "Customer name cannot be null or empty";
+    private static final String CUSTOMER_NULL_ERROR = "Customer cannot be null";
+    private static final String SEARCH_LIMIT_ERROR = "Search limit must be positive";
+
+    private static final int MAX_VERIFY_ATTEMPTS = 5;
+    private static final long VERIFY_RETRY_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int DEFAULT_IDEMPOTENCY_CAPACITY = 100_000;
+    private static final Duration DEFAULT_IDEMPOTENCY_TTL = Duration.ofHours(1);
+    private static final String KEY_SEPARATOR = "|";
 
     private final AccountRepository repository;
     private final TransactionRepository transactionRepository;
     private final AccountNumberGenerator accountNumberGenerator;
+    private final List<TransactionListener> transactionListeners = new CopyOnWriteArrayList<>();
+    private final IdempotencyCache<Money> idempotencyCache;
+    private final QueryParser queryParser = new QueryParser();
+    private final CustomerIndex customerIndex = new CustomerIndex();
 
     public BankAccountService(AccountRepository repository, TransactionRepository transactionRepository,
                               AccountNumberGenerator accountNumberGenerator) {
+        this(repository, transactionRepository, accountNumberGenerator, DEFAULT_IDEMPOTENCY_CAPACITY, DEFAULT_IDEMPOTENCY_TTL);
+    }
+
+    /**
+     * @param idempotencyCapacity the most idempotency keys remembered at once
+     * @param idempotencyTtl how long a key is remembered; retries after this are executed again
+     */
+    public BankAccountService(AccountRepository repository, TransactionRepository transactionRepository,
+                              AccountNumberGenerator accountNumberGenerator, int idempotencyCapacity,
+                              Duration idempotencyTtl) {
         this.repository = repository;
         this.transactionRepository = transactionRepository;
 
@@ -33,6 +73,24 @@ public class BankAccountService {
             throw new IllegalArgumentException(ACCOUNT_NUMBER_GENERATOR_NULL_ERROR);
         }
         this.accountNumberGenerator = accountNumberGenerator;
+        this.idempotencyCache = new IdempotencyCache<>(idempotencyCapacity, idempotencyTtl);
+    }
+
+    /**
+     * Registers a listener that is notified of every transaction after it has been saved.
+     * Listeners are called on the posting thread once the account's update has returned, so a listener
+     * that waits, such as a publisher applying backpressure, never holds the account. Postings to one
+     * account from different threads may therefore arrive out of ledger order; their sequence numbers
+     * give the order.
+     *
+     * @param listener the listener to add
+     * @throws IllegalArgumentException if listener is null
+     */
+    public void addTransactionListener(TransactionListener listener) {
+        if (Objects.isNull(listener)) {
+            throw new IllegalArgumentException(TRANSACTION_LISTENER_NULL_ERROR);
+        }
+        transactionListeners.add(listener);
     }
 
     /**
@@ -44,31 +102,138 @@ public class BankAccountService {
      */
     public String openAccount(Customer customer, Money initialDeposit) {
         String number = accountNumberGenerator.generateAccountNumber();
-        Account account = new Account(number, customer);
+        Account account = new Account(number, Objects.isNull(customer) ? null : customerIndex.intern(customer));
         
-        if (Objects.nonNull(initialDeposit) && initialDeposit.isPositive()) {
+        boolean hasInitialDeposit = Objects.nonNull(initialDeposit) && initialDeposit.isPositive();
+        if (hasInitialDeposit) {
             account.deposit(initialDeposit);
-            
         }
         
         repository.save(account);
+        customerIndex.add(account.getCustomer(), account.getAccountNumber());
+        if (hasInitialDeposit) {
+            // The opening deposit is part of the ledger so statements and history start from it
+            notifyListeners(recordTransaction(number, TransactionType.DEPOSIT, initialDeposit, account.getBalance()));
+        }
         return number;
     }
 
     public Money deposit(String accountNumber, Money amount) {
-        return repository.update(accountNumber, acc -> {
+        AtomicReference<Transaction> recorded = new AtomicReference<>();
+        Money balance = repository.update(accountNumber, acc -> {
             acc.deposit(amount);
-            recordTransaction(accountNumber, TransactionType.DEPOSIT, amount, acc.getBalance());
+            recorded.set(recordTransaction(accountNumber, TransactionType.DEPOSIT, amount, acc.getBalance()));
             return acc;
         }).getBalance();
+        notifyListeners(recorded.get());
+        return balance;
     }
 
     public Money withdraw(String accountNumber, Money amount) {
-        return repository.update(accountNumber, acc -> {
+        AtomicReference<Transaction> recorded = new AtomicReference<>();
+        Money balance = repository.update(accountNumber, acc -> {
             acc.withdraw(amount);
-            recordTransaction(accountNumber, TransactionType.WITHDRAW, amount, acc.getBalance());
+            recorded.set(recordTransaction(accountNumber, TransactionType.WITHDRAW, amount, acc.getBalance()));
             return acc;
         }).getBalance();
+        notifyListeners(recorded.get());
+        return balance;
+    }
+
+    /**
+     * Deposits at most once per idempotency key: a retry with the same key returns the balance produced
+     * by the original call instead of depositing again.
+     *
+     * @param idempotencyKey client-chosen key identifying this logical deposit
+     * @return the balance after the original deposit
+     */
+    public Money deposit(String accountNumber, Money amount, String idempotencyKey) {
+        return idempotencyCache.execute(scopedKey("deposit", idempotencyKey, accountNumber),
+                () -> deposit(accountNumber, amount));
+    }
+
+    /**
+     * Withdraws at most once per idempotency key: a retry with the same key returns the balance produced
+     * by the original call instead of withdrawing again.
+     *
+     * @param idempotencyKey client-chosen key identifying this logical withdrawal
+     * @return the balance after the original withdrawal
+     */
+    public Money withdraw(String accountNumber, Money amount, String idempotencyKey) {
+        return idempotencyCache.execute(scopedKey("withdraw", idempotencyKey, accountNumber),
+                () -> withdraw(accountNumber, amount));
+    }
+
+    /**
+     * Moves money between two accounts as a withdrawal followed by a deposit. These are two separate
+     * updates, so a reader between them sees the money in neither account. The target is checked before
+     * anything is withdrawn, but the deposit can still fail, as when the store throws an I/O error. The
+     * amount is then deposited back into the source, which its ledger records, and the failure is
+     * rethrown. Only if that compensating deposit fails too is the source left debited; its failure is
+     * attached to the rethrown one as suppressed.
+     *
+     * @return the source account's balance after the transfer
+     * @throws IllegalArgumentException if both accounts are the same or the source has insufficient funds
+     * @throws AccountNotFoundException if either account does not exist
+     */
+    public Money transfer(String fromAccountNumber, String toAccountNumber, Money amount) {
+        Account target = getAccount(toAccountNumber);
+        String source = getAccount(fromAccountNumber).getAccountNumber();
+        if (target.getAccountNumber().equals(source)) {
+            throw new IllegalArgumentException(SAME_ACCOUNT_TRANSFER_ERROR);
+        }
+        Money sourceBalance = withdraw(source, amount);
+        try {
+            deposit(target.getAccountNumber(), amount);
+        } catch (RuntimeException e) {
+            try {
+                deposit(source, amount);
+            } catch (RuntimeException compensation) {
+                e.addSuppressed(compensation);
+            }
+            throw e;
+        }
+        return sourceBalance;
+    }
+
+    /**
+     * Transfers at most once per idempotency key: a retry with the same key returns the source balance
+     * produced by the original call instead of moving the money again. A failed transfer frees the key,
+     * and has credited the source back, so a retry moves the money once.
+     *
+     * @param idempotencyKey client-chosen key identifying this logical transfer
+     * @return the source account's balance after the original transfer
+     */
+    public Money transfer(String fromAccountNumber, String toAccountNumber, Money amount, String idempotencyKey) {
+        return idempotencyCache.execute(scopedKey("transfer", idempotencyKey, fromAccountNumber, toAccountNumber),
+                () -> transfer(fromAccountNumber, toAccountNumber, amount));
+    }
+
+    /**
+     * Credits one period of interest on the current balance, at most once per accrual date.
+     * The interest is computed, credited and recorded inside the account's atomic update, so a
+     * repeated call for the same date (for example after a batch restart) posts nothing.
+     *
+     * @param accountNumber the account to accrue
+     * @param periodRate the exact rate for one accrual period
+     * @param accrualDate the business date being accrued
+     * @return the interest posted, or zero if the date was already accrued or the interest rounds to nothing
+     */
+    public Money accrueInterest(String accountNumber, InterestRate periodRate, LocalDate accrualDate) {
+        AtomicReference<Money> posted = new AtomicReference<>(Money.ZERO);
+        AtomicReference<Transaction> recorded = new AtomicReference<>();
+        repository.update(accountNumber, acc -> {
+            Money interest = acc.getBalance().multiply(periodRate);
+            if (acc.accrueInterest(interest, accrualDate) && interest.isPositive()) {
+                recorded.set(recordTransaction(accountNumber, TransactionType.INTEREST, interest, acc.getBalance()));
+                posted.set(interest);
+            }
+            return acc;
+        });
+        if (Objects.nonNull(recorded.get())) {
+            notifyListeners(recorded.get());
+        }
+        return posted.get();
     }
 
     public Money getBalance(String accountNumber) {
@@ -103,18 +268,207 @@ public class BankAccountService {
         return repository.count();
     }
 
+    /**
+     * Returns the account's balance as it stood at a point in time: the balance after the last
+     * transaction recorded at or before {@code asOf}, or zero if there was none yet.
+     *
+     * @throws IllegalArgumentException if accountNumber is null or empty, or asOf is null
+     * @throws AccountNotFoundException if no account exists with the given number
+     */
+    public Money getBalanceAt(String accountNumber, LocalDateTime asOf) {
+        if (Objects.isNull(asOf)) {
+            throw new IllegalArgumentException(AS_OF_NULL_ERROR);
+        }
+        String number = getAccount(accountNumber).getAccountNumber();
+        return transactionRepository.findLatestAt(number, asOf)
+                .map(Transaction::afterAmount)
+                .orElse(Money.ZERO);
+    }
+
     public List<Transaction> getTransactionHistory(String accountNumber, int limit) {
         getAccount(accountNumber);
 
         return transactionRepository.findByAccountNumber(accountNumber, limit);
     }
 
+    /**
+     * Returns one page of an account's history, most recent first. Pass {@link TransactionPage#NO_MORE_PAGES}
+     * for the first page and the previous page's {@code nextCursor} for each following one; transactions
+     * recorded between calls never shift a page, because the cursor is a sequence number, not an offset.
+     *
+     * @throws IllegalArgumentException if accountNumber is null or empty, or pageSize is not positive
+     * @throws AccountNotFoundException if no account exists with the given number
+     */
+    public TransactionPage getTransactionHistoryPage(String accountNumber, long cursor, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException(PAGE_SIZE_ERROR);
+        }
+        String number = getAccount(accountNumber).getAccountNumber();
+        long beforeSequence = cursor == TransactionPage.NO_MORE_PAGES ? Long.MAX_VALUE : cursor;
+        List<Transaction> transactions;
+        try (Stream<Transaction> older = transactionRepository.streamNewestFirst(number, beforeSequence)) {
+            transactions = older.limit(pageSize + 1L).collect(Collectors.toList());
+        }
+        if (transactions.size() <= pageSize) {
+            return new TransactionPage(transactions, TransactionPage.NO_MORE_PAGES);
+        }
+        List<Transaction> page = List.copyOf(transactions.subList(0, pageSize));
+        return new TransactionPage(page, page.get(pageSize - 1).sequence());
+    }
+
+    /**
+     * Lazily streams an account's whole history, most recent first. Close the stream when done with it.
+     *
+     * @throws IllegalArgumentException if accountNumber is null or empty
+     * @throws AccountNotFoundException if no account exists with the given number
+     */
+    public Stream<Transaction> streamTransactionHistory(String accountNumber) {
+        String number = getAccount(accountNumber).getAccountNumber();
+        return transactionRepository.streamNewestFirst(number, Long.MAX_VALUE);
+    }
+
+    /**
+     * Lazily streams an account's transactions in {@code [fromInclusive, toExclusive)}, oldest first.
+     * A null bound is unbounded. Close the stream when done with it.
+     *
+     * @throws IllegalArgumentException if accountNumber is null or empty
+     * @throws AccountNotFoundException if no account exists with the given number
+     */
+    public Stream<Transaction> streamTransactionHistory(String accountNumber, LocalDateTime fromInclusive,
+                                                        LocalDateTime toExclusive) {
+        String number = getAccount(accountNumber).getAccountNumber();
+        return transactionRepository.streamByAccountNumber(number, fromInclusive, toExclusive);
+    }
+
+    /**
+     * Finds the accounts of every customer with this name, ignoring case, accents and extra spaces.
+     * Covers accounts opened through this service.
+     *
+     * @return the account numbers, ascending, or an empty list if there are none
+     * @throws IllegalArgumentException if customer is null
+     */
+    public List<String> getAccountNumbers(Customer customer) {
+        if (Objects.isNull(customer)) {
+            throw new IllegalArgumentException(CUSTOMER_NULL_ERROR);
+        }
+        return customerIndex.findAccountNumbers(customer);
+    }
+
+    /**
+     * Returns the total balance across every account of the customers with this name, as maintained by
+     * each posting. Costs a hash lookup, however many accounts the customer has. Covers accounts opened
+     * through this service.
+     *
+     * @throws IllegalArgumentException if customer is null
+     */
+    public Money getCustomerHoldings(Customer customer) {
+        if (Objects.isNull(customer)) {
+            throw new IllegalArgumentException(CUSTOMER_NULL_ERROR);
+        }
+        return Money.ofCents(customerIndex.holdingsCents(customer));
+    }
+
+    /**
+     * Compares every customer's maintained holdings with the sum of their account balances. Safe to run
+     * against live traffic: a customer whose total moves while being checked is checked again through a
+     * {@link ConsistencyCheck}, and only a disagreement that survives every attempt is reported.
+     *
+     * @return the customers whose holdings have drifted
+     */
+    public List<HoldingsDrift> verifyCustomerHoldings() {
+        List<HoldingsDrift> drifts = new ArrayList<>();
+        for (CustomerIndex.Entry entry : customerIndex.allEntries()) {
+            verifyHoldings(entry).ifPresent(drifts::add);
+        }
+        return drifts;
+    }
+
+    /**
+     * Finds customers by name prefix, last name first: "smi" matches every last name starting with
+     * "Smi", and "smith j" every Smith whose first name starts with J. Case, accents and extra spaces
+     * are ignored. Covers accounts opened through this service.
+     *
+     * @param limit the most customers to return
+     * @return matching customers with their account numbers, in name order
+     * @throws IllegalArgumentException if namePrefix is null or empty, or limit is not positive
+     */
+    public List<CustomerAccounts> searchCustomers(String namePrefix, int limit) {
+        if (Objects.isNull(namePrefix) || namePrefix.trim().isEmpty()) {
+            throw new IllegalArgumentException(CUSTOMER_NAME_NULL_OR_EMPTY_ERROR);
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException(SEARCH_LIMIT_ERROR);
+        }
+        return customerIndex.search(namePrefix, limit);
+    }
 
-    private void recordTransaction(String accountNumber, TransactionType type, Money amount, Money balanceAfter) {
+    /**
+     * Runs a transaction query such as {@code type=withdraw amount>10000 time>=2024-01-29}; see
+     * {@link QueryParser} for the language. The planner picks the cheapest index the store offers, or a
+     * parallel scan. Close the stream when done with it.
+     *
+     * @throws IllegalArgumentException if the query is empty or malformed
+     */
+    public Stream<Transaction> queryTransactions(String query) {
+        QueryPlanner planner = new QueryPlanner(transactionRepository);
+        return planner.execute(planner.plan(queryParser.parse(query)));
+    }
+
+    /**
+     * Describes how {@link #queryTransactions} would run a query, without running it.
+     *
+     * @throws IllegalArgumentException if the query is empty or malformed
+     */
+    public String explainTransactionQuery(String query) {
+        return new QueryPlanner(transactionRepository).plan(queryParser.parse(query)).explain();
+    }
+
+    private Transaction recordTransaction(String accountNumber, TransactionType type, Money amount, Money balanceAfter) {
         Transaction recordedTransaction = new Transaction(generateTransactionId(), accountNumber,
                 type, amount, balanceAfter, LocalDateTime.now());
 
-        transactionRepository.save(recordedTransaction);
+        Transaction saved = transactionRepository.save(recordedTransaction);
+        long deltaCents = type == TransactionType.WITHDRAW ? -amount.toCents() : amount.toCents();
+        customerIndex.adjustHoldings(accountNumber, deltaCents); // Still inside the account's update
+        return saved;
+    }
+
+    /** Called once the account's update has returned, never while it is held. */
+    private void notifyListeners(Transaction saved) {
+        for (TransactionListener listener : transactionListeners) {
+            listener.onTransaction(saved);
+        }
+    }
+
+    private Optional<HoldingsDrift> verifyHoldings(CustomerIndex.Entry entry) {
+        return ConsistencyCheck.run(MAX_VERIFY_ATTEMPTS, VERIFY_RETRY_PAUSE_NANOS, () -> {
+            long before = entry.holdingsCents();
+            long actual = 0;
+            for (String accountNumber : entry.accountNumbers()) {
+                actual += repository.findByNumber(accountNumber).map(acc -> acc.getBalance().toCents()).orElse(0L);
+            }
+            long after = entry.holdingsCents();
+
+            if (before != after) {
+                return ConsistencyCheck.Attempt.moved();
+            }
+            if (before == actual) {
+                return ConsistencyCheck.Attempt.consistent();
+            }
+            return ConsistencyCheck.Attempt.disagreed(
+                    new HoldingsDrift(entry.customer(), Money.ofCents(before), Money.ofCents(actual)));
+        });
+    }
+
+    private static String scopedKey(String operation, String idempotencyKey, String... accountNumbers) {
+        if (Objects.isNull(idempotencyKey) || idempotencyKey.trim().isEmpty()) {
+            throw new IllegalArgumentException(IDEMPOTENCY_KEY_NULL_OR_EMPTY_ERROR);
+        }
+        StringBuilder key = new StringBuilder(operation);
+        for (String accountNumber : accountNumbers) {
+            key.append(KEY_SEPARATOR).append(Objects.isNull(accountNumber) ? "" : accountNumber.trim());
+        }
+        return key.append(KEY_SEPARATOR).append(idempotencyKey.trim()).toString();
     }
 
     private String generateTransactionId() {
@@ -0,0 +1,64 @@
+package com.bank.service;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Repeats a lock-free consistency check until it sees the data hold still, for jobs that compare two
+ * views of a live system without stalling its writers. Each attempt reads a version of the data (a
+ * balance, a running total) before and after its comparison and reports whether it held still.
+ * <p>
+ * A consistent stable attempt ends the check at once. A disagreement is kept only while the attempts
+ * that see it are stable, since an attempt that saw the data move says nothing about earlier ones. The
+ * pause between attempts doubles, so a posting stalled mid-update can still land, and there is no pause
+ * after the final attempt.
+ */
+public final class ConsistencyCheck {
+
+    private ConsistencyCheck() {
+    }
+
+    /**
+     * @param maxAttempts how many attempts to make at most
+     * @param firstPauseNanos pause before the second attempt; doubled before each later one
+     * @param attempt one pass of the check
+     * @return the disagreement seen by the final attempt, or empty if an attempt was consistent or the
+     * final one saw the data move
+     */
+    public static <T> Optional<T> run(int maxAttempts, long firstPauseNanos, Supplier<Attempt<T>> attempt) {
+        T finding = null;
+        for (int i = 0; i < maxAttempts; i++) {
+            if (i > 0) {
+                LockSupport.parkNanos(firstPauseNanos << (i - 1));
+            }
+            Attempt<T> result = attempt.get();
+            if (result.stable() && Objects.isNull(result.finding())) {
+                return Optional.empty();
+            }
+            finding = result.finding();
+        }
+        return Optional.ofNullable(finding);
+    }
+
+    /**
+     * The outcome of one attempt.
+     * @param stable whether the data held still while the attempt compared it
+     * @param finding the disagreement seen by a stable attempt, or {@code null}
+     */
+    public record Attempt<T>(boolean stable, T finding) {
+
+        public static <T> Attempt<T> consistent() {
+            return new Attempt<>(true, null);
+        }
+
+        public static <T> Attempt<T> disagreed(T finding) {
+            return new Attempt<>(true, finding);
+        }
+
+        public static <T> Attempt<T> moved() {
+            return new Attempt<>(false, null);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.bank.service;
+
+import java.util.List;
+
+import com.bank.model.Customer;
+
+/**
+ * A customer and the numbers of the accounts opened for them, in ascending order.
+ */
+public record CustomerAccounts(Customer customer, List<String> accountNumbers) {
+}
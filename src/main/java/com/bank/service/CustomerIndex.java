@@ -0,0 +1,135 @@
+package com.bank.service;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.bank.model.Customer;
+
+/**
+ * Finds accounts by customer name without scanning the accounts.
+ * <p>
+ * Names are normalised (accents stripped, case folded, whitespace collapsed) and keyed last name first,
+ * so "Smith" finds every Smith and "smith j" every Smith whose first name starts with J. Exact names are
+ * looked up in a hash map; for prefix searches the same entries also live in a concurrent skip list, which
+ * finds the first match in O(log n) and then walks only the customers it returns. Customers that differ only
+ * in case or accents share an entry, shown under the first spelling seen.
+ * <p>
+ * Each entry also carries the customer's total holdings in cents, adjusted by every posting to one of
+ * their accounts, so the total is read in O(1) without visiting the accounts.
+ * <p>
+ * It also interns customers, so every account opened for an equal {@link Customer} shares one instance.
+ */
+final class CustomerIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String NAME_SEPARATOR = " ";
+
+    private final ConcurrentHashMap<Customer, Customer> interned = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Entry> byName = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Entry> byAccount = new ConcurrentHashMap<>();
+
+    /** Returns the shared instance equal to {@code customer}, registering it if it is the first. */
+    Customer intern(Customer customer) {
+        Customer existing = interned.putIfAbsent(customer, customer);
+        return Objects.isNull(existing) ? customer : existing;
+    }
+
+    /** Registers a newly opened account; its opening balance arrives through {@link #adjustHoldings}. */
+    void add(Customer customer, String accountNumber) {
+        String key = keyOf(customer);
+        Entry entry = byName.computeIfAbsent(key, k -> new Entry(customer));
+        entries.putIfAbsent(key, entry);
+        entry.accountNumbers.add(accountNumber);
+        byAccount.put(accountNumber, entry);
+    }
+
+    /** Account numbers of every customer whose normalised name equals this one's, ascending. */
+    List<String> findAccountNumbers(Customer customer) {
+        Entry entry = byName.get(keyOf(customer));
+        return Objects.isNull(entry) ? List.of() : List.copyOf(entry.accountNumbers);
+    }
+
+    /**
+     * Applies a balance change of one account to its customer's total. Called inside the account's update,
+     * so the total moves together with the balance. Accounts not registered here are ignored.
+     */
+    void adjustHoldings(String accountNumber, long deltaCents) {
+        Entry entry = byAccount.get(accountNumber);
+        if (Objects.nonNull(entry)) {
+            entry.holdingsCents.addAndGet(deltaCents);
+        }
+    }
+
+    /** The customer's total holdings in cents, or zero if they have no registered accounts. */
+    long holdingsCents(Customer customer) {
+        Entry entry = byName.get(keyOf(customer));
+        return Objects.isNull(entry) ? 0 : entry.holdingsCents.get();
+    }
+
+    /** Every customer entry, in name order, for verification against the account balances. */
+    Collection<Entry> allEntries() {
+        return entries.values();
+    }
+
+    /**
+     * Up to {@code limit} customers whose normalised "last first" name starts with the normalised prefix,
+     * in name order.
+     */
+    List<CustomerAccounts> search(String prefix, int limit) {
+        String normalisedPrefix = normalise(prefix);
+        return entries.tailMap(normalisedPrefix, true).entrySet().stream()
+                .takeWhile(entry -> entry.getKey().startsWith(normalisedPrefix))
+                .limit(limit)
+                .map(Map.Entry::getValue)
+                .map(entry -> new CustomerAccounts(entry.customer, List.copyOf(entry.accountNumbers)))
+                .collect(Collectors.toList());
+    }
+
+    int customerCount() {
+        return entries.size();
+    }
+
+    static String keyOf(Customer customer) {
+        return normalise(customer.lastName()) + NAME_SEPARATOR + normalise(customer.firstName());
+    }
+
+    static String normalise(String name) {
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(withoutAccents.trim()).replaceAll(NAME_SEPARATOR).toLowerCase(Locale.ROOT);
+    }
+
+    static final class Entry {
+        private final Customer customer;
+        private final ConcurrentSkipListSet<String> accountNumbers = new ConcurrentSkipListSet<>();
+        private final AtomicLong holdingsCents = new AtomicLong();
+
+        Entry(Customer customer) {
+            this.customer = customer;
+        }
+
+        Customer customer() {
+            return customer;
+        }
+
+        Set<String> accountNumbers() {
+            return accountNumbers;
+        }
+
+        long holdingsCents() {
+            return holdingsCents.get();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.bank.service;
+
+import com.bank.model.Customer;
+import com.bank.model.Money;
+
+/**
+ * A customer whose maintained total holdings disagree with the sum of their account balances.
+ * @param recorded the total maintained by postings
+ * @param actual the sum of the account balances
+ */
+public record HoldingsDrift(Customer customer, Money recorded, Money actual) {
+}
@@ -0,0 +1,141 @@
+package com.bank.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-expiring record of recently executed operations, keyed by idempotency key.
+ * <p>
+ * Keys are hashed over independently locked segments. Each segment is an insertion-ordered map, and since
+ * every entry lives for the same time-to-live, insertion order is also expiry order: expired entries are
+ * always at the head and are purged in O(1) each, and the eldest entry is evicted when a segment is full.
+ * Memory is therefore bounded by the configured size no matter how long the load lasts.
+ * <p>
+ * The first caller for a key runs the operation; concurrent retries wait for and share its result.
+ * A failed operation is forgotten so that the client can retry it.
+ */
+final class IdempotencyCache<V> {
+
+    private static final String MAXIMUM_SIZE_ERROR = "Maximum size must be positive";
+    private static final String TIME_TO_LIVE_ERROR = "Time to live must be positive";
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment<V>[] segments;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+
+    IdempotencyCache(int maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, System::nanoTime);
+    }
+
+    IdempotencyCache(int maximumSize, Duration timeToLive, LongSupplier nanoClock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException(MAXIMUM_SIZE_ERROR);
+        }
+        if (Objects.isNull(timeToLive) || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException(TIME_TO_LIVE_ERROR);
+        }
+        int segmentCapacity = Math.max(1, (maximumSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        this.segments = newSegments(SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment<>(segmentCapacity);
+        }
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Runs {@code operation} unless a live entry for {@code key} exists, in which case its result is returned.
+     * @throws RuntimeException whatever the operation (or the in-flight call being waited on) threw; an
+     * {@link Error} is rethrown as well, and also frees the key
+     */
+    V execute(String key, Supplier<V> operation) {
+        Segment<V> segment = segments[Math.floorMod(spread(key.hashCode()), SEGMENT_COUNT)];
+        Entry<V> entry = new Entry<>(new CompletableFuture<>(), nanoClock.getAsLong() + timeToLiveNanos);
+        Entry<V> existing;
+        synchronized (segment) {
+            segment.purgeExpired(nanoClock.getAsLong());
+            existing = segment.entries.putIfAbsent(key, entry);
+        }
+        if (Objects.nonNull(existing)) {
+            return await(existing.result());
+        }
+
+        try {
+            V value = operation.get();
+            entry.result().complete(value);
+            return value;
+        } catch (Throwable e) { // Errors too, or waiters on this key would block forever
+            synchronized (segment) {
+                segment.entries.remove(key, entry);
+            }
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                segment.purgeExpired(nanoClock.getAsLong());
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    private static <V> V await(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Segment<V>[] newSegments(int count) {
+        return (Segment<V>[]) new Segment<?>[count];
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private record Entry<V>(CompletableFuture<V> result, long expiresAtNanos) {
+    }
+
+    private static final class Segment<V> {
+
+        private final LinkedHashMap<String, Entry<V>> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(capacity * 4 / 3 + 1) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        void purgeExpired(long now) {
+            Iterator<Entry<V>> oldestFirst = entries.values().iterator();
+            while (oldestFirst.hasNext() && oldestFirst.next().expiresAtNanos() - now <= 0) {
+                oldestFirst.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.service;
+
+import com.bank.model.Transaction;
+
+/**
+ * Callback for every transaction recorded by {@link BankAccountService}.
+ * Listeners run on the posting thread after the account's update has returned, so they must not throw; one
+ * that waits delays only the poster, never other updates to the account.
+ */
+@FunctionalInterface
+public interface TransactionListener {
+    void onTransaction(Transaction transaction);
+}
@@ -0,0 +1,20 @@
+package com.bank.service;
+
+import java.util.List;
+
+import com.bank.model.Transaction;
+
+/**
+ * One page of an account's history, most recent first.
+ * @param transactions the transactions on this page
+ * @param nextCursor the cursor to pass for the next, older page, or {@link #NO_MORE_PAGES} after the last
+ */
+public record TransactionPage(List<Transaction> transactions, long nextCursor) {
+
+    /** Cursor value for the first page and, as {@code nextCursor}, the marker that no older page exists. */
+    public static final long NO_MORE_PAGES = 0;
+
+    public boolean hasMore() {
+        return nextCursor != NO_MORE_PAGES;
+    }
+}
@@ -0,0 +1,96 @@
+package com.bank.analytics;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActivitySketchesTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 5, 4);
+
+    @TempDir
+    Path directory;
+
+    private ActivitySketches sketches;
+    private long[] withdrawalCents;
+
+    @BeforeEach
+    void setUp() {
+        sketches = new ActivitySketches();
+        Random random = new Random(42);
+        withdrawalCents = new long[20_000];
+        for (int i = 0; i < withdrawalCents.length; i++) {
+            withdrawalCents[i] = 100 + random.nextInt(10_000_000);
+            sketches.onTransaction(transaction(String.valueOf(1_000_000 + i % 5_000), TransactionType.WITHDRAW,
+                    withdrawalCents[i], DAY.atTime(9, 0).plusSeconds(i)));
+        }
+        sketches.onTransaction(transaction("1000001", TransactionType.DEPOSIT, 5_000, DAY.atTime(10, 0)));
+        sketches.onTransaction(transaction("2000001", TransactionType.DEPOSIT, 5_000, DAY.plusDays(1).atTime(10, 0)));
+    }
+
+    @Test
+    @DisplayName("Should approximate active accounts and amount quantiles per day")
+    void shouldApproximateActiveAccountsAndQuantiles() {
+        ActivityWindow window = sketches.findWindow(DAY).orElseThrow();
+        long[] sorted = withdrawalCents.clone();
+        Arrays.sort(sorted);
+
+        assertEquals(5_000, window.estimateActiveAccounts(), 5_000 * 0.05);
+        assertEquals(withdrawalCents.length, window.count(TransactionType.WITHDRAW));
+        for (double quantile : new double[] {0.5, 0.9, 0.99}) {
+            long exact = sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+            assertEquals(exact, window.amountQuantile(TransactionType.WITHDRAW, quantile).toCents(), exact * 0.02);
+        }
+        assertEquals(Money.ofCents(5_000).toCents(), window.amountQuantile(TransactionType.DEPOSIT, 0.5).toCents(), 100);
+        assertEquals(Money.ZERO, window.amountQuantile(TransactionType.INTEREST, 0.5));
+        assertEquals(1, sketches.findWindow(DAY.plusDays(1)).orElseThrow().estimateActiveAccounts());
+        assertTrue(sketches.findWindow(DAY.minusDays(1)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> window.amountQuantile(TransactionType.WITHDRAW, 1.5));
+    }
+
+    @Test
+    @DisplayName("Should save a day's window and merge it back on load")
+    void shouldSaveAndMergeWindowOnLoad() throws IOException {
+        Path file = directory.resolve("activity-" + DAY + ".bin");
+        ActivityWindow before = sketches.findWindow(DAY).orElseThrow();
+        long activeBefore = before.estimateActiveAccounts();
+        Money medianBefore = before.amountQuantile(TransactionType.WITHDRAW, 0.5);
+
+        sketches.save(DAY, file);
+        sketches.evictBefore(DAY.plusDays(1));
+        assertTrue(sketches.findWindow(DAY).isEmpty());
+
+        assertEquals(DAY, sketches.load(file));
+        ActivityWindow reloaded = sketches.findWindow(DAY).orElseThrow();
+        assertEquals(activeBefore, reloaded.estimateActiveAccounts());
+        assertEquals(medianBefore, reloaded.amountQuantile(TransactionType.WITHDRAW, 0.5));
+
+        sketches.load(file); // Merging the same accounts again leaves the distinct count alone
+        assertEquals(activeBefore, sketches.findWindow(DAY).orElseThrow().estimateActiveAccounts());
+        assertEquals(2L * withdrawalCents.length, sketches.findWindow(DAY).orElseThrow().count(TransactionType.WITHDRAW));
+
+        Files.writeString(file, "not a window");
+        assertThrows(IOException.class, () -> sketches.load(file));
+        assertThrows(IllegalArgumentException.class,
+                () -> before.merge(new ActivityWindow(DAY.plusDays(1))));
+    }
+
+    private static Transaction transaction(String accountNumber, TransactionType type, long cents, LocalDateTime timestamp) {
+        return new Transaction(UUID.randomUUID().toString(), accountNumber, type, Money.ofCents(cents), Money.ZERO, timestamp);
+    }
+}
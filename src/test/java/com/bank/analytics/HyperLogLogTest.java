@@ -0,0 +1,59 @@
+package com.bank.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("Should estimate distinct values within a few percent, ignoring repeats")
+    void shouldEstimateDistinctValues() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (int i = 0; i < 100_000; i++) {
+                sketch.add(String.valueOf(1_000_000 + i));
+            }
+        }
+
+        assertEquals(100_000, sketch.estimate(), 100_000 * 0.05);
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    @DisplayName("Should count small sets almost exactly")
+    void shouldCountSmallSetsAlmostExactly() {
+        HyperLogLog sketch = new HyperLogLog();
+        IntStream.range(0, 50).forEach(i -> sketch.add("account-" + i));
+
+        assertEquals(50, sketch.estimate(), 2);
+    }
+
+    @Test
+    @DisplayName("Should merge sketches as a union and survive a round trip")
+    void shouldMergeAsUnionAndRoundTrip() throws IOException {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        IntStream.range(0, 30_000).parallel().forEach(i -> first.add(String.valueOf(i)));
+        IntStream.range(20_000, 50_000).parallel().forEach(i -> second.add(String.valueOf(i)));
+
+        first.merge(second);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        first.writeTo(new DataOutputStream(bytes));
+        HyperLogLog copy = HyperLogLog.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(50_000, first.estimate(), 50_000 * 0.05);
+        assertEquals(first.estimate(), copy.estimate());
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(10)));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> first.add(null));
+    }
+}
@@ -0,0 +1,149 @@
+package com.bank.analytics;
+
+import com.bank.model.Customer;
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.inmemory.InMemoryAccountRepository;
+import com.bank.repository.inmemory.InMemoryTransactionRepository;
+import com.bank.service.BankAccountService;
+import com.bank.service.SimpleAccountNumberGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VolumeRollupTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 5, 4, 0, 0);
+
+    private InMemoryTransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = new InMemoryTransactionRepository();
+    }
+
+    @Test
+    @DisplayName("Should answer hour, day and type slices like a full scan after a rebuild")
+    void shouldAnswerSlicesLikeFullScanAfterRebuild() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            TransactionType type = TransactionType.values()[random.nextInt(TransactionType.values().length)];
+            transactionRepository.save(new Transaction(UUID.randomUUID().toString(), String.valueOf(1_000_000 + i % 50),
+                    type, Money.ofCents(1 + random.nextInt(1_000_000)), Money.ZERO, START.plusMinutes(random.nextInt(3 * 24 * 60))));
+        }
+        VolumeRollup rollup = new VolumeRollup();
+
+        assertEquals(10_000, rollup.rebuild(transactionRepository));
+
+        LocalDateTime hour = START.plusHours(30);
+        assertEquals(scan(t -> !t.timestamp().isBefore(hour) && t.timestamp().isBefore(hour.plusHours(1))
+                && t.type() == TransactionType.WITHDRAW), rollup.forHour(hour.plusMinutes(59), TransactionType.WITHDRAW));
+        LocalDate day = START.toLocalDate().plusDays(1);
+        assertEquals(scan(t -> t.timestamp().toLocalDate().equals(day)), rollup.forDay(day, null));
+        assertEquals(scan(t -> t.timestamp().toLocalDate().equals(day) && t.type() == TransactionType.DEPOSIT),
+                rollup.forDay(day, TransactionType.DEPOSIT));
+        List<VolumeSummary> hourly = rollup.hourly(day, TransactionType.INTEREST);
+        assertEquals(24, hourly.size());
+        assertEquals(rollup.forDay(day, TransactionType.INTEREST).count(),
+                hourly.stream().mapToLong(VolumeSummary::count).sum());
+        assertEquals(VolumeSummary.EMPTY, rollup.forDay(day.plusDays(10), null));
+    }
+
+    @Test
+    @DisplayName("Should reject null hours, days and repositories")
+    void shouldRejectNullArguments() {
+        VolumeRollup rollup = new VolumeRollup();
+
+        assertThrows(IllegalArgumentException.class, () -> rollup.forHour(null, null));
+        assertThrows(IllegalArgumentException.class, () -> rollup.forDay(null, null));
+        assertThrows(IllegalArgumentException.class, () -> rollup.hourly(null, null));
+        assertThrows(IllegalArgumentException.class, () -> rollup.rebuild(null));
+    }
+
+    @Test
+    @DisplayName("Should refuse a second rebuild")
+    void shouldRefuseSecondRebuild() {
+        VolumeRollup rollup = new VolumeRollup();
+        rollup.rebuild(transactionRepository);
+
+        assertThrows(IllegalStateException.class, () -> rollup.rebuild(transactionRepository));
+    }
+
+    @Test
+    @DisplayName("Should keep every count when many short-lived threads post")
+    void shouldKeepCountsFromShortLivedThreads() throws InterruptedException {
+        VolumeRollup rollup = new VolumeRollup();
+        rollup.rebuild(transactionRepository);
+        List<Thread> posters = new ArrayList<>();
+        for (int thread = 0; thread < 64; thread++) {
+            posters.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    rollup.onTransaction(transactionRepository.save(new Transaction(UUID.randomUUID().toString(),
+                            "1000001", TransactionType.DEPOSIT, Money.of("1.00"), Money.ZERO, START.plusMinutes(i % 60))));
+                }
+            }));
+        }
+        posters.forEach(Thread::start);
+        for (Thread poster : posters) {
+            poster.join();
+        }
+
+        assertEquals(new VolumeSummary(32_000, Money.of("32000.00")), rollup.forHour(START, TransactionType.DEPOSIT));
+    }
+
+    @Test
+    @DisplayName("Should count each transaction once when postings run during the rebuild")
+    void shouldCountEachTransactionOnceDuringRebuild() throws InterruptedException {
+        BankAccountService bankService = new BankAccountService(new InMemoryAccountRepository(), transactionRepository,
+                new SimpleAccountNumberGenerator());
+        List<String> accounts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            accounts.add(bankService.openAccount(new Customer("John", "Doe"), Money.of("100.00")));
+        }
+        for (int i = 0; i < 2_000; i++) {
+            bankService.deposit(accounts.get(i % accounts.size()), Money.of("1.00"));
+        }
+        VolumeRollup rollup = new VolumeRollup();
+        bankService.addTransactionListener(rollup);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4_000; i++) {
+            String account = accounts.get(i % accounts.size());
+            executor.execute(() -> bankService.withdraw(account, Money.of("0.01")));
+        }
+        rollup.rebuild(transactionRepository);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Set<LocalDate> days = transactionRepository.streamAll().map(t -> t.timestamp().toLocalDate())
+                .collect(Collectors.toSet());
+        for (LocalDate day : days) {
+            for (TransactionType type : TransactionType.values()) {
+                assertEquals(scan(t -> t.timestamp().toLocalDate().equals(day) && t.type() == type),
+                        rollup.forDay(day, type));
+            }
+        }
+    }
+
+    private VolumeSummary scan(Predicate<Transaction> slice) {
+        List<Transaction> matches = transactionRepository.streamAll().filter(slice).collect(Collectors.toList());
+        return matches.isEmpty() ? VolumeSummary.EMPTY : new VolumeSummary(matches.size(),
+                matches.stream().map(Transaction::amount).reduce(Money.ZERO, Money::add));
+    }
+}
@@ -0,0 +1,116 @@
+package com.bank.batch;
+
+import com.bank.model.Customer;
+import com.bank.model.Money;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.inmemory.InMemoryAccountRepository;
+import com.bank.repository.inmemory.InMemoryTransactionRepository;
+import com.bank.service.BankAccountService;
+import com.bank.service.HoldingsDrift;
+import com.bank.service.SimpleAccountNumberGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldingsVerificationJobTest {
+
+    private static final Duration ONE_HOUR = Duration.ofHours(1);
+
+    private AccountRepository accountRepository;
+    private BankAccountService bankService;
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = new InMemoryAccountRepository();
+        bankService = new BankAccountService(accountRepository, new InMemoryTransactionRepository(),
+                new SimpleAccountNumberGenerator());
+        for (int i = 0; i < 20; i++) {
+            accountNumbers.add(bankService.openAccount(new Customer("John", "Doe" + i % 5), Money.of("100.00")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should find no drift while transfers run between customers")
+    void shouldFindNoDriftDuringConcurrentTransfers() throws Exception {
+        List<HoldingsDrift> drifts = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        // Passes are driven by the test; the background verifier would only run after an hour
+        try (HoldingsVerificationJob job = new HoldingsVerificationJob(bankService, ONE_HOUR, drifts::add)) {
+            for (int i = 0; i < 400; i++) {
+                String from = accountNumbers.get(i % accountNumbers.size());
+                String to = accountNumbers.get((i * 7 + 3) % accountNumbers.size());
+                if (!from.equals(to)) {
+                    executor.execute(() -> bankService.transfer(from, to, Money.of("0.01")));
+                }
+            }
+            for (int i = 0; i < 5; i++) {
+                job.verify();
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(0, job.verify());
+        }
+
+        assertTrue(drifts.isEmpty());
+        assertEquals(Money.of("2000.00"), accountNumbers.stream()
+                .map(bankService::getBalance)
+                .reduce(Money.ZERO, Money::add));
+    }
+
+    @Test
+    @DisplayName("Should report a balance changed outside the service")
+    void shouldReportBalanceChangedOutsideService() {
+        List<HoldingsDrift> drifts = new CopyOnWriteArrayList<>();
+        accountRepository.update(accountNumbers.get(0), account -> {
+            account.withdraw(Money.of("30.00"));
+            return account;
+        });
+
+        try (HoldingsVerificationJob job = new HoldingsVerificationJob(bankService, ONE_HOUR, drifts::add)) {
+            assertEquals(1, job.verify());
+        }
+
+        assertEquals(1, drifts.size());
+        assertEquals(Money.of("400.00"), drifts.get(0).recorded());
+        assertEquals(Money.of("370.00"), drifts.get(0).actual());
+        assertThrows(IllegalArgumentException.class,
+                () -> new HoldingsVerificationJob(bankService, Duration.ZERO, drifts::add));
+        assertThrows(IllegalArgumentException.class, () -> new HoldingsVerificationJob(null, ONE_HOUR, drifts::add));
+    }
+
+    @Test
+    @DisplayName("Should keep verifying in the background after a pass fails")
+    void shouldKeepVerifyingAfterFailedPass() {
+        AtomicInteger reports = new AtomicInteger();
+        accountRepository.update(accountNumbers.get(0), account -> {
+            account.withdraw(Money.of("30.00"));
+            return account;
+        });
+
+        try (HoldingsVerificationJob job = new HoldingsVerificationJob(bankService, Duration.ofMillis(10), drift -> {
+            if (reports.incrementAndGet() == 1) {
+                throw new IllegalStateException("Sink unavailable");
+            }
+        })) {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (reports.get() < 2 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+
+            assertTrue(reports.get() >= 2);
+            assertEquals(1, job.getFailedRuns());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.bank.batch;
+
+import com.bank.model.Customer;
+import com.bank.model.InterestRate;
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.repository.inmemory.InMemoryAccountRepository;
+import com.bank.repository.inmemory.InMemoryTransactionRepository;
+import com.bank.service.BankAccountService;
+import com.bank.service.SimpleAccountNumberGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterestAccrualJobTest {
+
+    private static final LocalDate ACCRUAL_DATE = LocalDate.of(2026, 3, 31);
+    private static final InterestRate DAILY_RATE = InterestRate.ofBasisPoints(365).perPeriod(365);
+    private static final int PARTITIONS = 4;
+
+    @TempDir
+    Path checkpointDirectory;
+
+    private AccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
+    private BankAccountService bankService;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = new InMemoryAccountRepository();
+        transactionRepository = new InMemoryTransactionRepository();
+        bankService = new BankAccountService(accountRepository, transactionRepository, new SimpleAccountNumberGenerator());
+        for (int i = 0; i < 50; i++) {
+            bankService.openAccount(new Customer("John", "Doe"), Money.of("10000.00"));
+        }
+        bankService.openAccount(new Customer("Jane", "Smith"), null);
+    }
+
+    @Test
+    @DisplayName("Should post interest and record it in the ledger")
+    void shouldPostInterestAndRecordItInLedger() throws IOException {
+        InterestAccrualReport report = newJob().run(DAILY_RATE, ACCRUAL_DATE);
+
+        assertEquals(51, report.accountsVisited());
+        assertEquals(50, report.accrualsPosted());
+        assertEquals(Money.of("50.00"), report.totalInterest());
+        assertEquals(Money.of("10001.00"), bankService.getBalance("1000001"));
+
+        List<Transaction> history = transactionRepository.findByAccountNumber("1000001", 1);
+        assertEquals(TransactionType.INTEREST, history.get(0).type());
+        assertEquals(Money.of("1.00"), history.get(0).amount());
+        assertEquals(Money.of("10001.00"), history.get(0).afterAmount());
+    }
+
+    @Test
+    @DisplayName("Should be idempotent per accrual date")
+    void shouldBeIdempotentPerAccrualDate() throws IOException {
+        newJob().run(DAILY_RATE, ACCRUAL_DATE);
+
+        InterestAccrualReport rerun = newJob().run(DAILY_RATE, ACCRUAL_DATE);
+
+        assertEquals(0, rerun.accrualsPosted());
+        assertEquals(Money.ZERO, rerun.totalInterest());
+        assertEquals(Money.of("10001.00"), bankService.getBalance("1000001"));
+    }
+
+    @Test
+    @DisplayName("Should resume after an interrupted run without double posting")
+    void shouldResumeAfterInterruptedRun() throws IOException {
+        PartitionCheckpoint interrupted = new PartitionCheckpoint(
+                checkpointDirectory.resolve("interest-" + ACCRUAL_DATE + ".checkpoint"), PARTITIONS);
+        interrupted.markCompleted(1);
+        accountRepository.streamAll()
+                .filter(account -> PartitionedAccountRunner.partitionOf(account.getAccountNumber(), PARTITIONS) == 1)
+                .forEach(account -> bankService.accrueInterest(account.getAccountNumber(), DAILY_RATE, ACCRUAL_DATE));
+
+        InterestAccrualReport resumed = newJob().run(DAILY_RATE, ACCRUAL_DATE);
+
+        assertEquals(1, resumed.partitionsSkipped());
+        accountRepository.streamAll()
+                .filter(account -> account.getBalance().isPositive())
+                .forEach(account -> assertEquals(Money.of("10001.00"), account.getBalance()));
+    }
+
+    private InterestAccrualJob newJob() {
+        return new InterestAccrualJob(bankService, accountRepository, checkpointDirectory, PARTITIONS, 2);
+    }
+}
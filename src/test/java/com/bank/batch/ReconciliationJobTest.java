@@ -0,0 +1,124 @@
+package com.bank.batch;
+
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.repository.inmemory.InMemoryAccountRepository;
+import com.bank.repository.inmemory.InMemoryTransactionRepository;
+import com.bank.service.BankAccountService;
+import com.bank.service.SimpleAccountNumberGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReconciliationJobTest {
+
+    private static final int PARTITIONS = 8;
+
+    @TempDir
+    Path workDirectory;
+
+    private AccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
+    private BankAccountService bankService;
+    private Path checkpointFile;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = new InMemoryAccountRepository();
+        transactionRepository = new InMemoryTransactionRepository();
+        bankService = new BankAccountService(accountRepository, transactionRepository, new SimpleAccountNumberGenerator());
+        checkpointFile = workDirectory.resolve("reconciliation.checkpoint");
+        for (int i = 0; i < 100; i++) {
+            String accountNumber = bankService.openAccount(new Customer("John", "Doe"), Money.of("100.00"));
+            bankService.withdraw(accountNumber, Money.of("25.50"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should find no mismatches when balances match the ledger")
+    void shouldFindNoMismatchesWhenBalancesMatchLedger() throws IOException {
+        List<ReconciliationMismatch> mismatches = new CopyOnWriteArrayList<>();
+
+        ReconciliationReport report = newJob().run(mismatches::add);
+
+        assertEquals(100, report.accountsChecked());
+        assertEquals(0, report.mismatches());
+        assertTrue(mismatches.isEmpty());
+        assertFalse(Files.exists(checkpointFile));
+    }
+
+    @Test
+    @DisplayName("Should report an account whose ledger disagrees with its balance")
+    void shouldReportAccountWhoseLedgerDisagrees() throws IOException {
+        transactionRepository.save(new Transaction("stray", "1000007", TransactionType.DEPOSIT,
+                Money.of("1.00"), Money.of("75.50"), LocalDateTime.now()));
+        List<ReconciliationMismatch> mismatches = new CopyOnWriteArrayList<>();
+
+        ReconciliationReport report = newJob().run(mismatches::add);
+
+        assertEquals(1, report.mismatches());
+        ReconciliationMismatch mismatch = mismatches.get(0);
+        assertEquals("1000007", mismatch.accountNumber());
+        assertEquals(Money.of("74.50"), mismatch.balance());
+        assertEquals(Money.of("75.50"), mismatch.ledgerNet());
+    }
+
+    @Test
+    @DisplayName("Should skip partitions completed by an interrupted run")
+    void shouldSkipPartitionsCompletedByInterruptedRun() throws IOException {
+        PartitionCheckpoint interrupted = new PartitionCheckpoint(checkpointFile, PARTITIONS);
+        interrupted.markCompleted(0);
+        interrupted.markCompleted(3);
+        long alreadyChecked = accountRepository.streamAll()
+                .map(account -> PartitionedAccountRunner.partitionOf(account.getAccountNumber(), PARTITIONS))
+                .filter(partition -> partition == 0 || partition == 3)
+                .count();
+
+        ReconciliationReport report = newJob().run(mismatch -> { });
+
+        assertEquals(2, report.partitionsSkipped());
+        assertEquals(100 - alreadyChecked, report.accountsChecked());
+    }
+
+    @Test
+    @DisplayName("Should retry rather than report an account whose balance moves during its check")
+    void shouldRetryAccountWhoseBalanceMovesDuringCheck() throws IOException {
+        String moving = "1000042";
+        Account account = accountRepository.findByNumber(moving).orElseThrow();
+        Account stale = Account.restore(moving, account.getCustomer(), account.getBalance(), null);
+        AccountRepository postingMidCheck = spy(accountRepository);
+        doAnswer(invocation -> {
+            bankService.deposit(moving, Money.of("1.00")); // Lands between the two balance reads
+            return Optional.of(stale);
+        }).doCallRealMethod().when(postingMidCheck).findByNumber(moving);
+        List<ReconciliationMismatch> mismatches = new CopyOnWriteArrayList<>();
+
+        ReconciliationReport report = new ReconciliationJob(postingMidCheck, transactionRepository, checkpointFile,
+                PARTITIONS, 4).run(mismatches::add);
+
+        assertEquals(100, report.accountsChecked());
+        assertTrue(mismatches.isEmpty());
+        verify(postingMidCheck, times(4)).findByNumber(moving);
+    }
+
+    private ReconciliationJob newJob() {
+        return new ReconciliationJob(accountRepository, transactionRepository, checkpointFile, PARTITIONS, 4);
+    }
+}
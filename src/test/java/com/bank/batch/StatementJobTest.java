@@ -0,0 +1,123 @@
+package com.bank.batch;
+
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.repository.inmemory.InMemoryAccountRepository;
+import com.bank.repository.inmemory.InMemoryTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementJobTest {
+
+    private static final LocalDate STATEMENT_DATE = LocalDate.of(2026, 3, 31);
+    private static final String ACCOUNT_NUMBER = "1000001";
+    private static final String IDLE_ACCOUNT_NUMBER = "1000002";
+
+    @TempDir
+    Path outputDirectory;
+
+    private AccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = new InMemoryAccountRepository();
+        transactionRepository = new InMemoryTransactionRepository();
+        accountRepository.save(new Account(ACCOUNT_NUMBER, new Customer("John", "Doe")));
+        accountRepository.save(new Account(IDLE_ACCOUNT_NUMBER, new Customer("Jane", "Smith")));
+
+        record(ACCOUNT_NUMBER, TransactionType.DEPOSIT, "100.00", "100.00", STATEMENT_DATE.minusDays(1).atTime(9, 0));
+        record(ACCOUNT_NUMBER, TransactionType.DEPOSIT, "50.00", "150.00", STATEMENT_DATE.atTime(10, 0));
+        record(ACCOUNT_NUMBER, TransactionType.WITHDRAW, "20.00", "130.00", STATEMENT_DATE.atTime(15, 30));
+        record(ACCOUNT_NUMBER, TransactionType.DEPOSIT, "5.00", "135.00", STATEMENT_DATE.plusDays(1).atTime(8, 0));
+    }
+
+    @Test
+    @DisplayName("Should write opening, movements and closing balance for the statement day")
+    void shouldWriteOpeningMovementsAndClosingBalance() throws IOException {
+        StatementJob job = new StatementJob(accountRepository, transactionRepository, outputDirectory, 1, 2);
+
+        StatementRunReport report = job.run(STATEMENT_DATE, null);
+
+        assertEquals(2, report.accounts());
+        assertEquals(2, report.movements());
+        String statements = Files.readString(report.shardFiles().get(0));
+        assertTrue(statements.contains("Statement for account " + ACCOUNT_NUMBER + " (John Doe) on " + STATEMENT_DATE));
+        assertTrue(statements.contains("Opening balance: $100.00"));
+        assertTrue(statements.contains("Deposit | $50.00 | $150.00"));
+        assertTrue(statements.contains("Withdraw | $20.00 | $130.00"));
+        assertTrue(statements.contains("Closing balance: $130.00"));
+        assertFalse(statements.contains("$135.00"));
+    }
+
+    @Test
+    @DisplayName("Should carry the balance through for accounts without movements")
+    void shouldCarryBalanceThroughForIdleAccounts() throws IOException {
+        StatementJob job = new StatementJob(accountRepository, transactionRepository, outputDirectory, 1, 1);
+
+        String statements = Files.readString(job.run(STATEMENT_DATE, null).shardFiles().get(0));
+
+        int idleStatement = statements.indexOf("Statement for account " + IDLE_ACCOUNT_NUMBER);
+        assertTrue(idleStatement >= 0);
+        String idle = statements.substring(idleStatement);
+        assertTrue(idle.startsWith("Statement for account " + IDLE_ACCOUNT_NUMBER + " (Jane Smith)"));
+        assertTrue(idle.contains("Opening balance: $0.00"));
+        assertTrue(idle.contains("Closing balance: $0.00"));
+    }
+
+    @Test
+    @DisplayName("Should spread statements over shard files and report progress")
+    void shouldSpreadStatementsOverShardFiles() throws IOException {
+        for (int i = 3; i <= 250_000; i++) {
+            accountRepository.save(new Account(String.valueOf(1_000_000 + i), new Customer("John", "Doe")));
+        }
+        List<BatchProgress> progress = new ArrayList<>();
+        StatementJob job = new StatementJob(accountRepository, transactionRepository, outputDirectory, 4, 4);
+
+        StatementRunReport report = job.run(STATEMENT_DATE, p -> {
+            synchronized (progress) {
+                progress.add(p);
+            }
+        });
+
+        assertEquals(250_000, report.accounts());
+        assertEquals(4, report.shardFiles().size());
+        long statements = 0;
+        for (Path shard : report.shardFiles()) {
+            statements += Files.readAllLines(shard).stream().filter(line -> line.startsWith("Statement for")).count();
+        }
+        assertEquals(250_000, statements);
+        assertEquals(2, progress.size());
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive shard count")
+    void shouldRejectNonPositiveShardCount() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new StatementJob(accountRepository, transactionRepository, outputDirectory, 0, 1));
+        assertEquals("Shard count must be positive", exception.getMessage());
+    }
+
+    private void record(String accountNumber, TransactionType type, String amount, String after, LocalDateTime at) {
+        transactionRepository.save(new Transaction(UUID.randomUUID().toString(), accountNumber, type,
+                Money.of(amount), Money.of(after), at));
+    }
+}
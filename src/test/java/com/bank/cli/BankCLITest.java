@@ -12,6 +12,7 @@ import org.junit.jupiter.api.DisplayName;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -252,6 +253,96 @@ class BankCLITest {
         tearDown();
     }
 
+    @Test
+    @DisplayName("Should stream History rows under a single header")
+    void shouldStreamHistoryRowsUnderSingleHeader() {
+        cli.processCommand(NEW_ACCOUNT_COMMAND_JOHN_DOE);
+        String accountNumber = getAccountNumberFromLastOutput();
+        cli.processCommand("Deposit " + AMOUNT_500_00 + " " + accountNumber);
+        cli.processCommand("Withdraw " + AMOUNT_150_25 + " " + accountNumber);
+        outputStream.reset();
+
+        cli.processCommand("History " + accountNumber);
+        String[] lines = outputStream.toString().split(System.lineSeparator());
+        assertEquals(3, lines.length);
+        assertEquals("Transaction History for account: " + accountNumber, lines[0]);
+        assertTrue(lines[1].contains("WITHDRAW | 150.25 | 349.75"));
+        assertTrue(lines[2].contains("DEPOSIT | 500.00 | 500.00"));
+        outputStream.reset();
+
+        LocalDate today = LocalDate.now();
+        cli.processCommand("History " + accountNumber + " " + today + " " + today.plusDays(1));
+        lines = outputStream.toString().split(System.lineSeparator());
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].contains("DEPOSIT"));
+        assertTrue(lines[2].contains("WITHDRAW"));
+        outputStream.reset();
+
+        cli.processCommand("History " + accountNumber + " " + today.minusDays(2) + " " + today.minusDays(1));
+        assertTrue(outputStream.toString().contains("No transactions found"));
+        outputStream.reset();
+
+        cli.processCommand("History " + accountNumber + " " + today);
+        assertTrue(outputStream.toString().contains("Usage: History"));
+
+        tearDown();
+    }
+
+    @Test
+    @DisplayName("Should run and explain a transaction query")
+    void shouldRunAndExplainTransactionQuery() {
+        cli.processCommand(NEW_ACCOUNT_COMMAND_JOHN_DOE);
+        String accountNumber = getAccountNumberFromLastOutput();
+        cli.processCommand("Deposit " + AMOUNT_500_00 + " " + accountNumber);
+        cli.processCommand("Withdraw " + AMOUNT_150_25 + " " + accountNumber);
+        outputStream.reset();
+
+        cli.processCommand("Query account=" + accountNumber + " type=withdraw");
+        String output = outputStream.toString();
+        assertTrue(output.contains("| " + accountNumber + " | WITHDRAW | 150.25 | 349.75"));
+        assertTrue(output.contains("1 transaction(s) found"));
+        outputStream.reset();
+
+        cli.processCommand("Explain account=" + accountNumber);
+        assertTrue(outputStream.toString().contains("Access path: ACCOUNT_HISTORY"));
+        outputStream.reset();
+
+        cli.processCommand("Query amount>lots");
+        assertTrue(outputStream.toString().contains("Error: Invalid value in condition: amount>lots"));
+        outputStream.reset();
+
+        cli.processCommand("Query");
+        assertTrue(outputStream.toString().contains("Usage: Query"));
+
+        tearDown();
+    }
+
+    @Test
+    @DisplayName("Should list a customer's accounts with balances")
+    void shouldListCustomersAccountsWithBalances() {
+        cli.processCommand(NEW_ACCOUNT_COMMAND_JOHN_DOE);
+        String first = getAccountNumberFromLastOutput();
+        outputStream.reset();
+        cli.processCommand(NEW_ACCOUNT_COMMAND_JOHN_DOE);
+        String second = getAccountNumberFromLastOutput();
+        cli.processCommand("Deposit " + AMOUNT_100_50 + " " + second);
+        outputStream.reset();
+
+        cli.processCommand("Customer doe jo");
+        assertTrue(outputStream.toString().contains(
+                "Doe, John (total " + FORMATTED_100_50 + "): " + first + " (" + FORMATTED_0_00 + "), " + second + " (" + FORMATTED_100_50 + ")"));
+        outputStream.reset();
+
+        cli.processCommand("Customer Smith");
+        assertTrue(outputStream.toString().contains("No customers found"));
+        outputStream.reset();
+
+        cli.processCommand("Customer");
+        assertTrue(outputStream.toString().contains("Usage: Customer"));
+
+        tearDown();
+    }
+
     private String getAccountNumberFromLastOutput() {
         String output = outputStream.toString();
         String[] lines = output.split("\n");
@@ -262,4 +353,33 @@ class BankCLITest {
         }
         return DEFAULT_FALLBACK_ACCOUNT;
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should show approximate activity for a day")
+    void shouldShowApproximateActivityForDay() {
+        cli.processCommand(NEW_ACCOUNT_COMMAND_JOHN_DOE);
+        String first = getAccountNumberFromLastOutput();
+        outputStream.reset();
+        cli.processCommand(NEW_ACCOUNT_COMMAND_JOHN_DOE);
+        String second = getAccountNumberFromLastOutput();
+        cli.processCommand("Deposit " + AMOUNT_100_50 + " " + first);
+        cli.processCommand("Deposit " + AMOUNT_100_50 + " " + second);
+        outputStream.reset();
+
+        cli.processCommand("Stats");
+        String output = outputStream.toString();
+        assertTrue(output.contains("Active accounts: 2"));
+        assertTrue(output.contains("Deposit: 2 transaction(s), median " + FORMATTED_100_50));
+        assertFalse(output.contains("Withdraw:"));
+        outputStream.reset();
+
+        cli.processCommand("Stats 2001-01-01");
+        assertTrue(outputStream.toString().contains("No transactions found"));
+        outputStream.reset();
+
+        cli.processCommand("Stats yesterday");
+        assertTrue(outputStream.toString().contains("Usage: Stats"));
+
+        tearDown();
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -223,6 +224,19 @@ class CommandParserTest {
         assertFalse(commandParser.isValidBalanceCommand(tooManyArgs));
     }
 
+    @Test
+    @DisplayName("Should validate History command with an optional date range")
+    void shouldValidateHistoryCommandWithOptionalDateRange() {
+        assertTrue(commandParser.isValidAccountHistoryCommand(List.of(ACCOUNT_NUMBER_12345)));
+        assertTrue(commandParser.isValidAccountHistoryCommand(List.of(ACCOUNT_NUMBER_12345, "2024-01-01", "2024-02-01")));
+        assertFalse(commandParser.isValidAccountHistoryCommand(List.of(ACCOUNT_NUMBER_12345, "2024-01-01")));
+        assertFalse(commandParser.isValidAccountHistoryCommand(List.of(ACCOUNT_NUMBER_12345, "2024-02-01", "2024-01-01")));
+        assertFalse(commandParser.isValidAccountHistoryCommand(List.of(ACCOUNT_NUMBER_12345, "2024-01-01", EXTRA_ARG)));
+        assertEquals(LocalDate.of(2024, 1, 31), commandParser.parseDate("2024-01-31"));
+        assertNull(commandParser.parseDate("2024-02-30"));
+        assertNull(commandParser.parseDate(null));
+    }
+
     @Test
     @DisplayName("Should parse valid decimal amounts")
     void shouldParseValidDecimalAmounts() {
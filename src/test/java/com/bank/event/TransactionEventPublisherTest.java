@@ -0,0 +1,221 @@
+package com.bank.event;
+
+import com.bank.model.Customer;
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.inmemory.InMemoryAccountRepository;
+import com.bank.repository.inmemory.InMemoryTransactionRepository;
+import com.bank.service.BankAccountService;
+import com.bank.service.SimpleAccountNumberGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionEventPublisherTest {
+
+    private static final int BUFFER_CAPACITY = 8;
+
+    @TempDir
+    Path spillDirectory;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should deliver transactions recorded by the service")
+    void shouldDeliverTransactionsRecordedByService() throws InterruptedException {
+        TransactionEventPublisher publisher = new TransactionEventPublisher(executor, BUFFER_CAPACITY, OverflowPolicy.BLOCK, null);
+        BankAccountService bankService = new BankAccountService(new InMemoryAccountRepository(),
+                new InMemoryTransactionRepository(), new SimpleAccountNumberGenerator());
+        bankService.addTransactionListener(publisher);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        String accountNumber = bankService.openAccount(new Customer("John", "Doe"), null);
+        bankService.deposit(accountNumber, Money.of("100.00"));
+        bankService.withdraw(accountNumber, Money.of("40.00"));
+        publisher.close();
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(TransactionType.DEPOSIT, TransactionType.WITHDRAW),
+                subscriber.received.stream().map(Transaction::type).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should block a poster on a full buffer without holding the account")
+    void shouldBlockPosterOnFullBufferWithoutHoldingAccount() throws InterruptedException {
+        TransactionEventPublisher publisher = new TransactionEventPublisher(executor, BUFFER_CAPACITY, OverflowPolicy.BLOCK, null);
+        InMemoryAccountRepository accountRepository = new InMemoryAccountRepository();
+        BankAccountService bankService = new BankAccountService(accountRepository,
+                new InMemoryTransactionRepository(), new SimpleAccountNumberGenerator());
+        bankService.addTransactionListener(publisher);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+        String accountNumber = bankService.openAccount(new Customer("John", "Doe"), null);
+        for (int i = 0; i < BUFFER_CAPACITY; i++) {
+            bankService.deposit(accountNumber, Money.of("1.00"));
+        }
+
+        Thread poster = new Thread(() -> bankService.deposit(accountNumber, Money.of("1.00")));
+        poster.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!bankService.getBalance(accountNumber).equals(Money.of("9.00")) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        assertEquals(Money.of("9.00"), bankService.getBalance(accountNumber));
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> accountRepository.update(accountNumber, account -> account));
+        assertTrue(poster.isAlive());
+        subscriber.subscription.request(Long.MAX_VALUE);
+        poster.join(TimeUnit.SECONDS.toMillis(5));
+        publisher.close();
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(BUFFER_CAPACITY + 1, subscriber.received.size());
+    }
+
+    @Test
+    @DisplayName("Should drop overflow for a subscriber that stops requesting")
+    void shouldDropOverflowForSlowSubscriber() throws InterruptedException {
+        TransactionEventPublisher publisher = new TransactionEventPublisher(executor, BUFFER_CAPACITY, OverflowPolicy.DROP, null);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        for (int i = 0; i < 20; i++) {
+            publisher.publish(transaction(i));
+        }
+        subscriber.subscription.request(Long.MAX_VALUE);
+        publisher.close();
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(BUFFER_CAPACITY, subscriber.received.size());
+        assertEquals(20 - BUFFER_CAPACITY, publisher.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Should spill overflow to disk and replay it in order")
+    void shouldSpillOverflowToDiskAndReplayInOrder() throws InterruptedException {
+        TransactionEventPublisher publisher = new TransactionEventPublisher(executor, BUFFER_CAPACITY, OverflowPolicy.SPILL, spillDirectory);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        for (int i = 0; i < 100; i++) {
+            publisher.publish(transaction(i));
+        }
+        subscriber.subscription.request(Long.MAX_VALUE);
+        publisher.close();
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(100, subscriber.received.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("txn-" + i, subscriber.received.get(i).transactionId());
+            assertEquals(Money.of(i + ".25"), subscriber.received.get(i).amount());
+        }
+        assertEquals(0, publisher.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Should never deliver more than requested")
+    void shouldNeverDeliverMoreThanRequested() throws Exception {
+        TransactionEventPublisher publisher = new TransactionEventPublisher(executor, BUFFER_CAPACITY, OverflowPolicy.DROP, null);
+        RecordingSubscriber subscriber = new RecordingSubscriber(3);
+        publisher.subscribe(subscriber);
+
+        for (int i = 0; i < 5; i++) {
+            publisher.publish(transaction(i));
+        }
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS); // the single worker has run every pending drain
+
+        assertEquals(3, subscriber.received.size());
+    }
+
+    @Test
+    @DisplayName("Should signal an error for a non-positive request")
+    void shouldSignalErrorForNonPositiveRequest() throws InterruptedException {
+        TransactionEventPublisher publisher = new TransactionEventPublisher(executor, BUFFER_CAPACITY, OverflowPolicy.DROP, null);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should require a spill directory for the SPILL policy")
+    void shouldRequireSpillDirectoryForSpillPolicy() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new TransactionEventPublisher(executor, BUFFER_CAPACITY, OverflowPolicy.SPILL, null));
+        assertEquals("Spill directory is required for the SPILL policy", exception.getMessage());
+    }
+
+    private static Transaction transaction(int i) {
+        return new Transaction("txn-" + i, "1000001", TransactionType.DEPOSIT, Money.of(i + ".25"),
+                Money.of("100.00"), LocalDateTime.now());
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<Transaction> {
+
+        private final long initialRequest;
+        private final List<Transaction> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(Transaction item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.time.LocalDate;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AccountTest {
@@ -272,4 +274,29 @@ class AccountTest {
         
         assertEquals("$123.45", account.getFormattedBalance());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should accrue interest once per accrual date")
+    void shouldAccrueInterestOncePerAccrualDate() {
+        Account account = new Account(TEST_ACCOUNT_NUMBER, customer);
+        account.deposit(Money.of("100.00"));
+        LocalDate accrualDate = LocalDate.of(2026, 3, 31);
+
+        assertTrue(account.accrueInterest(Money.of("0.50"), accrualDate));
+        assertFalse(account.accrueInterest(Money.of("0.50"), accrualDate));
+        assertFalse(account.accrueInterest(Money.of("0.50"), accrualDate.minusDays(1)));
+
+        assertEquals(Money.of("100.50"), account.getBalance());
+        assertEquals(accrualDate, account.getLastInterestAccrualDate());
+    }
+
+    @Test
+    @DisplayName("Should reject negative interest")
+    void shouldRejectNegativeInterest() {
+        Account account = new Account(TEST_ACCOUNT_NUMBER, customer);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> account.accrueInterest(Money.of("-0.01"), LocalDate.of(2026, 3, 31)));
+        assertEquals("Interest amount cannot be negative", exception.getMessage());
+    }
+}
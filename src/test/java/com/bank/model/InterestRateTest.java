@@ -0,0 +1,70 @@
+package com.bank.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterestRateTest {
+
+    private static final String DENOMINATOR_ERROR = "Rate denominator must be positive";
+    private static final String NEGATIVE_RATE_ERROR = "Rate cannot be negative";
+
+    @Test
+    @DisplayName("Should create rate from basis points in lowest terms")
+    void shouldCreateRateFromBasisPoints() {
+        InterestRate rate = InterestRate.ofBasisPoints(250);
+
+        assertEquals(1, rate.getNumerator());
+        assertEquals(40, rate.getDenominator());
+        assertEquals(InterestRate.of(25, 1000), rate);
+    }
+
+    @Test
+    @DisplayName("Should split an annual rate into exact daily periods")
+    void shouldSplitAnnualRateIntoDailyPeriods() {
+        InterestRate daily = InterestRate.ofBasisPoints(365).perPeriod(365);
+
+        assertEquals(InterestRate.ofBasisPoints(1), daily);
+    }
+
+    @Test
+    @DisplayName("Should apply rate to cents with half-up rounding")
+    void shouldApplyRateToCentsWithHalfUpRounding() {
+        InterestRate rate = InterestRate.of(1, 200);
+
+        assertEquals(1, rate.applyToCents(100));
+        assertEquals(0, rate.applyToCents(99));
+        assertEquals(-1, rate.applyToCents(-100));
+    }
+
+    @Test
+    @DisplayName("Should apply rate without overflow on very large balances")
+    void shouldApplyRateWithoutOverflowOnLargeBalances() {
+        InterestRate rate = InterestRate.of(Long.MAX_VALUE / 3, Long.MAX_VALUE);
+
+        assertEquals(1_000_000_000_000L / 3, rate.applyToCents(1_000_000_000_000L));
+    }
+
+    @Test
+    @DisplayName("Should multiply money by an exact rate")
+    void shouldMultiplyMoneyByExactRate() {
+        Money balance = Money.of("1234567.89");
+
+        Money daily = balance.multiply(InterestRate.ofBasisPoints(475).perPeriod(365));
+
+        assertEquals(Money.of("160.66"), daily);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid rates")
+    void shouldRejectInvalidRates() {
+        IllegalArgumentException denominator = assertThrows(IllegalArgumentException.class,
+                () -> InterestRate.of(1, 0));
+        assertEquals(DENOMINATOR_ERROR, denominator.getMessage());
+
+        IllegalArgumentException negative = assertThrows(IllegalArgumentException.class,
+                () -> InterestRate.of(-1, 100));
+        assertEquals(NEGATIVE_RATE_ERROR, negative.getMessage());
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.query;
+
+import com.bank.model.Money;
+import com.bank.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryParserTest {
+
+    private QueryParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new QueryParser();
+    }
+
+    @Test
+    @DisplayName("Should turn every comparison into a half-open range")
+    void shouldTurnComparisonsIntoHalfOpenRanges() {
+        TransactionQuery query = parser.parse(
+                "type=Withdraw and amount>10000 amount<=15000 time>=2024-01-29 time<=2024-02-04 seq>7 limit=5");
+
+        assertNull(query.accountNumber());
+        assertEquals(TransactionType.WITHDRAW, query.type());
+        assertEquals(Money.of("10000.01"), query.minAmount());
+        assertEquals(Money.of("15000.01"), query.maxAmount());
+        assertEquals(LocalDateTime.of(2024, 1, 29, 0, 0), query.from());
+        assertEquals(LocalDateTime.of(2024, 2, 5, 0, 0), query.to());
+        assertEquals(8L, query.minSequence());
+        assertNull(query.maxSequence());
+        assertEquals(5, query.limit());
+    }
+
+    @Test
+    @DisplayName("Should keep the tighter bound when a field is compared twice")
+    void shouldKeepTighterBoundWhenFieldIsComparedTwice() {
+        TransactionQuery query = parser.parse("ACCOUNT=1000001 time=2024-03-01T14:00 time>2024-03-01 seq>=3 seq>=9 seq<20");
+
+        assertEquals("1000001", query.accountNumber());
+        assertEquals(LocalDateTime.of(2024, 3, 2, 0, 0), query.from());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 14, 0, 0, 1), query.to());
+        assertEquals(9L, query.minSequence());
+        assertEquals(20L, query.maxSequence());
+        assertEquals(TransactionQuery.NO_LIMIT, query.limit());
+        assertEquals("account=1000001 time>=2024-03-02T00:00 time<2024-03-01T14:00:00.000000001 seq>=9 seq<20",
+                query.toString());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed queries with the offending condition")
+    void shouldRejectMalformedQueries() {
+        assertEquals("Query cannot be empty",
+                assertThrows(IllegalArgumentException.class, () -> parser.parse("  ")).getMessage());
+        assertEquals("Invalid condition: amount",
+                assertThrows(IllegalArgumentException.class, () -> parser.parse("amount")).getMessage());
+        assertEquals("Unknown field in condition: colour=red",
+                assertThrows(IllegalArgumentException.class, () -> parser.parse("colour=red")).getMessage());
+        assertEquals("Unsupported operator in condition: account>5",
+                assertThrows(IllegalArgumentException.class, () -> parser.parse("account>5")).getMessage());
+        assertEquals("Invalid value in condition: amount>ten",
+                assertThrows(IllegalArgumentException.class, () -> parser.parse("amount>ten")).getMessage());
+        assertEquals("Invalid value in condition: type=refund",
+                assertThrows(IllegalArgumentException.class, () -> parser.parse("type=refund")).getMessage());
+        assertEquals("Invalid value in condition: time<2024-02-30",
+                assertThrows(IllegalArgumentException.class, () -> parser.parse("time<2024-02-30")).getMessage());
+        assertEquals("Invalid value in condition: limit=0",
+                assertThrows(IllegalArgumentException.class, () -> parser.parse("limit=0")).getMessage());
+        assertEquals("Condition repeated: type=deposit",
+                assertThrows(IllegalArgumentException.class, () -> parser.parse("type=withdraw type=deposit")).getMessage());
+    }
+}
@@ -0,0 +1,110 @@
+package com.bank.query;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.TransactionIndex;
+import com.bank.repository.TransactionRepository;
+import com.bank.repository.index.AmountIndexedTransactionRepository;
+import com.bank.repository.inmemory.ColumnarTransactionRepository;
+import com.bank.repository.inmemory.InMemoryTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QueryPlannerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int TRANSACTIONS = 4_000;
+    private static final int SCAN_PARALLELISM = 4;
+
+    private final QueryParser parser = new QueryParser();
+    private AmountIndexedTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new AmountIndexedTransactionRepository(new InMemoryTransactionRepository());
+        Random random = new Random(7);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            TransactionType type = TransactionType.values()[random.nextInt(TransactionType.values().length)];
+            repository.save(new Transaction(UUID.randomUUID().toString(), String.valueOf(1_000_000 + i % 40), type,
+                    Money.ofCents(1 + random.nextInt(3_000_000)), Money.ZERO, START.plusMinutes(7L * i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should choose the cheapest index the store offers")
+    void shouldChooseCheapestAvailableIndex() {
+        assertEquals(AccessPath.ACCOUNT_HISTORY, pathFor("account=1000003 amount>100"));
+        assertEquals(AccessPath.AMOUNT_INDEX, pathFor("type=withdraw amount>10000 amount<12000 time>=2024-01-05"));
+        assertEquals(AccessPath.TIME_INDEX, pathFor("time>=2024-01-05 time<2024-01-06 amount>10"));
+        assertEquals(AccessPath.SEQUENCE_LOG, pathFor("seq>100 seq<=200"));
+        assertEquals(AccessPath.PARALLEL_SCAN, pathFor("type=deposit"));
+        assertEquals(AccessPath.PARALLEL_SCAN, pathFor("time>=2024-01-05"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to a scan when the store lacks the index")
+    void shouldFallBackToScanWhenStoreLacksIndex() {
+        QueryPlanner columnar = new QueryPlanner(new ColumnarTransactionRepository(), SCAN_PARALLELISM);
+
+        assertEquals(AccessPath.PARALLEL_SCAN,
+                columnar.plan(parser.parse("type=withdraw amount>10000 amount<12000")).accessPath());
+        assertEquals(AccessPath.SEQUENCE_LOG, columnar.plan(parser.parse("seq>100 seq<=200")).accessPath());
+    }
+
+    @Test
+    @DisplayName("Should return the same transactions whichever path is taken")
+    void shouldReturnSameTransactionsWhicheverPathIsTaken() {
+        TransactionRepository scanOnly = spy(repository);
+        doReturn(EnumSet.of(TransactionIndex.ACCOUNT)).when(scanOnly).availableIndexes();
+
+        for (String query : List.of("account=1000003 amount>100", "type=withdraw amount>10000 amount<12000",
+                "amount>=29000", "time>=2024-01-05 time<2024-01-06 amount>10", "seq>100 seq<=200 type=interest",
+                "type=deposit time<2024-01-03")) {
+            TransactionQuery parsed = parser.parse(query);
+            List<Transaction> expected = repository.streamAll().filter(parsed::matches)
+                    .sorted(Comparator.comparingLong(Transaction::sequence)).collect(Collectors.toList());
+
+            assertFalse(expected.isEmpty(), query);
+            assertEquals(expected, run(repository, parsed), query);
+            assertEquals(expected, run(scanOnly, parsed), query);
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply the limit and explain the chosen path")
+    void shouldApplyLimitAndExplainChosenPath() {
+        QueryPlanner planner = new QueryPlanner(repository, SCAN_PARALLELISM);
+        QueryPlan plan = planner.plan(parser.parse("type=withdraw amount>=10000 amount<20000 limit=3"));
+
+        assertEquals(3, planner.execute(plan).count());
+        String explanation = plan.explain();
+        assertTrue(explanation.contains("Access path: AMOUNT_INDEX"));
+        assertTrue(explanation.contains("AMOUNT_INDEX     0.0333  <- chosen"));
+        assertTrue(explanation.contains("PARALLEL_SCAN    0.2500"));
+        assertFalse(explanation.contains("TIME_INDEX"));
+    }
+
+    private AccessPath pathFor(String query) {
+        return new QueryPlanner(repository, SCAN_PARALLELISM).plan(parser.parse(query)).accessPath();
+    }
+
+    private List<Transaction> run(TransactionRepository store, TransactionQuery query) {
+        QueryPlanner planner = new QueryPlanner(store, SCAN_PARALLELISM);
+        return planner.execute(planner.plan(query))
+                .sorted(Comparator.comparingLong(Transaction::sequence))
+                .collect(Collectors.toList());
+    }
+}
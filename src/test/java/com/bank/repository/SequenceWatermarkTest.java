@@ -0,0 +1,51 @@
+package com.bank.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceWatermarkTest {
+
+    @Test
+    @DisplayName("Should hold the watermark below a number still in flight")
+    void shouldHoldWatermarkBelowNumberStillInFlight() {
+        SequenceWatermark watermark = new SequenceWatermark();
+        long first = watermark.allocate();
+        long second = watermark.allocate();
+        long third = watermark.allocate();
+
+        watermark.complete(third);
+        watermark.complete(first);
+        assertEquals(first, watermark.watermark());
+
+        watermark.complete(second);
+        assertEquals(third, watermark.watermark());
+    }
+
+    @Test
+    @DisplayName("Should catch up past a long gap once it closes")
+    void shouldCatchUpPastLongGapOnceItCloses() {
+        SequenceWatermark watermark = new SequenceWatermark();
+        long stalled = watermark.allocate();
+        long last = LongStream.range(0, 20_000).map(i -> watermark.allocate()).peek(watermark::complete).max().orElseThrow();
+        assertEquals(0, watermark.watermark());
+
+        watermark.complete(stalled);
+
+        assertEquals(last, watermark.watermark());
+    }
+
+    @Test
+    @DisplayName("Should reach the last number when completed concurrently out of order")
+    void shouldReachLastNumberWhenCompletedConcurrently() {
+        SequenceWatermark watermark = new SequenceWatermark();
+        int count = 200_000;
+
+        LongStream.range(0, count).parallel().map(i -> watermark.allocate()).forEach(watermark::complete);
+
+        assertEquals(count, watermark.watermark());
+    }
+}
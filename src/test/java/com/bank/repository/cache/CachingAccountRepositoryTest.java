@@ -0,0 +1,174 @@
+package com.bank.repository.cache;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.model.Money;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.inmemory.InMemoryAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingAccountRepositoryTest {
+
+    private static final Customer CUSTOMER = new Customer("John", "Doe");
+
+    private AccountRepository backing;
+    private AtomicInteger backingReads;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryAccountRepository store = new InMemoryAccountRepository();
+        for (int i = 0; i < 100; i++) {
+            store.save(new Account(String.valueOf(1_000_000 + i), CUSTOMER));
+        }
+        backingReads = new AtomicInteger();
+        backing = spy(store);
+        doAnswer(invocation -> {
+            backingReads.incrementAndGet();
+            return invocation.callRealMethod();
+        }).when(backing).findByNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache")
+    void shouldServeRepeatedReadsFromCache() {
+        CachingAccountRepository cache = new CachingAccountRepository(backing, 50, EvictionPolicy.LRU);
+
+        cache.findByNumber("1000001");
+        cache.findByNumber("1000001");
+        cache.findByNumber("1000001");
+
+        assertEquals(1, backingReads.get());
+        CacheStats stats = cache.getStats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    @DisplayName("Should keep updates coherent with the cache")
+    void shouldKeepUpdatesCoherentWithCache() {
+        CachingAccountRepository cache = new CachingAccountRepository(backing, 50, EvictionPolicy.SEGMENTED_LRU);
+        cache.findByNumber("1000001");
+
+        cache.update("1000001", account -> {
+            account.deposit(Money.of("10.00"));
+            return account;
+        });
+
+        assertEquals(Money.of("10.00"), cache.findByNumber("1000001").orElseThrow().getBalance());
+        assertEquals(Money.of("10.00"), backing.findByNumber("1000001").orElseThrow().getBalance());
+    }
+
+    @Test
+    @DisplayName("Should bound its size and count evictions")
+    void shouldBoundSizeAndCountEvictions() {
+        CachingAccountRepository cache = new CachingAccountRepository(backing, 32, EvictionPolicy.LRU);
+
+        for (int i = 0; i < 100; i++) {
+            cache.findByNumber(String.valueOf(1_000_000 + i));
+        }
+
+        CacheStats stats = cache.getStats();
+        assertTrue(stats.size() <= 32);
+        assertEquals(100 - stats.size(), stats.evictionCount());
+    }
+
+    @Test
+    @DisplayName("Should protect frequently used accounts from a scan under segmented LRU")
+    void shouldProtectHotAccountsFromScanUnderSegmentedLru() {
+        CachingAccountRepository cache = new CachingAccountRepository(backing, 32, EvictionPolicy.SEGMENTED_LRU);
+        cache.findByNumber("1000001");
+        cache.findByNumber("1000001");
+
+        for (int i = 10; i < 100; i++) {
+            cache.findByNumber(String.valueOf(1_000_000 + i));
+        }
+        int readsBefore = backingReads.get();
+        cache.findByNumber("1000001");
+
+        assertEquals(readsBefore, backingReads.get());
+    }
+
+    @Test
+    @DisplayName("Should defer updates until flushed in write-behind mode")
+    void shouldDeferUpdatesUntilFlushedInWriteBehindMode() {
+        CachingAccountRepository cache = new CachingAccountRepository(backing, 50, EvictionPolicy.LRU,
+                WriteMode.WRITE_BEHIND, Duration.ofHours(1));
+
+        cache.update("1000002", account -> {
+            account.deposit(Money.of("5.00"));
+            return account;
+        });
+
+        assertEquals(1, cache.getStats().pendingWrites());
+        verify(backing, never()).save(any());
+        assertEquals(Money.of("5.00"), cache.findByNumber("1000002").orElseThrow().getBalance());
+
+        cache.close();
+
+        assertEquals(0, cache.getStats().pendingWrites());
+        verify(backing).save(any());
+    }
+
+    @Test
+    @DisplayName("Should keep a write pending when the backing save fails")
+    void shouldKeepWritePendingWhenBackingSaveFails() {
+        CachingAccountRepository cache = new CachingAccountRepository(backing, 50, EvictionPolicy.LRU,
+                WriteMode.WRITE_BEHIND, Duration.ofHours(1));
+        doThrow(new IllegalStateException("Backing store unavailable")).doCallRealMethod().when(backing).save(any());
+        cache.update("1000003", account -> {
+            account.deposit(Money.of("5.00"));
+            return account;
+        });
+
+        assertThrows(IllegalStateException.class, cache::flush);
+        assertEquals(1, cache.getStats().pendingWrites());
+        assertEquals(1, cache.getStats().flushFailures());
+
+        cache.flush();
+
+        assertEquals(0, cache.getStats().pendingWrites());
+        assertEquals(Money.of("5.00"), backing.findByNumber("1000003").orElseThrow().getBalance());
+    }
+
+    @Test
+    @DisplayName("Should keep flushing in the background after a failed flush")
+    void shouldKeepFlushingInBackgroundAfterFailedFlush() {
+        doThrow(new IllegalStateException("Backing store unavailable")).doCallRealMethod().when(backing).save(any());
+        CachingAccountRepository cache = new CachingAccountRepository(backing, 50, EvictionPolicy.LRU,
+                WriteMode.WRITE_BEHIND, Duration.ofMillis(10));
+        cache.update("1000004", account -> {
+            account.deposit(Money.of("5.00"));
+            return account;
+        });
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (cache.getStats().pendingWrites() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        assertEquals(0, cache.getStats().pendingWrites());
+        assertEquals(1, cache.getStats().flushFailures());
+        cache.close();
+    }
+
+    @Test
+    @DisplayName("Should not cache missing accounts")
+    void shouldNotCacheMissingAccounts() {
+        CachingAccountRepository cache = new CachingAccountRepository(backing, 50, EvictionPolicy.LRU,
+                WriteMode.WRITE_BEHIND, Duration.ofHours(1));
+
+        assertEquals(Optional.empty(), cache.findByNumber("99999"));
+        assertThrows(AccountNotFoundException.class, () -> cache.update("99999", account -> account));
+        assertEquals(0, cache.getStats().size());
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.repository.filter;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.inmemory.InMemoryAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BloomFilterAccountRepositoryTest {
+
+    private static final Customer CUSTOMER = new Customer("John", "Doe");
+    private static final int ACCOUNTS = 10_000;
+
+    private AccountRepository backing;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryAccountRepository store = new InMemoryAccountRepository();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            store.save(new Account(String.valueOf(1_000_000 + i), CUSTOMER));
+        }
+        backing = spy(store);
+    }
+
+    @Test
+    @DisplayName("Should find every existing account after the startup rebuild")
+    void shouldFindEveryExistingAccountAfterRebuild() throws InterruptedException {
+        BloomFilterAccountRepository repository = new BloomFilterAccountRepository(backing, ACCOUNTS, 0.01);
+
+        assertTrue(repository.awaitReady(Duration.ofSeconds(5)));
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            assertTrue(repository.exists(String.valueOf(1_000_000 + i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer most missing accounts without the backing repository")
+    void shouldAnswerMissingAccountsWithoutBackingRepository() throws InterruptedException {
+        BloomFilterAccountRepository repository = new BloomFilterAccountRepository(backing, ACCOUNTS, 0.01);
+        assertTrue(repository.awaitReady(Duration.ofSeconds(5)));
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            assertTrue(repository.findByNumber("9" + i).isEmpty());
+        }
+
+        BloomFilterStats stats = repository.getStats();
+        assertEquals(ACCOUNTS, stats.filteredLookups() + stats.falsePositives());
+        assertTrue(stats.falsePositives() < ACCOUNTS * 0.03);
+        verify(backing, times((int) stats.falsePositives())).findByNumber(anyString());
+        assertTrue(stats.estimatedFalsePositiveRate() < 0.03);
+    }
+
+    @Test
+    @DisplayName("Should see accounts saved after the rebuild")
+    void shouldSeeAccountsSavedAfterRebuild() throws InterruptedException {
+        BloomFilterAccountRepository repository = new BloomFilterAccountRepository(backing, 16, 0.01);
+        assertTrue(repository.awaitReady(Duration.ofSeconds(5)));
+
+        repository.save(new Account("ABC-1", CUSTOMER));
+
+        assertTrue(repository.findByNumber("ABC-1").isPresent());
+        assertTrue(repository.getStats().layers() > 1);
+    }
+
+    @Test
+    @DisplayName("Should reject updates to missing accounts from the filter")
+    void shouldRejectUpdatesToMissingAccountsFromFilter() throws InterruptedException {
+        BloomFilterAccountRepository repository = new BloomFilterAccountRepository(backing, ACCOUNTS, 0.0001);
+        assertTrue(repository.awaitReady(Duration.ofSeconds(5)));
+
+        assertThrows(AccountNotFoundException.class, () -> repository.update("nope", account -> account));
+    }
+}
@@ -0,0 +1,148 @@
+package com.bank.repository.index;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.TransactionIndex;
+import com.bank.repository.TransactionRepository;
+import com.bank.repository.inmemory.ColumnarTransactionRepository;
+import com.bank.repository.inmemory.InMemoryTransactionRepository;
+import com.bank.repository.tiered.TieredTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AmountIndexedTransactionRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 5, 4, 9, 0);
+    private static final int TRANSACTIONS = 5_000;
+
+    private InMemoryTransactionRepository backing;
+    private AmountIndexedTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        backing = new InMemoryTransactionRepository();
+        Random random = new Random(42);
+        for (int i = 0; i < TRANSACTIONS / 2; i++) {
+            backing.save(randomTransaction(random, i)); // Indexed by the constructor's initial scan
+        }
+        repository = new AmountIndexedTransactionRepository(backing);
+        for (int i = TRANSACTIONS / 2; i < TRANSACTIONS; i++) {
+            repository.save(randomTransaction(random, i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer amount ranges like a full scan")
+    void shouldAnswerAmountRangesLikeFullScan() {
+        Money min = Money.of("10000.00");
+        Money max = Money.of("15000.00");
+
+        for (TransactionType type : TransactionType.values()) {
+            assertEquals(scanByAmount(type, min, max), repository.streamByAmount(type, min, max)
+                    .collect(Collectors.toList()));
+            assertEquals(scanByAmount(type, min, null), repository.streamByAmount(type, min, null)
+                    .collect(Collectors.toList()));
+        }
+        assertEquals(TRANSACTIONS, repository.getIndexedCount());
+        assertEquals(TRANSACTIONS, Arrays.stream(TransactionType.values())
+                .mapToLong(type -> repository.streamByAmount(type, null, null).count())
+                .sum());
+        assertEquals(0, repository.streamByAmount(TransactionType.DEPOSIT, max, min).count());
+    }
+
+    @Test
+    @DisplayName("Should return the largest amounts per type, most recent first among ties")
+    void shouldReturnLargestAmountsPerType() {
+        Transaction tie = repository.save(new Transaction(UUID.randomUUID().toString(), "1000001",
+                TransactionType.WITHDRAW, Money.of("25000.00"), Money.ZERO, START));
+        Transaction laterTie = repository.save(new Transaction(UUID.randomUUID().toString(), "1000002",
+                TransactionType.WITHDRAW, Money.of("25000.00"), Money.ZERO, START));
+
+        List<Transaction> largest = repository.findLargest(TransactionType.WITHDRAW, 10);
+
+        assertEquals(List.of(laterTie, tie), largest.subList(0, 2));
+        assertEquals(backing.findLargest(TransactionType.WITHDRAW, 10), largest);
+        assertEquals(backing.findLargest(TransactionType.INTEREST, 3), repository.findLargest(TransactionType.INTEREST, 3));
+        assertTrue(repository.findLargest(TransactionType.DEPOSIT, 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> repository.findLargest(null, 1));
+    }
+
+    @Test
+    @DisplayName("Should read indexed rows back from a columnar store")
+    void shouldReadIndexedRowsBackFromColumnarStore() {
+        ColumnarTransactionRepository columnar = new ColumnarTransactionRepository();
+        AmountIndexedTransactionRepository indexed = new AmountIndexedTransactionRepository(columnar);
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            indexed.save(randomTransaction(random, i));
+        }
+
+        for (TransactionType type : TransactionType.values()) {
+            assertEquals(columnar.findLargest(type, 5), indexed.findLargest(type, 5));
+            assertEquals(columnar.streamByAmount(type, Money.of("5000.00"), null).collect(Collectors.toList()),
+                    indexed.streamByAmount(type, Money.of("5000.00"), null).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should return indexed rows while the backing store's watermark lags")
+    void shouldReturnIndexedRowsWhileWatermarkLags() {
+        InMemoryTransactionRepository lagging = spy(new InMemoryTransactionRepository());
+        doReturn(Stream.empty()).when(lagging).streamSince(anyLong()); // A lower save is still in flight
+        AmountIndexedTransactionRepository indexed = new AmountIndexedTransactionRepository(lagging);
+        Transaction saved = indexed.save(new Transaction(UUID.randomUUID().toString(), "1000001",
+                TransactionType.DEPOSIT, Money.of("75.00"), Money.ZERO, START));
+
+        assertEquals(List.of(saved), indexed.findLargest(TransactionType.DEPOSIT, 5));
+        assertEquals(List.of(saved), indexed.streamByAmount(TransactionType.DEPOSIT, Money.of("50.00"), null)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should refuse a backing store without a sequence index")
+    void shouldRefuseStoreWithoutSequenceIndex(@TempDir Path directory) {
+        try (TieredTransactionRepository tiered = new TieredTransactionRepository(directory, 10)) {
+            assertFalse(tiered.availableIndexes().contains(TransactionIndex.SEQUENCE));
+            assertThrows(IllegalArgumentException.class, () -> new AmountIndexedTransactionRepository(tiered));
+        }
+    }
+
+    @Test
+    @DisplayName("Should pass every other call through to the backing store")
+    void shouldPassOtherCallsThroughToBackingStore() {
+        assertEquals(backing.findByAccountNumber("1000003", 5), repository.findByAccountNumber("1000003", 5));
+        assertEquals(TRANSACTIONS, repository.streamAll().count());
+        assertEquals(TRANSACTIONS, repository.streamSince(Transaction.UNSEQUENCED).count());
+        assertThrows(IllegalArgumentException.class, () -> new AmountIndexedTransactionRepository(null));
+    }
+
+    private List<Transaction> scanByAmount(TransactionType type, Money minInclusive, Money maxExclusive) {
+        return backing.streamAll()
+                .filter(transaction -> transaction.type() == type
+                        && (minInclusive == null || !transaction.amount().isLessThan(minInclusive))
+                        && (maxExclusive == null || transaction.amount().isLessThan(maxExclusive)))
+                .sorted(TransactionRepository.BY_AMOUNT)
+                .collect(Collectors.toList());
+    }
+
+    private static Transaction randomTransaction(Random random, int i) {
+        TransactionType type = TransactionType.values()[random.nextInt(TransactionType.values().length)];
+        return new Transaction(UUID.randomUUID().toString(), String.valueOf(1_000_000 + i % 20), type,
+                Money.ofCents(1 + random.nextInt(2_000_000)), Money.ZERO, START.plusMinutes(i));
+    }
+}
@@ -0,0 +1,179 @@
+package com.bank.repository.index;
+
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.model.Money;
+import com.bank.repository.inmemory.InMemoryAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceRankedAccountRepositoryTest {
+
+    private static final Customer CUSTOMER = new Customer("John", "Doe");
+    private static final int ACCOUNTS = 2_000;
+
+    private InMemoryAccountRepository backing;
+    private BalanceRankedAccountRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        backing = new InMemoryAccountRepository();
+        Random random = new Random(42);
+        for (int i = 0; i < ACCOUNTS / 2; i++) {
+            backing.save(newAccount(i, random)); // Ranked by the constructor's initial scan
+        }
+        repository = new BalanceRankedAccountRepository(backing);
+        for (int i = ACCOUNTS / 2; i < ACCOUNTS; i++) {
+            repository.save(newAccount(i, random));
+        }
+    }
+
+    @Test
+    @DisplayName("Should rank balances like a full sort")
+    void shouldRankBalancesLikeFullSort() {
+        List<Account> sorted = largestFirst();
+
+        List<RankedBalance> top = repository.findTop(50);
+        assertEquals(sorted.subList(0, 50).stream().map(Account::getAccountNumber).collect(Collectors.toList()),
+                top.stream().map(RankedBalance::accountNumber).collect(Collectors.toList()));
+        for (int position = 1; position <= ACCOUNTS; position += 37) {
+            Account expected = sorted.get(position - 1);
+            RankedBalance ranked = repository.findAtPosition(position).orElseThrow();
+            assertEquals(expected.getBalance(), ranked.balance());
+            assertEquals(rankOf(sorted, expected), ranked.rank());
+            assertEquals(ranked.rank(), repository.findRank(ranked.accountNumber()).orElseThrow().rank());
+        }
+        assertEquals(ACCOUNTS, repository.getRankedCount());
+        assertTrue(repository.findAtPosition(ACCOUNTS + 1).isEmpty());
+        assertTrue(repository.findRank("9999999").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should share ranks between equal balances")
+    void shouldShareRanksBetweenEqualBalances() {
+        InMemoryAccountRepository store = new InMemoryAccountRepository();
+        BalanceRankedAccountRepository ranked = new BalanceRankedAccountRepository(store);
+        ranked.save(accountWith("1000001", "500.00"));
+        ranked.save(accountWith("1000002", "900.00"));
+        ranked.save(accountWith("1000003", "500.00"));
+        ranked.save(accountWith("1000004", "0.00"));
+
+        assertEquals(List.of(1L, 2L, 2L, 4L), ranked.findTop(10).stream().map(RankedBalance::rank)
+                .collect(Collectors.toList()));
+        assertEquals(25.0, ranked.findPercentile("1000001").orElseThrow());
+        assertEquals(75.0, ranked.findPercentile("1000002").orElseThrow());
+        assertEquals(Money.of("500.00"), ranked.findBalanceAtPercentile(50).orElseThrow());
+        assertEquals(Money.ZERO, ranked.findBalanceAtPercentile(0).orElseThrow());
+        assertThrows(IllegalArgumentException.class, () -> ranked.findBalanceAtPercentile(101));
+        assertThrows(IllegalArgumentException.class, () -> new BalanceRankedAccountRepository(null));
+    }
+
+    @Test
+    @DisplayName("Should follow concurrent deposits and withdrawals")
+    void shouldFollowConcurrentUpdates() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            int seed = thread;
+            executor.execute(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 5_000; i++) {
+                    String accountNumber = String.valueOf(1_000_000 + random.nextInt(ACCOUNTS));
+                    Money amount = Money.ofCents(1 + random.nextInt(100_000));
+                    repository.update(accountNumber, account -> {
+                        if (random.nextBoolean() || !account.getBalance().isGreaterThanOrEqualTo(amount)) {
+                            account.deposit(amount);
+                        } else {
+                            account.withdraw(amount);
+                        }
+                        return account;
+                    });
+                    repository.findTop(10); // Reads run alongside the writers
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        List<Account> sorted = largestFirst();
+        assertEquals(sorted.get(0).getBalance(), repository.findTop(1).get(0).balance());
+        for (Account account : sorted.subList(0, 200)) {
+            assertEquals(rankOf(sorted, account), repository.findRank(account.getAccountNumber()).orElseThrow().rank());
+        }
+    }
+
+    @Test
+    @DisplayName("Should rank within a crowded bucket from either end")
+    void shouldRankWithinCrowdedBucket() {
+        InMemoryAccountRepository store = new InMemoryAccountRepository();
+        BalanceRankedAccountRepository ranked = new BalanceRankedAccountRepository(store);
+        for (int i = 0; i < 300; i++) { // 2048.00 to 2062.95, all in one bucket, with a block of ties
+            long cents = 204_800 + (i % 6 == 0 ? 750 : i * 5L);
+            ranked.save(accountWith(String.valueOf(1_000_000 + i), Money.ofCents(cents).toString()));
+        }
+        ranked.save(accountWith("1000300", "10.00"));
+        ranked.save(accountWith("1000301", "90000.00"));
+        assertEquals(BalanceRankedAccountRepository.bucketOf(204_800), BalanceRankedAccountRepository.bucketOf(206_295));
+
+        List<Account> sorted = store.streamAll()
+                .sorted(Comparator.comparing((Account account) -> account.getBalance().toCents()).reversed()
+                        .thenComparing(Account::getAccountNumber, Comparator.reverseOrder()))
+                .collect(Collectors.toList());
+        for (int position = 1; position <= sorted.size(); position++) {
+            Account expected = sorted.get(position - 1);
+            long below = sorted.stream().filter(other -> other.getBalance().isLessThan(expected.getBalance())).count();
+            assertEquals(expected.getBalance(), ranked.findAtPosition(position).orElseThrow().balance());
+            assertEquals(rankOf(sorted, expected), ranked.findRank(expected.getAccountNumber()).orElseThrow().rank());
+            assertEquals(100.0 * below / sorted.size(), ranked.findPercentile(expected.getAccountNumber()).orElseThrow());
+        }
+    }
+
+    @Test
+    @DisplayName("Should place every balance in the bucket whose bounds contain it")
+    void shouldPlaceBalancesInContainingBucket() {
+        for (long cents : new long[] {0, 1, 15, 16, 17, 63, 64, 65, 127, 128, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = BalanceRankedAccountRepository.bucketOf(cents);
+            assertTrue(BalanceRankedAccountRepository.lowerBound(bucket) <= cents);
+            assertTrue(bucket == BalanceRankedAccountRepository.bucketOf(Long.MAX_VALUE)
+                    || cents < BalanceRankedAccountRepository.lowerBound(bucket + 1));
+        }
+        assertEquals(0, BalanceRankedAccountRepository.bucketOf(-500));
+    }
+
+    private List<Account> largestFirst() {
+        return backing.streamAll()
+                .sorted(Comparator.comparing((Account account) -> account.getBalance().toCents()).reversed()
+                        .thenComparing(Account::getAccountNumber, Comparator.reverseOrder()))
+                .collect(Collectors.toList());
+    }
+
+    private static long rankOf(List<Account> sorted, Account account) {
+        return 1 + sorted.stream().filter(other -> other.getBalance().isGreaterThan(account.getBalance())).count();
+    }
+
+    private static Account newAccount(int i, Random random) {
+        Account account = new Account(String.valueOf(1_000_000 + i), CUSTOMER);
+        if (i % 10 != 0) { // Leaves a block of tied zero balances
+            account.deposit(Money.ofCents(1 + random.nextInt(i % 3 == 0 ? 10_000 : 100_000_000)));
+        }
+        return account;
+    }
+
+    private static Account accountWith(String accountNumber, String balance) {
+        Account account = new Account(accountNumber, CUSTOMER);
+        if (!Money.of(balance).isZero()) {
+            account.deposit(Money.of(balance));
+        }
+        return account;
+    }
+}
@@ -0,0 +1,186 @@
+package com.bank.repository.inmemory;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarTransactionRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0, 0, 123_456_000);
+    private static final int TRANSACTIONS_PER_ACCOUNT = 50;
+
+    private ColumnarTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ColumnarTransactionRepository();
+    }
+
+    @Test
+    @DisplayName("Should round-trip every field of a transaction")
+    void shouldRoundTripEveryFieldOfTransaction() {
+        Transaction deposit = transaction("1000001", TransactionType.DEPOSIT, "12.34", "112.34", START);
+        Transaction withdrawal = new Transaction("legacy-42", "ACC-7", TransactionType.WITHDRAW,
+                Money.of("0.01"), Money.of("-5.00"), START.plusDays(1));
+
+        Transaction savedDeposit = repository.save(deposit);
+        Transaction savedWithdrawal = repository.save(withdrawal);
+
+        assertEquals(deposit.withSequence(1), savedDeposit);
+        assertEquals(withdrawal.withSequence(2), savedWithdrawal);
+        assertEquals(List.of(savedDeposit), repository.findByAccountNumber("1000001", 10));
+        assertEquals(List.of(savedWithdrawal), repository.streamByAccountNumber("ACC-7").collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should stream transactions after a sequence number in order")
+    void shouldStreamTransactionsAfterSequenceNumberInOrder() {
+        saveHistory("1000001");
+        saveHistory("1000002");
+
+        List<Long> sequences = repository.streamSince(90).map(Transaction::sequence).collect(Collectors.toList());
+
+        assertEquals(LongStream.rangeClosed(91, 2 * TRANSACTIONS_PER_ACCOUNT).boxed().collect(Collectors.toList()),
+                sequences);
+        assertEquals(2 * TRANSACTIONS_PER_ACCOUNT, repository.streamSince(Transaction.UNSEQUENCED).count());
+    }
+
+    @Test
+    @DisplayName("Should truncate timestamps to microseconds")
+    void shouldTruncateTimestampsToMicroseconds() {
+        repository.save(transaction("1000001", TransactionType.DEPOSIT, "1.00", "1.00", START.plusNanos(789)));
+
+        assertEquals(START, repository.findByAccountNumber("1000001", 1).get(0).timestamp());
+    }
+
+    @Test
+    @DisplayName("Should return newest transactions first up to the limit")
+    void shouldReturnNewestTransactionsFirstUpToLimit() {
+        saveHistory("1000001");
+
+        List<Transaction> newest = repository.findByAccountNumber("1000001", 3);
+
+        assertEquals(3, newest.size());
+        assertEquals(START.plusMinutes(TRANSACTIONS_PER_ACCOUNT - 1), newest.get(0).timestamp());
+        assertEquals(START.plusMinutes(TRANSACTIONS_PER_ACCOUNT - 3), newest.get(2).timestamp());
+        assertThrows(IndexOutOfBoundsException.class, () -> newest.get(3));
+        assertTrue(repository.findByAccountNumber("9999999", 3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stream newest first from a sequence cursor")
+    void shouldStreamNewestFirstFromCursor() {
+        saveHistory("1000001");
+        saveHistory("1000002");
+        List<Transaction> history = repository.streamByAccountNumber("1000002").collect(Collectors.toList());
+
+        List<Transaction> page = repository.streamNewestFirst("1000002", history.get(20).sequence())
+                .limit(5)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(history.get(19), history.get(18), history.get(17), history.get(16), history.get(15)), page);
+        assertEquals(history.get(TRANSACTIONS_PER_ACCOUNT - 1),
+                repository.streamNewestFirst("1000002", Long.MAX_VALUE).findFirst().orElseThrow());
+        assertEquals(0, repository.streamNewestFirst("1000002", history.get(0).sequence()).count());
+        assertEquals(0, repository.streamNewestFirst("9999999", Long.MAX_VALUE).count());
+    }
+
+    @Test
+    @DisplayName("Should keep per-account order across many chunks under concurrent saves")
+    void shouldKeepPerAccountOrderUnderConcurrentSaves() {
+        int accounts = 40;
+        int perAccount = 1_000;
+        IntStream.range(0, accounts).parallel().forEach(account -> {
+            for (int i = 0; i < perAccount; i++) {
+                repository.save(transaction(String.valueOf(2_000_000 + account), TransactionType.DEPOSIT,
+                        "1.00", i + 1 + ".00", START.plusSeconds(i)));
+            }
+        });
+
+        assertEquals(accounts * perAccount, repository.streamAll().parallel().count());
+        List<Money> balances = repository.streamByAccountNumber("2000007")
+                .map(Transaction::afterAmount)
+                .collect(Collectors.toList());
+        assertEquals(perAccount, balances.size());
+        for (int i = 0; i < perAccount; i++) {
+            assertEquals(Money.of(i + 1 + ".00"), balances.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream only transactions inside a half-open time range")
+    void shouldStreamOnlyTransactionsInsideHalfOpenTimeRange() {
+        saveHistory("1000001");
+        saveHistory("1000002");
+
+        List<Transaction> inRange = repository.streamRange(START.plusMinutes(10), START.plusMinutes(20))
+                .collect(Collectors.toList());
+
+        assertEquals(20, inRange.size());
+        assertTrue(inRange.stream().allMatch(t -> !t.timestamp().isBefore(START.plusMinutes(10))
+                && t.timestamp().isBefore(START.plusMinutes(20))));
+        assertEquals(2 * TRANSACTIONS_PER_ACCOUNT, repository.streamRange(null, null).count());
+    }
+
+    private void saveHistory(String accountNumber) {
+        for (int i = 0; i < TRANSACTIONS_PER_ACCOUNT; i++) {
+            repository.save(transaction(accountNumber, TransactionType.DEPOSIT, "1.00", i + 1 + ".00",
+                    START.plusMinutes(i)));
+        }
+    }
+
+    private static Transaction transaction(String accountNumber, TransactionType type, String amount,
+                                           String after, LocalDateTime timestamp) {
+        return new Transaction(UUID.randomUUID().toString(), accountNumber, type, Money.of(amount),
+                Money.of(after), timestamp);
+    }
+
+    @Test
+    @DisplayName("Should seek straight to a transaction by sequence number")
+    void shouldFindTransactionBySequence() {
+        saveHistory("1000001");
+        Transaction saved = repository.save(transaction("1000002", TransactionType.WITHDRAW, "2.50", "0.00",
+                START.plusHours(1)));
+
+        assertEquals(saved, repository.findBySequence(saved.sequence()).orElseThrow());
+        assertEquals(repository.streamSince(9).findFirst(), repository.findBySequence(10));
+        assertTrue(repository.findBySequence(saved.sequence() + 1).isEmpty());
+        assertTrue(repository.findBySequence(0).isEmpty());
+        assertTrue(repository.findBySequence(Integer.MAX_VALUE + 1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refuse sequence numbers past the last int row")
+    void shouldRefuseSequencesPastLastRow() {
+        assertEquals(0, ColumnarTransactionRepository.rowOf(1));
+        assertEquals(Integer.MAX_VALUE - 1, ColumnarTransactionRepository.rowOf(Integer.MAX_VALUE));
+        assertThrows(IllegalStateException.class, () -> ColumnarTransactionRepository.rowOf(Integer.MAX_VALUE + 1L));
+    }
+
+    @Test
+    @DisplayName("Should keep point-in-time lookups correct when the clock steps back")
+    void shouldKeepPointInTimeLookupsCorrectWhenClockStepsBack() {
+        repository.save(transaction("1000001", TransactionType.DEPOSIT, "1.00", "1.00", START));
+        Transaction stepBack = repository.save(transaction("1000001", TransactionType.DEPOSIT, "0.50", "1.50",
+                START.minusMinutes(1)));
+        repository.save(transaction("1000001", TransactionType.WITHDRAW, "0.30", "1.20", START.plusMinutes(5)));
+
+        assertEquals(START, stepBack.timestamp());
+        assertEquals(Money.of("1.50"), repository.findLatestAt("1000001", START.plusMinutes(1)).orElseThrow().afterAmount());
+        assertTrue(repository.findLatestAt("1000001", START.minusMinutes(1)).isEmpty());
+        assertEquals(List.of(START, START, START.plusMinutes(5)),
+                repository.streamByAccountNumber("1000001").map(Transaction::timestamp).collect(Collectors.toList()));
+    }
+}
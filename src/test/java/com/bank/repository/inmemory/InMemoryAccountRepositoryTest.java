@@ -0,0 +1,69 @@
+package com.bank.repository.inmemory;
+
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryAccountRepositoryTest {
+
+    private static final int ACCOUNT_COUNT = 10_000;
+    private static final long FIRST_ACCOUNT_NUMBER = 1_000_000;
+
+    private InMemoryAccountRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryAccountRepository();
+        Customer customer = new Customer("John", "Doe");
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            Account account = new Account(String.valueOf(FIRST_ACCOUNT_NUMBER + i), customer);
+            account.deposit(Money.of("1.00"));
+            repository.save(account);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream every account")
+    void shouldStreamEveryAccount() {
+        assertEquals(ACCOUNT_COUNT, repository.streamAll().count());
+    }
+
+    @Test
+    @DisplayName("Should reduce balances in parallel")
+    void shouldReduceBalancesInParallel() {
+        BigDecimal total = repository.streamAll().parallel()
+                .map(account -> account.getBalance().getAmount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertEquals(Money.of(String.valueOf(ACCOUNT_COUNT)).getAmount(), total);
+    }
+
+    @Test
+    @DisplayName("Should stream accounts within a half-open range")
+    void shouldStreamAccountsWithinHalfOpenRange() {
+        List<String> numbers = repository.streamRange("1000010", "1000020")
+                .map(Account::getAccountNumber)
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertEquals(10, numbers.size());
+        assertEquals("1000010", numbers.get(0));
+        assertEquals("1000019", numbers.get(9));
+    }
+
+    @Test
+    @DisplayName("Should treat null range bounds as unbounded")
+    void shouldTreatNullRangeBoundsAsUnbounded() {
+        assertEquals(ACCOUNT_COUNT, repository.streamRange(null, null).count());
+        assertEquals(ACCOUNT_COUNT - 100, repository.streamRange("1000100", null).count());
+    }
+}
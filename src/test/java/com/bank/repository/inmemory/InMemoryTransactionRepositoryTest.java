@@ -0,0 +1,208 @@
+package com.bank.repository.inmemory;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTransactionRepositoryTest {
+
+    private static final String ACCOUNT_NUMBER = "1000001";
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 31, 9, 0);
+    private static final int TRANSACTION_COUNT = 1_000;
+
+    private InMemoryTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTransactionRepository();
+        for (int i = 0; i < TRANSACTION_COUNT; i++) {
+            // Pairs of transactions share a timestamp, as postings within one clock tick do
+            repository.save(new Transaction(UUID.randomUUID().toString(), ACCOUNT_NUMBER, TransactionType.DEPOSIT,
+                    Money.ofCents(1), Money.ofCents(i + 1), START.plusMinutes(i / 2)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should find the last transaction at or before every instant")
+    void shouldFindLastTransactionAtOrBeforeEveryInstant() {
+        for (int minute = -1; minute <= TRANSACTION_COUNT / 2; minute++) {
+            LocalDateTime asOf = START.plusMinutes(minute).plusSeconds(minute % 2 == 0 ? 0 : 30);
+            assertEquals(scanLatestAt(asOf), repository.findLatestAt(ACCOUNT_NUMBER, asOf));
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve instants on checkpoint boundaries")
+    void shouldResolveInstantsOnCheckpointBoundaries() {
+        assertEquals(Money.ofCents(64), repository.findLatestAt(ACCOUNT_NUMBER, START.plusMinutes(31))
+                .map(Transaction::afterAmount).orElseThrow());
+        assertEquals(Money.ofCents(66), repository.findLatestAt(ACCOUNT_NUMBER, START.plusMinutes(32))
+                .map(Transaction::afterAmount).orElseThrow());
+        assertEquals(Optional.empty(), repository.findLatestAt(ACCOUNT_NUMBER, START.minusNanos(1)));
+        assertEquals(Optional.empty(), repository.findLatestAt("9999999", START));
+    }
+
+    @Test
+    @DisplayName("Should assign increasing sequence numbers and stream them after a cursor")
+    void shouldAssignIncreasingSequenceNumbersAndStreamThemAfterCursor() {
+        List<Transaction> history = repository.streamByAccountNumber(ACCOUNT_NUMBER).collect(Collectors.toList());
+
+        for (int i = 0; i < TRANSACTION_COUNT; i++) {
+            assertEquals(i + 1, history.get(i).sequence());
+        }
+        assertEquals(history.subList(900, TRANSACTION_COUNT),
+                repository.streamSince(900).collect(Collectors.toList()));
+        assertEquals(0, repository.streamSince(TRANSACTION_COUNT).count());
+        assertEquals(history.get(41), repository.findBySequence(42).orElseThrow());
+        assertTrue(repository.findBySequence(TRANSACTION_COUNT + 1).isEmpty());
+        assertTrue(repository.findBySequence(Transaction.UNSEQUENCED).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should never let a cursor skip a transaction saved concurrently")
+    void shouldNeverLetCursorSkipTransactionSavedConcurrently() throws Exception {
+        InMemoryTransactionRepository concurrent = new InMemoryTransactionRepository();
+        int writers = 4;
+        int perWriter = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            for (int w = 0; w < writers; w++) {
+                String accountNumber = String.valueOf(2_000_000 + w);
+                executor.submit(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        concurrent.save(new Transaction(UUID.randomUUID().toString(), accountNumber,
+                                TransactionType.DEPOSIT, Money.ofCents(1), Money.ofCents(i + 1), START));
+                    }
+                });
+            }
+
+            long cursor = Transaction.UNSEQUENCED;
+            long received = 0;
+            while (received < (long) writers * perWriter) {
+                for (Transaction transaction : (Iterable<Transaction>) concurrent.streamSince(cursor)::iterator) {
+                    assertEquals(cursor + 1, transaction.sequence());
+                    cursor = transaction.sequence();
+                    received++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream a half-open time range from a checkpointed seek")
+    void shouldStreamHalfOpenTimeRange() {
+        for (int from = -1; from <= TRANSACTION_COUNT / 2; from += 7) {
+            LocalDateTime fromInclusive = START.plusMinutes(from);
+            LocalDateTime toExclusive = fromInclusive.plusMinutes(40);
+            List<Transaction> expected = repository.streamByAccountNumber(ACCOUNT_NUMBER)
+                    .filter(transaction -> !transaction.timestamp().isBefore(fromInclusive)
+                            && transaction.timestamp().isBefore(toExclusive))
+                    .collect(Collectors.toList());
+            assertEquals(expected, repository.streamByAccountNumber(ACCOUNT_NUMBER, fromInclusive, toExclusive)
+                    .collect(Collectors.toList()));
+        }
+        assertEquals(TRANSACTION_COUNT, repository.streamByAccountNumber(ACCOUNT_NUMBER, null, null).count());
+        assertEquals(0, repository.streamByAccountNumber("9999999", START, null).count());
+    }
+
+    @Test
+    @DisplayName("Should stream newest first from a sequence cursor")
+    void shouldStreamNewestFirstFromSequenceCursor() {
+        List<Transaction> page = repository.streamNewestFirst(ACCOUNT_NUMBER, Long.MAX_VALUE).limit(3)
+                .collect(Collectors.toList());
+        assertEquals(List.of(1_000L, 999L, 998L), page.stream().map(Transaction::sequence).collect(Collectors.toList()));
+
+        List<Transaction> next = repository.streamNewestFirst(ACCOUNT_NUMBER, page.get(2).sequence()).limit(2)
+                .collect(Collectors.toList());
+        assertEquals(List.of(997L, 996L), next.stream().map(Transaction::sequence).collect(Collectors.toList()));
+        assertEquals(TRANSACTION_COUNT, repository.streamNewestFirst(ACCOUNT_NUMBER, Long.MAX_VALUE).count());
+        assertEquals(0, repository.streamNewestFirst(ACCOUNT_NUMBER, 1).count());
+        assertEquals(0, repository.streamNewestFirst("9999999", Long.MAX_VALUE).count());
+    }
+
+    @Test
+    @DisplayName("Should answer bank-wide time ranges in time order")
+    void shouldAnswerBankWideTimeRangesInTimeOrder() {
+        for (int i = 0; i < TRANSACTION_COUNT; i++) {
+            repository.save(new Transaction(UUID.randomUUID().toString(), String.valueOf(3_000_000 + i % 7),
+                    TransactionType.WITHDRAW, Money.ofCents(1), Money.ofCents(i), START.plusSeconds(45L * i)));
+        }
+        LocalDateTime fromInclusive = START.plusMinutes(100);
+        LocalDateTime toExclusive = START.plusMinutes(105);
+
+        List<Transaction> expected = repository.streamAll()
+                .filter(transaction -> !transaction.timestamp().isBefore(fromInclusive)
+                        && transaction.timestamp().isBefore(toExclusive))
+                .sorted(Comparator.comparing(Transaction::timestamp).thenComparingLong(Transaction::sequence))
+                .collect(Collectors.toList());
+        assertEquals(16, expected.size());
+        assertEquals(expected, repository.streamRange(fromInclusive, toExclusive).collect(Collectors.toList()));
+        assertEquals(2 * TRANSACTION_COUNT, repository.streamRange(null, null).count());
+        assertEquals(0, repository.streamRange(toExclusive, fromInclusive).count());
+    }
+
+    @Test
+    @DisplayName("Should serve time ranges while transactions are being saved")
+    void shouldServeTimeRangesWhileTransactionsAreBeingSaved() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    repository.save(new Transaction(UUID.randomUUID().toString(), "4000000",
+                            TransactionType.DEPOSIT, Money.ofCents(1), Money.ofCents(i + 1), START.plusDays(1)));
+                }
+            });
+            while (!writer.isDone()) {
+                assertEquals(TRANSACTION_COUNT, repository.streamRange(START, START.plusDays(1)).count());
+            }
+            writer.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(20_000, repository.streamRange(START.plusDays(1), null).count());
+    }
+
+    private Optional<Transaction> scanLatestAt(LocalDateTime asOf) {
+        return repository.streamByAccountNumber(ACCOUNT_NUMBER)
+                .filter(transaction -> !transaction.timestamp().isAfter(asOf))
+                .reduce((earlier, later) -> later);
+    }
+
+    @Test
+    @DisplayName("Should keep point-in-time lookups correct when the clock steps back")
+    void shouldKeepPointInTimeLookupsCorrectWhenClockStepsBack() {
+        LocalDateTime tenAm = LocalDateTime.of(2026, 4, 1, 10, 0);
+        InMemoryTransactionRepository store = new InMemoryTransactionRepository();
+        store.save(new Transaction(UUID.randomUUID().toString(), ACCOUNT_NUMBER, TransactionType.DEPOSIT,
+                Money.ofCents(100), Money.ofCents(100), tenAm));
+        Transaction stepBack = store.save(new Transaction(UUID.randomUUID().toString(), ACCOUNT_NUMBER,
+                TransactionType.DEPOSIT, Money.ofCents(50), Money.ofCents(150), tenAm.minusMinutes(1)));
+        store.save(new Transaction(UUID.randomUUID().toString(), ACCOUNT_NUMBER, TransactionType.WITHDRAW,
+                Money.ofCents(30), Money.ofCents(120), tenAm.plusMinutes(5)));
+
+        assertEquals(tenAm, stepBack.timestamp());
+        assertEquals(Money.ofCents(150), store.findLatestAt(ACCOUNT_NUMBER, tenAm.plusMinutes(1)).orElseThrow().afterAmount());
+        assertTrue(store.findLatestAt(ACCOUNT_NUMBER, tenAm.minusMinutes(1)).isEmpty());
+        assertEquals(List.of(tenAm, tenAm, tenAm.plusMinutes(5)),
+                store.streamByAccountNumber(ACCOUNT_NUMBER).map(Transaction::timestamp).collect(Collectors.toList()));
+    }
+}
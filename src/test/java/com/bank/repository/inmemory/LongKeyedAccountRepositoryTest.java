@@ -0,0 +1,112 @@
+package com.bank.repository.inmemory;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongKeyedAccountRepositoryTest {
+
+    private static final int ACCOUNT_COUNT = 10_000;
+    private static final long FIRST_ACCOUNT_NUMBER = 1_000_000;
+
+    private final Customer customer = new Customer("John", "Doe");
+    private LongKeyedAccountRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new LongKeyedAccountRepository();
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            Account account = new Account(String.valueOf(FIRST_ACCOUNT_NUMBER + i), customer);
+            account.deposit(Money.of("1.00"));
+            repository.save(account);
+        }
+    }
+
+    @Test
+    @DisplayName("Should find every saved numeric account")
+    void shouldFindEverySavedNumericAccount() {
+        assertEquals(ACCOUNT_COUNT, repository.count());
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            String accountNumber = String.valueOf(FIRST_ACCOUNT_NUMBER + i);
+            assertEquals(accountNumber, repository.findByNumber(accountNumber).orElseThrow().getAccountNumber());
+        }
+        assertFalse(repository.exists("999"));
+    }
+
+    @Test
+    @DisplayName("Should keep non-canonical numbers apart from their numeric value")
+    void shouldKeepNonCanonicalNumbersApartFromTheirNumericValue() {
+        repository.save(new Account("01000000", customer));
+        repository.save(new Account("ACC-1", customer));
+
+        assertEquals(ACCOUNT_COUNT + 2, repository.count());
+        assertEquals(Money.of("1.00"), repository.findByNumber("1000000").orElseThrow().getBalance());
+        assertEquals(Money.ZERO, repository.findByNumber("01000000").orElseThrow().getBalance());
+        assertTrue(repository.exists("ACC-1"));
+        assertEquals(-1, LongKeyedAccountRepository.toKey("1234567890123456789"));
+    }
+
+    @Test
+    @DisplayName("Should replace an account saved twice")
+    void shouldReplaceAnAccountSavedTwice() {
+        repository.save(new Account("1000000", new Customer("Alice", "Smith")));
+
+        assertEquals(ACCOUNT_COUNT, repository.count());
+        assertEquals("Alice", repository.findByNumber("1000000").orElseThrow().getCustomer().firstName());
+    }
+
+    @Test
+    @DisplayName("Should apply concurrent updates atomically")
+    void shouldApplyConcurrentUpdatesAtomically() {
+        IntStream.range(0, 1_000).parallel().forEach(i -> repository.update("1000000", account -> {
+            account.deposit(Money.of("1.00"));
+            return account;
+        }));
+
+        assertEquals(Money.of("1001.00"), repository.findByNumber("1000000").orElseThrow().getBalance());
+    }
+
+    @Test
+    @DisplayName("Should throw when updating a missing account")
+    void shouldThrowWhenUpdatingMissingAccount() {
+        assertThrows(AccountNotFoundException.class, () -> repository.update("42", account -> account));
+        assertThrows(AccountNotFoundException.class, () -> repository.update("ACC-9", account -> account));
+    }
+
+    @Test
+    @DisplayName("Should reduce balances in parallel")
+    void shouldReduceBalancesInParallel() {
+        repository.save(new Account("ACC-1", customer));
+
+        BigDecimal total = repository.streamAll().parallel()
+                .map(account -> account.getBalance().getAmount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertEquals(ACCOUNT_COUNT + 1, repository.streamAll().count());
+        assertEquals(Money.of(String.valueOf(ACCOUNT_COUNT)).getAmount(), total);
+    }
+
+    @Test
+    @DisplayName("Should stream accounts within a half-open range")
+    void shouldStreamAccountsWithinHalfOpenRange() {
+        List<String> numbers = repository.streamRange("1000010", "1000020")
+                .map(Account::getAccountNumber)
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertEquals(10, numbers.size());
+        assertEquals("1000010", numbers.get(0));
+        assertEquals("1000019", numbers.get(9));
+    }
+}
@@ -0,0 +1,118 @@
+package com.bank.repository.inmemory;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapAccountRepositoryTest {
+
+    private static final int ACCOUNT_COUNT = 70_000;
+    private static final long FIRST_ACCOUNT_NUMBER = 1_000_000;
+
+    private final Customer customer = new Customer("John", "Doe");
+    private OffHeapAccountRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OffHeapAccountRepository();
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            Account account = new Account(String.valueOf(FIRST_ACCOUNT_NUMBER + i), customer);
+            account.deposit(Money.of("1.00"));
+            repository.save(account);
+        }
+    }
+
+    @Test
+    @DisplayName("Should round-trip account state across slabs")
+    void shouldRoundTripAccountStateAcrossSlabs() {
+        Account account = new Account("1069999", new Customer("Alice", "Smith"));
+        account.deposit(Money.of("12.34"));
+        account.accrueInterest(Money.of("0.01"), LocalDate.of(2024, 3, 31));
+        repository.save(account);
+
+        Account stored = repository.findByNumber("1069999").orElseThrow();
+
+        assertEquals(ACCOUNT_COUNT, repository.count());
+        assertEquals(Money.of("12.35"), stored.getBalance());
+        assertEquals(new Customer("Alice", "Smith"), stored.getCustomer());
+        assertEquals(LocalDate.of(2024, 3, 31), stored.getLastInterestAccrualDate());
+        assertNull(repository.findByNumber("1000000").orElseThrow().getLastInterestAccrualDate());
+        assertTrue(repository.getOffHeapBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Should hand out detached copies")
+    void shouldHandOutDetachedCopies() {
+        repository.findByNumber("1000000").orElseThrow().deposit(Money.of("5.00"));
+
+        assertEquals(Money.of("1.00"), repository.findByNumber("1000000").orElseThrow().getBalance());
+    }
+
+    @Test
+    @DisplayName("Should apply concurrent updates atomically")
+    void shouldApplyConcurrentUpdatesAtomically() {
+        IntStream.range(0, 1_000).parallel().forEach(i -> repository.update("1000000", account -> {
+            account.deposit(Money.of("1.00"));
+            return account;
+        }));
+
+        assertEquals(Money.of("1001.00"), repository.findByNumber("1000000").orElseThrow().getBalance());
+    }
+
+    @Test
+    @DisplayName("Should leave the record untouched when the mutator throws")
+    void shouldLeaveRecordUntouchedWhenMutatorThrows() {
+        assertThrows(IllegalArgumentException.class, () -> repository.update("1000000", account -> {
+            account.withdraw(Money.of("5.00"));
+            return account;
+        }));
+
+        assertEquals(Money.of("1.00"), repository.findByNumber("1000000").orElseThrow().getBalance());
+        assertThrows(AccountNotFoundException.class, () -> repository.update("42", account -> account));
+    }
+
+    @Test
+    @DisplayName("Should let readers see the previous state while a mutator runs")
+    void shouldLetReadersSeePreviousStateWhileMutatorRuns() {
+        Account updated = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> repository.update("1000000", account -> {
+            account.deposit(Money.of("2.00"));
+            assertEquals(Money.of("1.00"), repository.findByNumber("1000000").orElseThrow().getBalance());
+            return account;
+        }));
+
+        assertEquals(Money.of("3.00"), updated.getBalance());
+        assertEquals(Money.of("3.00"), repository.findByNumber("1000000").orElseThrow().getBalance());
+    }
+
+    @Test
+    @DisplayName("Should keep non-numeric accounts in the fallback map")
+    void shouldKeepNonNumericAccountsInFallbackMap() {
+        repository.save(new Account("ACC-1", customer));
+
+        assertTrue(repository.exists("ACC-1"));
+        assertFalse(repository.exists("ACC-2"));
+        assertEquals(ACCOUNT_COUNT + 1, repository.streamAll().count());
+    }
+
+    @Test
+    @DisplayName("Should reduce balances in parallel")
+    void shouldReduceBalancesInParallel() {
+        BigDecimal total = repository.streamAll().parallel()
+                .map(account -> account.getBalance().getAmount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertEquals(Money.of(String.valueOf(ACCOUNT_COUNT)).getAmount(), total);
+        assertEquals(10, repository.streamRange("1000010", "1000020").count());
+    }
+}
@@ -0,0 +1,54 @@
+package com.bank.repository.tiered;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentChannelsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should keep at most the bound of channels open")
+    void shouldKeepAtMostBoundOfChannelsOpen() throws IOException {
+        try (SegmentChannels channels = new SegmentChannels(2)) {
+            for (int i = 0; i < 5; i++) {
+                try (SegmentChannels.Lease lease = channels.acquire(file(i))) {
+                    assertTrue(lease.channel().isOpen());
+                }
+                assertTrue(channels.openCount() <= 2);
+            }
+            assertEquals(2, channels.openCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should close an evicted channel only when its last reader is done")
+    void shouldCloseEvictedChannelOnlyWhenLastReaderIsDone() throws IOException {
+        try (SegmentChannels channels = new SegmentChannels(1)) {
+            SegmentChannels.Lease held = channels.acquire(file(0));
+            channels.acquire(file(1)).close();
+
+            assertTrue(held.channel().isOpen());
+            assertEquals(1, held.channel().read(ByteBuffer.allocate(1), 0));
+            held.close();
+            assertFalse(held.channel().isOpen());
+        }
+    }
+
+    private Path file(int index) throws IOException {
+        Path path = directory.resolve("segment-" + index);
+        if (Files.notExists(path)) {
+            Files.write(path, new byte[] {(byte) index});
+        }
+        return path;
+    }
+}
@@ -0,0 +1,137 @@
+package com.bank.repository.tiered;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.model.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredAccountRepositoryTest {
+
+    private static final int ACCOUNT_COUNT = 1_000;
+    private static final long FIRST_ACCOUNT_NUMBER = 1_000_000;
+    private static final Duration ONE_HOUR = Duration.ofHours(1);
+
+    @TempDir
+    Path directory;
+
+    private TieredAccountRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // Sweeps are driven by the test; the background sweeper would only run after an hour
+        repository = new TieredAccountRepository(directory, ONE_HOUR, ONE_HOUR);
+        Customer customer = new Customer("John", "Doe");
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            Account account = new Account(String.valueOf(FIRST_ACCOUNT_NUMBER + i), customer);
+            account.deposit(Money.of("1.00"));
+            repository.save(account);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Should evict accounts idle for longer than the idle period")
+    void shouldEvictAccountsIdleForLongerThanIdlePeriod() {
+        repository.sweep();
+        assertEquals(ACCOUNT_COUNT, repository.getHotCount());
+
+        repository.findByNumber("1000000");
+        repository.sweep();
+
+        assertEquals(1, repository.getHotCount());
+        assertEquals(ACCOUNT_COUNT - 1, repository.getColdCount());
+        assertEquals(ACCOUNT_COUNT, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should fault evicted accounts back in with their full state")
+    void shouldFaultEvictedAccountsBackInWithFullState() {
+        repository.update("1000001", account -> {
+            account.accrueInterest(Money.of("0.25"), LocalDate.of(2024, 6, 30));
+            return account;
+        });
+        evictAll();
+
+        Account restored = repository.findByNumber("1000001").orElseThrow();
+
+        assertEquals(Money.of("1.25"), restored.getBalance());
+        assertEquals(LocalDate.of(2024, 6, 30), restored.getLastInterestAccrualDate());
+        assertEquals(new Customer("John", "Doe"), restored.getCustomer());
+        assertSame(restored.getCustomer(), repository.findByNumber("1000002").orElseThrow().getCustomer());
+        assertEquals(2, repository.getHotCount());
+    }
+
+    @Test
+    @DisplayName("Should apply updates to evicted accounts")
+    void shouldApplyUpdatesToEvictedAccounts() {
+        evictAll();
+
+        IntStream.range(0, 100).parallel().forEach(i -> repository.update("1000002", account -> {
+            account.deposit(Money.of("1.00"));
+            return account;
+        }));
+        evictAll();
+
+        assertEquals(Money.of("101.00"), repository.findByNumber("1000002").orElseThrow().getBalance());
+        assertThrows(AccountNotFoundException.class, () -> repository.update("42", account -> account));
+    }
+
+    @Test
+    @DisplayName("Should stream every account once without faulting them in")
+    void shouldStreamEveryAccountOnceWithoutFaultingThemIn() {
+        evictAll();
+        repository.findByNumber("1000003");
+
+        BigDecimal total = repository.streamAll().parallel()
+                .map(account -> account.getBalance().getAmount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertEquals(Money.of(String.valueOf(ACCOUNT_COUNT)).getAmount(), total);
+        assertEquals(1, repository.getHotCount());
+        assertEquals(10, repository.streamRange("1000010", "1000020").count());
+    }
+
+    @Test
+    @DisplayName("Should keep accounts hot and count the failure when the log cannot be written")
+    void shouldKeepAccountsHotAndCountFailureWhenLogCannotBeWritten() {
+        repository.sweep();
+        repository.close();
+
+        assertThrows(UncheckedIOException.class, repository::sweep);
+
+        assertEquals(1, repository.getSweepFailures());
+        assertEquals(ACCOUNT_COUNT, repository.getHotCount());
+        assertEquals(Money.of("1.00"), repository.findByNumber("1000000").orElseThrow().getBalance());
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive durations")
+    void shouldRejectNonPositiveDurations() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TieredAccountRepository(directory, Duration.ZERO, ONE_HOUR));
+    }
+
+    private void evictAll() {
+        repository.sweep();
+        repository.sweep();
+        assertEquals(0, repository.getHotCount());
+    }
+}
@@ -0,0 +1,255 @@
+package com.bank.repository.tiered;
+
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredTransactionRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final int HOT_BUDGET = 100;
+    private static final int ACCOUNTS = 10;
+    private static final int PER_ACCOUNT = 200;
+
+    @TempDir
+    Path directory;
+
+    private TieredTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new TieredTransactionRepository(directory, HOT_BUDGET);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Should keep the hot tier within budget")
+    void shouldKeepHotTierWithinBudget() {
+        saveAll();
+        repository.archive();
+
+        TierStats stats = repository.getStats();
+        assertEquals(HOT_BUDGET, stats.hotTransactions());
+        assertEquals(ACCOUNTS * PER_ACCOUNT - HOT_BUDGET, stats.archivedTransactions());
+        assertTrue(stats.segments() > 0);
+        assertTrue(stats.archivedBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Should merge hot and cold tiers newest first")
+    void shouldMergeHotAndColdTiersNewestFirst() {
+        saveAll();
+        repository.archive();
+
+        List<Transaction> newest = repository.findByAccountNumber(accountNumber(3), PER_ACCOUNT + 10);
+
+        assertEquals(PER_ACCOUNT, newest.size());
+        for (int i = 0; i < PER_ACCOUNT; i++) {
+            assertEquals(Money.ofCents(PER_ACCOUNT - i), newest.get(i).afterAmount());
+        }
+        assertEquals(3, repository.findByAccountNumber(accountNumber(3), 3).size());
+    }
+
+    @Test
+    @DisplayName("Should stream newest first from a cursor across tiers")
+    void shouldStreamNewestFirstFromCursorAcrossTiers() {
+        saveAll();
+        repository.archive();
+        List<Transaction> history = repository.streamByAccountNumber(accountNumber(2)).collect(Collectors.toList());
+        List<Transaction> expected = new ArrayList<>(history);
+        Collections.reverse(expected);
+
+        assertEquals(expected, repository.streamNewestFirst(accountNumber(2), Long.MAX_VALUE)
+                .collect(Collectors.toList()));
+        assertEquals(expected.subList(PER_ACCOUNT - 10, PER_ACCOUNT - 5),
+                repository.streamNewestFirst(accountNumber(2), history.get(10).sequence()).limit(5)
+                        .collect(Collectors.toList()));
+        assertEquals(0, repository.streamNewestFirst("9999999", Long.MAX_VALUE).count());
+    }
+
+    @Test
+    @DisplayName("Should stream an account oldest first across tiers")
+    void shouldStreamAccountOldestFirstAcrossTiers() {
+        saveAll();
+        repository.archive();
+
+        List<Money> balances = repository.streamByAccountNumber(accountNumber(0))
+                .map(Transaction::afterAmount)
+                .collect(Collectors.toList());
+
+        assertEquals(IntStream.rangeClosed(1, PER_ACCOUNT).mapToObj(Money::ofCents).collect(Collectors.toList()),
+                balances);
+        assertEquals(ACCOUNTS * PER_ACCOUNT, repository.streamAll().count());
+        assertEquals(ACCOUNTS * 10, repository.streamRange(START.plusMinutes(5), START.plusMinutes(15)).count());
+    }
+
+    @Test
+    @DisplayName("Should read consistently while archiving in the background")
+    void shouldReadConsistentlyWhileArchivingInBackground() {
+        IntStream.range(0, ACCOUNTS).parallel().forEach(account -> {
+            for (int i = 0; i < PER_ACCOUNT; i++) {
+                repository.save(transaction(account, i));
+                long count = repository.streamByAccountNumber(accountNumber(account)).count();
+                assertEquals(i + 1, count);
+            }
+        });
+
+        assertEquals(ACCOUNTS * PER_ACCOUNT, repository.streamAll().count());
+    }
+
+    @Test
+    @DisplayName("Should compress segments well below the raw format")
+    void shouldCompressSegmentsWellBelowRawFormat() {
+        saveAll();
+        repository.archive();
+        TierStats deflated = repository.getStats();
+
+        TierStats raw;
+        try (TieredTransactionRepository rawRepository =
+                     new TieredTransactionRepository(directory.resolve("raw"), HOT_BUDGET, SegmentFormat.RAW)) {
+            for (int i = 0; i < PER_ACCOUNT; i++) {
+                for (int account = 0; account < ACCOUNTS; account++) {
+                    rawRepository.save(transaction(account, i));
+                }
+            }
+            rawRepository.archive();
+            raw = rawRepository.getStats();
+            assertEquals(PER_ACCOUNT, rawRepository.streamByAccountNumber(accountNumber(5)).count());
+        }
+
+        assertEquals(raw.archivedBytes(), raw.uncompressedBytes());
+        assertTrue(deflated.archivedBytes() < raw.archivedBytes());
+        assertTrue(deflated.compressionRatio() > 1.5);
+    }
+
+    @Test
+    @DisplayName("Should read runs that span several compressed blocks")
+    void shouldReadRunsThatSpanSeveralCompressedBlocks() {
+        int transactions = 5_000;
+        for (int i = 0; i < transactions; i++) {
+            repository.save(transaction(0, i));
+        }
+        repository.archive();
+
+        assertTrue(repository.getStats().uncompressedBytes() > 2L * ColdSegment.BLOCK_SIZE);
+        List<Transaction> history = repository.streamByAccountNumber(accountNumber(0)).collect(Collectors.toList());
+        assertEquals(transactions, history.size());
+        for (int i = 0; i < transactions; i++) {
+            assertEquals(Money.ofCents(i + 1), history.get(i).afterAmount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream transactions after a sequence number across tiers")
+    void shouldStreamTransactionsAfterSequenceNumberAcrossTiers() {
+        saveAll();
+        repository.archive();
+
+        List<Long> sequences = repository.streamSince(10).map(Transaction::sequence).collect(Collectors.toList());
+
+        assertEquals(LongStream.rangeClosed(11, ACCOUNTS * PER_ACCOUNT).boxed().collect(Collectors.toList()),
+                sequences);
+    }
+
+    @Test
+    @DisplayName("Should read every segment when there are more segments than open files")
+    void shouldReadEverySegmentWhenThereAreMoreSegmentsThanOpenFiles() {
+        int segments = 150;
+        for (int i = 0; i < HOT_BUDGET + segments; i++) {
+            repository.save(transaction(i % ACCOUNTS, i / ACCOUNTS));
+            repository.archive();
+        }
+
+        assertEquals(segments, repository.getStats().segments());
+        assertEquals(HOT_BUDGET + segments, repository.streamAll().count());
+        assertEquals(Money.ofCents((HOT_BUDGET + segments) / ACCOUNTS),
+                repository.findByAccountNumber(accountNumber(0), 1).get(0).afterAmount());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch before newer transactions")
+    void shouldRetryFailedBatchBeforeNewerTransactions() throws IOException {
+        Path blocked = Files.createDirectory(directory.resolve("segment-000000.dat.tmp"));
+        for (int i = 0; i < 50; i++) {
+            repository.save(transaction(0, i));
+        }
+        for (int i = 0; i < HOT_BUDGET; i++) {
+            repository.save(transaction(1, i));
+        }
+
+        assertThrows(UncheckedIOException.class, repository::archive);
+        assertTrue(repository.getStats().archiveFailures() >= 1); // The background archiver may have failed too
+        assertEquals(50 + HOT_BUDGET, repository.getStats().hotTransactions());
+
+        Files.delete(blocked);
+        repository.archive();
+        repository.close();
+
+        // Closed segments can no longer be read, so only the hot tier is left to stream
+        assertEquals(HOT_BUDGET, repository.streamByAccountNumber(accountNumber(1)).count());
+        assertThrows(UncheckedIOException.class, () -> repository.streamByAccountNumber(accountNumber(0)).count());
+    }
+
+    @Test
+    @DisplayName("Should not read segments wholly before the requested sequence")
+    void shouldNotReadSegmentsWhollyBeforeRequestedSequence() throws IOException {
+        for (int i = 0; i < HOT_BUDGET + 50; i++) {
+            repository.save(transaction(i % ACCOUNTS, i / ACCOUNTS));
+            repository.archive();
+        }
+        for (int segment = 0; segment < 40; segment++) {
+            Files.delete(directory.resolve(String.format("segment-%06d.dat", segment)));
+        }
+
+        List<Long> sequences = repository.streamSince(40).map(Transaction::sequence).collect(Collectors.toList());
+
+        assertEquals(LongStream.rangeClosed(41, HOT_BUDGET + 50).boxed().collect(Collectors.toList()), sequences);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive budget")
+    void shouldRejectNonPositiveBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new TieredTransactionRepository(directory, 0));
+    }
+
+    private void saveAll() {
+        for (int i = 0; i < PER_ACCOUNT; i++) {
+            for (int account = 0; account < ACCOUNTS; account++) {
+                repository.save(transaction(account, i));
+            }
+        }
+    }
+
+    private static Transaction transaction(int account, int index) {
+        return new Transaction(UUID.randomUUID().toString(), accountNumber(account), TransactionType.DEPOSIT,
+                Money.ofCents(1), Money.ofCents(index + 1), START.plusMinutes(index));
+    }
+
+    private static String accountNumber(int account) {
+        return String.valueOf(1_000_000 + account);
+    }
+}
@@ -7,6 +7,7 @@ import com.bank.repository.inmemory.InMemoryAccountRepository;
 import com.bank.exception.AccountNotFoundException;
 import com.bank.model.Account;
 import com.bank.model.Customer;
+import com.bank.model.InterestRate;
 import com.bank.model.Money;
 import com.bank.repository.AccountRepository;
 import com.bank.repository.inmemory.InMemoryTransactionRepository;
@@ -21,7 +22,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ExtendWith(MockitoExtension.class)
 class BankAccountServiceTest {
@@ -308,4 +315,207 @@ class BankAccountServiceTest {
 
         assertEquals(ACCOUNT_NOT_FOUND_ERROR_PREFIX + NON_EXISTENT_ACCOUNT_NUMBER, exception.getMessage());
     }
+
+    @Test
+    @DisplayName("Should not deposit twice for a retried idempotency key")
+    void shouldNotDepositTwiceForRetriedIdempotencyKey() {
+        when(accountNumberGenerator.generateAccountNumber()).thenReturn(TEST_ACCOUNT_NUMBER);
+        String accountNumber = bankService.openAccount(new Customer(TEST_FIRST_NAME, TEST_LAST_NAME), null);
+
+        Money first = bankService.deposit(accountNumber, Money.of(AMOUNT_100_00), "retry-1");
+        Money retried = bankService.deposit(accountNumber, Money.of(AMOUNT_100_00), "retry-1");
+
+        assertEquals(Money.of(AMOUNT_100_00), first);
+        assertEquals(first, retried);
+        assertEquals(Money.of(AMOUNT_100_00), bankService.getBalance(accountNumber));
+        assertEquals(1, bankService.getTransactionHistory(accountNumber, 10).size());
+    }
+
+    @Test
+    @DisplayName("Should reject a blank idempotency key")
+    void shouldRejectBlankIdempotencyKey() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bankService.withdraw(TEST_ACCOUNT_NUMBER, Money.of(AMOUNT_10_00), " "));
+        assertEquals("Idempotency key cannot be null or empty", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should transfer money between accounts once per idempotency key")
+    void shouldTransferMoneyOncePerIdempotencyKey() {
+        when(accountNumberGenerator.generateAccountNumber())
+            .thenReturn(TEST_ACCOUNT_NUMBER)
+            .thenReturn(ALTERNATIVE_ACCOUNT_NUMBER);
+        String source = bankService.openAccount(new Customer(TEST_FIRST_NAME, TEST_LAST_NAME), Money.of(AMOUNT_200_00));
+        String target = bankService.openAccount(new Customer(ALTERNATIVE_FIRST_NAME, ALTERNATIVE_LAST_NAME), null);
+
+        Money sourceBalance = bankService.transfer(source, target, Money.of(AMOUNT_50_00), "transfer-1");
+        bankService.transfer(source, target, Money.of(AMOUNT_50_00), "transfer-1");
+
+        assertEquals(Money.of("150.00"), sourceBalance);
+        assertEquals(Money.of("150.00"), bankService.getBalance(source));
+        assertEquals(Money.of(AMOUNT_50_00), bankService.getBalance(target));
+    }
+
+    @Test
+    @DisplayName("Should credit the source back when the transfer deposit fails")
+    void shouldCreditSourceBackWhenTransferDepositFails() {
+        AccountRepository failing = spy(new InMemoryAccountRepository());
+        BankAccountService service = new BankAccountService(failing, transactionRepository, accountNumberGenerator);
+        when(accountNumberGenerator.generateAccountNumber())
+            .thenReturn(TEST_ACCOUNT_NUMBER)
+            .thenReturn(ALTERNATIVE_ACCOUNT_NUMBER);
+        String source = service.openAccount(new Customer(TEST_FIRST_NAME, TEST_LAST_NAME), Money.of(AMOUNT_200_00));
+        String target = service.openAccount(new Customer(ALTERNATIVE_FIRST_NAME, ALTERNATIVE_LAST_NAME), null);
+        UncheckedIOException failure = new UncheckedIOException(new IOException("Disk full"));
+        lenient().doThrow(failure).doCallRealMethod().when(failing).update(eq(target), any()); // Source updates run for real
+
+        assertSame(failure, assertThrows(UncheckedIOException.class,
+                () -> service.transfer(source, target, Money.of(AMOUNT_50_00), "transfer-1")));
+        assertEquals(Money.of(AMOUNT_200_00), service.getBalance(source));
+        assertEquals(List.of(TransactionType.DEPOSIT, TransactionType.WITHDRAW, TransactionType.DEPOSIT),
+                transactionRepository.streamByAccountNumber(source).map(Transaction::type).collect(Collectors.toList()));
+
+        service.transfer(source, target, Money.of(AMOUNT_50_00), "transfer-1");
+
+        assertEquals(Money.of("150.00"), service.getBalance(source));
+        assertEquals(Money.of(AMOUNT_50_00), service.getBalance(target));
+    }
+
+    @Test
+    @DisplayName("Should not withdraw when the transfer target does not exist")
+    void shouldNotWithdrawWhenTransferTargetDoesNotExist() {
+        when(accountNumberGenerator.generateAccountNumber()).thenReturn(TEST_ACCOUNT_NUMBER);
+        String source = bankService.openAccount(new Customer(TEST_FIRST_NAME, TEST_LAST_NAME), Money.of(AMOUNT_200_00));
+
+        assertThrows(AccountNotFoundException.class,
+                () -> bankService.transfer(source, NON_EXISTENT_ACCOUNT_NUMBER, Money.of(AMOUNT_50_00)));
+        assertEquals(Money.of(AMOUNT_200_00), bankService.getBalance(source));
+    }
+
+    @Test
+    @DisplayName("Should reject a transfer to the same account")
+    void shouldRejectTransferToSameAccount() {
+        when(accountNumberGenerator.generateAccountNumber()).thenReturn(TEST_ACCOUNT_NUMBER);
+        String account = bankService.openAccount(new Customer(TEST_FIRST_NAME, TEST_LAST_NAME), Money.of(AMOUNT_200_00));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bankService.transfer(account, ACCOUNT_NUMBER_WITH_WHITESPACE, Money.of(AMOUNT_50_00)));
+        assertEquals("Cannot transfer to the same account", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should return the balance as of a point in time")
+    void shouldReturnBalanceAsOfPointInTime() {
+        when(accountNumberGenerator.generateAccountNumber()).thenReturn(TEST_ACCOUNT_NUMBER);
+        LocalDateTime beforeOpening = LocalDateTime.now().minusSeconds(1);
+        String account = bankService.openAccount(new Customer(TEST_FIRST_NAME, TEST_LAST_NAME), Money.of(AMOUNT_200_00));
+        bankService.withdraw(account, Money.of(AMOUNT_50_00));
+        Transaction withdrawal = bankService.getTransactionHistory(account, 1).get(0);
+
+        assertEquals(Money.ZERO, bankService.getBalanceAt(account, beforeOpening));
+        assertEquals(Money.of("150.00"), bankService.getBalanceAt(account, withdrawal.timestamp()));
+        assertEquals(Money.of("150.00"), bankService.getBalanceAt(account, LocalDateTime.now().plusDays(1)));
+        assertThrows(AccountNotFoundException.class,
+                () -> bankService.getBalanceAt(NON_EXISTENT_ACCOUNT_NUMBER, LocalDateTime.now()));
+        assertThrows(IllegalArgumentException.class, () -> bankService.getBalanceAt(account, null));
+    }
+
+    @Test
+    @DisplayName("Should page through the history with a stable cursor")
+    void shouldPageThroughHistoryWithStableCursor() {
+        when(accountNumberGenerator.generateAccountNumber()).thenReturn(TEST_ACCOUNT_NUMBER);
+        String account = bankService.openAccount(new Customer(TEST_FIRST_NAME, TEST_LAST_NAME), Money.of(AMOUNT_200_00));
+        for (int i = 0; i < 4; i++) {
+            bankService.deposit(account, Money.of(AMOUNT_50_00));
+        }
+
+        TransactionPage first = bankService.getTransactionHistoryPage(account, TransactionPage.NO_MORE_PAGES, 3);
+        bankService.withdraw(account, Money.of(AMOUNT_50_00)); // Must not shift the following pages
+        TransactionPage second = bankService.getTransactionHistoryPage(account, first.nextCursor(), 3);
+
+        assertEquals(bankService.getTransactionHistory(account, 6).subList(1, 4), first.transactions());
+        assertTrue(first.hasMore());
+        assertEquals(2, second.transactions().size());
+        assertEquals(TransactionType.DEPOSIT, second.transactions().get(1).type());
+        assertEquals(Money.of(AMOUNT_200_00), second.transactions().get(1).afterAmount());
+        assertFalse(second.hasMore());
+        assertThrows(IllegalArgumentException.class,
+                () -> bankService.getTransactionHistoryPage(account, TransactionPage.NO_MORE_PAGES, 0));
+        assertThrows(AccountNotFoundException.class,
+                () -> bankService.getTransactionHistoryPage(NON_EXISTENT_ACCOUNT_NUMBER, TransactionPage.NO_MORE_PAGES, 1));
+    }
+
+    @Test
+    @DisplayName("Should stream the history newest first and by time range")
+    void shouldStreamHistoryNewestFirstAndByTimeRange() {
+        when(accountNumberGenerator.generateAccountNumber()).thenReturn(TEST_ACCOUNT_NUMBER);
+        String account = bankService.openAccount(new Customer(TEST_FIRST_NAME, TEST_LAST_NAME), Money.of(AMOUNT_200_00));
+        bankService.withdraw(account, Money.of(AMOUNT_50_00));
+
+        try (Stream<Transaction> history = bankService.streamTransactionHistory(account)) {
+            assertEquals(bankService.getTransactionHistory(account, 10), history.collect(Collectors.toList()));
+        }
+        try (Stream<Transaction> range = bankService.streamTransactionHistory(account,
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1))) {
+            assertEquals(List.of(TransactionType.DEPOSIT, TransactionType.WITHDRAW),
+                    range.map(Transaction::type).collect(Collectors.toList()));
+        }
+        try (Stream<Transaction> empty = bankService.streamTransactionHistory(account,
+                LocalDateTime.now().plusDays(1), null)) {
+            assertEquals(0, empty.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should index opened accounts by customer and share customer instances")
+    void shouldIndexOpenedAccountsByCustomer() {
+        when(accountNumberGenerator.generateAccountNumber()).thenReturn("1000001", "1000002", "1000003");
+        String first = bankService.openAccount(new Customer(TEST_FIRST_NAME, TEST_LAST_NAME), null);
+        String second = bankService.openAccount(new Customer(TEST_FIRST_NAME, TEST_LAST_NAME), null);
+        bankService.openAccount(new Customer("Jane", "Roe"), null);
+
+        assertEquals(List.of(first, second),
+                bankService.getAccountNumbers(new Customer(TEST_FIRST_NAME.toUpperCase(), TEST_LAST_NAME)));
+        assertSame(bankService.getAccount(first).getCustomer(), bankService.getAccount(second).getCustomer());
+        List<CustomerAccounts> matches = bankService.searchCustomers(TEST_LAST_NAME.substring(0, 2), 10);
+        assertEquals(1, matches.size());
+        assertEquals(List.of(first, second), matches.get(0).accountNumbers());
+        assertThrows(IllegalArgumentException.class, () -> bankService.searchCustomers(" ", 10));
+        assertThrows(IllegalArgumentException.class, () -> bankService.searchCustomers(TEST_LAST_NAME, 0));
+        assertThrows(IllegalArgumentException.class, () -> bankService.getAccountNumbers(null));
+    }
+
+    @Test
+    @DisplayName("Should maintain customer holdings across postings and report drift")
+    void shouldMaintainCustomerHoldingsAndReportDrift() {
+        when(accountNumberGenerator.generateAccountNumber()).thenReturn("1000001", "1000002", "1000003");
+        Customer customer = new Customer(TEST_FIRST_NAME, TEST_LAST_NAME);
+        String first = bankService.openAccount(customer, Money.of(AMOUNT_200_00));
+        String second = bankService.openAccount(new Customer(TEST_FIRST_NAME, TEST_LAST_NAME), null);
+        String other = bankService.openAccount(new Customer(ALTERNATIVE_FIRST_NAME, ALTERNATIVE_LAST_NAME), null);
+
+        bankService.deposit(second, Money.of(AMOUNT_100_00));
+        bankService.withdraw(first, Money.of(AMOUNT_50_00));
+        bankService.transfer(first, second, Money.of(AMOUNT_10_00)); // Within the customer: no change
+        bankService.transfer(second, other, Money.of(AMOUNT_50_00));
+        bankService.accrueInterest(first, InterestRate.of(1, 10), LocalDate.of(2026, 1, 31));
+
+        assertEquals(Money.of("214.00"), bankService.getCustomerHoldings(customer));
+        assertEquals(Money.of(AMOUNT_50_00),
+                bankService.getCustomerHoldings(new Customer(ALTERNATIVE_FIRST_NAME, ALTERNATIVE_LAST_NAME)));
+        assertEquals(Money.ZERO, bankService.getCustomerHoldings(new Customer("Jane", "Roe")));
+        assertTrue(bankService.verifyCustomerHoldings().isEmpty());
+
+        repository.update(other, account -> { // Bypasses the service, so the aggregate misses it
+            account.deposit(Money.of(AMOUNT_10_00));
+            return account;
+        });
+
+        List<HoldingsDrift> drifts = bankService.verifyCustomerHoldings();
+        assertEquals(1, drifts.size());
+        assertEquals(ALTERNATIVE_LAST_NAME, drifts.get(0).customer().lastName());
+        assertEquals(Money.of(AMOUNT_50_00), drifts.get(0).recorded());
+        assertEquals(Money.of("60.00"), drifts.get(0).actual());
+        assertThrows(IllegalArgumentException.class, () -> bankService.getCustomerHoldings(null));
+    }
 }
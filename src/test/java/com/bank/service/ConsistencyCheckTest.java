@@ -0,0 +1,43 @@
+package com.bank.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistencyCheckTest {
+
+    @Test
+    @DisplayName("Should stop at the first consistent stable attempt")
+    void shouldStopAtFirstConsistentStableAttempt() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Optional<String> finding = ConsistencyCheck.run(5, 0, () -> {
+            attempts.incrementAndGet();
+            return ConsistencyCheck.Attempt.consistent();
+        });
+
+        assertTrue(finding.isEmpty());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should report a disagreement only when the final attempt is stable")
+    void shouldReportDisagreementOnlyWhenFinalAttemptIsStable() {
+        Iterator<ConsistencyCheck.Attempt<String>> stableLast = List.of(
+                ConsistencyCheck.Attempt.<String>moved(),
+                ConsistencyCheck.Attempt.disagreed("first"),
+                ConsistencyCheck.Attempt.disagreed("last")).iterator();
+        Iterator<ConsistencyCheck.Attempt<String>> movingLast = List.of(
+                ConsistencyCheck.Attempt.disagreed("first"),
+                ConsistencyCheck.Attempt.<String>moved()).iterator();
+
+        assertEquals(Optional.of("last"), ConsistencyCheck.run(3, 0, stableLast::next));
+        assertEquals(Optional.empty(), ConsistencyCheck.run(2, 0, movingLast::next));
+    }
+}
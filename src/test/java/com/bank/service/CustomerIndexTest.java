@@ -0,0 +1,105 @@
+package com.bank.service;
+
+import com.bank.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerIndexTest {
+
+    private CustomerIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerIndex();
+    }
+
+    @Test
+    @DisplayName("Should find accounts by normalised name")
+    void shouldFindAccountsByNormalisedName() {
+        index.add(new Customer("José", "García"), "1000002");
+        index.add(new Customer("jose", "GARCIA "), "1000001");
+        index.add(new Customer("John", "Smith"), "1000003");
+
+        assertEquals(List.of("1000001", "1000002"), index.findAccountNumbers(new Customer("Jose", "Garcia")));
+        assertEquals(List.of(), index.findAccountNumbers(new Customer("Jane", "Garcia")));
+        assertEquals("garcia jose", CustomerIndex.keyOf(new Customer(" José ", "García")));
+        assertEquals("de la cruz ana", CustomerIndex.keyOf(new Customer("Ana", "De  La\tCruz")));
+        assertEquals(2, index.customerCount());
+    }
+
+    @Test
+    @DisplayName("Should search by last name prefix, then first name prefix")
+    void shouldSearchByLastNameThenFirstNamePrefix() {
+        index.add(new Customer("John", "Smith"), "1000001");
+        index.add(new Customer("Jane", "Smith"), "1000002");
+        index.add(new Customer("Anna", "Smithers"), "1000003");
+        index.add(new Customer("Sam", "Smyth"), "1000004");
+
+        assertEquals(List.of("Smith Jane", "Smith John", "Smithers Anna"), names(index.search("smith", 10)));
+        assertEquals(List.of("Smith Jane", "Smith John"), names(index.search("Smith  J", 10)));
+        assertEquals(List.of("Smith John"), names(index.search("smith jo", 10)));
+        assertEquals(List.of("Smith Jane"), names(index.search("sm", 1)));
+        assertEquals(List.of(), names(index.search("smz", 10)));
+    }
+
+    @Test
+    @DisplayName("Should hand out one shared instance per customer")
+    void shouldInternCustomers() {
+        Customer first = index.intern(new Customer("John", "Smith"));
+
+        assertSame(first, index.intern(new Customer("John", "Smith")));
+        assertNotSame(first, index.intern(new Customer("john", "smith")));
+    }
+
+    @Test
+    @DisplayName("Should keep every account added concurrently")
+    void shouldKeepEveryAccountAddedConcurrently() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    index.add(new Customer("John", "Smith"), String.valueOf(1_000_000 + thread * 1_000 + i));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(4_000, index.findAccountNumbers(new Customer("John", "Smith")).size());
+    }
+
+    private static List<String> names(List<CustomerAccounts> customers) {
+        return customers.stream()
+                .map(match -> match.customer().lastName() + " " + match.customer().firstName())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Should keep one running total per customer across their accounts")
+    void shouldKeepRunningTotalPerCustomer() {
+        index.add(new Customer("José", "García"), "1000001");
+        index.add(new Customer("Jose", "Garcia"), "1000002");
+        index.add(new Customer("John", "Smith"), "1000003");
+
+        index.adjustHoldings("1000001", 10_000);
+        index.adjustHoldings("1000002", 2_550);
+        index.adjustHoldings("1000002", -550);
+        index.adjustHoldings("1000003", 700);
+        index.adjustHoldings("9999999", 1_000); // Not opened through the index: ignored
+
+        assertEquals(12_000, index.holdingsCents(new Customer("jose", "GARCIA")));
+        assertEquals(700, index.holdingsCents(new Customer("John", "Smith")));
+        assertEquals(0, index.holdingsCents(new Customer("Jane", "Smith")));
+        assertEquals(2, index.allEntries().size());
+    }
+}
@@ -0,0 +1,115 @@
+package com.bank.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("Should run an operation once per key")
+    void shouldRunOperationOncePerKey() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, TTL, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+
+        assertEquals(1, cache.execute("key", executions::incrementAndGet));
+        assertEquals(1, cache.execute("key", executions::incrementAndGet));
+        assertEquals(2, cache.execute("other", executions::incrementAndGet));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should run the operation again once the key has expired")
+    void shouldRunOperationAgainAfterExpiry() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, TTL, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+        cache.execute("key", executions::incrementAndGet);
+
+        clock.addAndGet(TTL.toNanos());
+
+        assertEquals(2, cache.execute("key", executions::incrementAndGet));
+    }
+
+    @Test
+    @DisplayName("Should forget failed operations so they can be retried")
+    void shouldForgetFailedOperations() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, TTL, clock::get);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.execute("key", () -> {
+            throw new IllegalArgumentException("Insufficient funds for withdrawal");
+        }));
+
+        assertEquals(7, cache.execute("key", () -> 7));
+    }
+
+    @Test
+    @DisplayName("Should forget operations that fail with an error")
+    void shouldForgetOperationsFailingWithError() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, TTL, clock::get);
+
+        assertThrows(StackOverflowError.class, () -> cache.execute("key", () -> {
+            throw new StackOverflowError();
+        }));
+
+        assertEquals(7, cache.execute("key", () -> 7));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should stay bounded under sustained load")
+    void shouldStayBoundedUnderSustainedLoad() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(1_000, TTL, clock::get);
+
+        for (int i = 0; i < 100_000; i++) {
+            cache.execute("key-" + i, () -> 1);
+        }
+
+        assertTrue(cache.size() <= 1_000 + 16);
+    }
+
+    @Test
+    @DisplayName("Should share the result of an in-flight operation with concurrent retries")
+    void shouldShareInFlightResultWithConcurrentRetries() throws Exception {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, TTL, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<Integer> original = executor.submit(() -> cache.execute("key", () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return executions.incrementAndGet();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Integer> retry = executor.submit(() -> cache.execute("key", executions::incrementAndGet));
+        release.countDown();
+
+        assertEquals(1, original.get(5, TimeUnit.SECONDS));
+        assertEquals(1, retry.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+        executor.shutdown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}